@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Measures the time from launching the JVM to the first successful GET /holidays, for each startup configuration:
+# the plain jar, the plain jar with lazy initialisation, and the AOT-processed beans with the CDS archive, with
+# and without lazy initialisation. Build the jar and the archive first: mvn -P startup -DskipTests package
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (from the KLM folder, 5 runs per configuration by default)
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+APP_JAR="${APP_JAR:-assignment-0.0.1-SNAPSHOT.jar}"
+TARGET="$(pwd)/target"
+EXTRACTED="$TARGET/extracted"
+LOG="$TARGET/startup-benchmark.log"
+
+if [[ ! -f "$TARGET/$APP_JAR" || ! -f "$EXTRACTED/application.jsa" ]]; then
+  echo "Missing $TARGET/$APP_JAR or $EXTRACTED/application.jsa: run mvn -P startup -DskipTests package first." >&2
+  exit 1
+fi
+
+# Starts the application from the given folder and prints the milliseconds until GET /holidays answered with a 2xx
+time_to_first_get() {
+  local dir="$1"
+  shift
+  local start pid elapsed
+  start=$(date +%s%N)
+  (cd "$dir" && exec java "$@" -jar "$APP_JAR" --server.port="$PORT" >"$LOG" 2>&1) &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT/holidays"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "The application exited before answering, see $LOG" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+# Runs a configuration RUNS times and prints its minimum, median and maximum
+benchmark() {
+  local name="$1"
+  shift
+  local times=()
+  for ((i = 0; i < RUNS; i++)); do
+    times+=("$(time_to_first_get "$@")")
+  done
+  local sorted
+  mapfile -t sorted < <(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-20s min %6d ms   median %6d ms   max %6d ms\n' \
+    "$name" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+}
+
+echo "Time to first successful GET /holidays, $RUNS runs per configuration"
+benchmark "jar" "$TARGET"
+benchmark "jar + lazy" "$TARGET" -Dspring.profiles.active=lazy
+benchmark "cds + aot" "$EXTRACTED" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
+benchmark "cds + aot + lazy" "$EXTRACTED" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+  -Dspring.profiles.active=lazy
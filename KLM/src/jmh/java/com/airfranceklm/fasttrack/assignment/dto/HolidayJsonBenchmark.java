@@ -0,0 +1,68 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialisation of a list of HolidayDTOs, as written by the list endpoints.
+ * The mapper is configured like Spring Boot's: Java time module registered, dates written as ISO-8601 strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayJsonBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int holidays;
+
+    private ObjectWriter writer;
+
+    private List<HolidayDTO> holidayDTOs;
+
+    @Setup
+    public void setup() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<HolidayDTO>>() {
+                });
+        OffsetDateTime firstStart = OffsetDateTime.parse("2030-01-01T08:00:00+00:00");
+        holidayDTOs = new ArrayList<>(holidays);
+        for (int i = 0; i < holidays; i++) {
+            OffsetDateTime start = firstStart.plusDays(10L * i);
+            holidayDTOs.add(new HolidayDTO(UUID.randomUUID(), "Holiday " + i, "klm123456", start, start.plusDays(2),
+                    HolidayStatus.REQUESTED));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeHolidayList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(holidayDTOs);
+    }
+}
@@ -0,0 +1,59 @@
+package com.airfranceklm.fasttrack.assignment.mapper;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversions of HolidayMapper between the `Holiday` entity and the `HolidayDTO`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayMapperBenchmark {
+
+    private Holiday holiday;
+
+    private HolidayDTO holidayDTO;
+
+    @Setup
+    public void setup() {
+        holiday = Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("Christmas Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2030-12-24T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2030-12-31T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+        holidayDTO = HolidayMapper.toDTO(holiday);
+    }
+
+    @Benchmark
+    public HolidayDTO toDTO() {
+        return HolidayMapper.toDTO(holiday);
+    }
+
+    @Benchmark
+    public Holiday toEntity() {
+        return HolidayMapper.toEntity(holidayDTO);
+    }
+}
@@ -0,0 +1,116 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overlap, gap and lead-time validation of HolidayServiceImpl for growing numbers of existing holidays.
+ * The repository is stubbed to return no stored holidays, so only the in-process part of the validation is measured;
+ * the cost of the database window query is covered by HolidayRepositoryTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayValidationBenchmark {
+
+    private static final UUID CLAIM_ID = UUID.randomUUID();
+
+    // The holidays are spread around this date, so the validated ones stay within the working-day calendar
+    private static final OffsetDateTime MIDDLE_START = OffsetDateTime.of(2030, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Param({"1000", "100000", "1000000"})
+    private int existingHolidays;
+
+    private HolidayServiceImpl holidayService;
+
+    private HolidayDTO validHoliday;
+
+    private HolidayDTO overlappingHoliday;
+
+    @Setup
+    public void setup() {
+        // One-day holidays every other Tuesday: a one-day holiday fits on the Tuesday in between
+        List<Holiday> holidays = new ArrayList<>(existingHolidays);
+        OffsetDateTime firstStart = MIDDLE_START.minusDays(14L * (existingHolidays / 2));
+        for (int i = 0; i < existingHolidays; i++) {
+            OffsetDateTime start = firstStart.plusDays(14L * i);
+            holidays.add(Holiday.builder()
+                    .holidayId(UUID.randomUUID())
+                    .holidayLabel("Holiday " + i)
+                    .employeeId("klm" + (i % 1000))
+                    .startOfHoliday(start)
+                    .endOfHoliday(start.plusDays(1))
+                    .status(HolidayStatus.SCHEDULED)
+                    .build());
+        }
+        HolidayIntervalIndex holidayIntervalIndex = new HolidayIntervalIndex();
+        holidayIntervalIndex.rebuild(holidays);
+
+        HolidaysProperties holidaysProperties = new HolidaysProperties();
+        holidayService = new HolidayServiceImpl(emptyRepository(), holidayIntervalIndex, new HolidayCoverageIndex(),
+                new HolidayValidationRules(new WorkingDayCalendar(holidaysProperties)), holidaysProperties, null, null,
+                null, null, null, null, null, null, new SimpleMeterRegistry(), null, null);
+
+        validHoliday = holiday(MIDDLE_START.plusDays(7), MIDDLE_START.plusDays(8));
+        overlappingHoliday = holiday(MIDDLE_START.plusHours(12), MIDDLE_START.plusDays(2));
+    }
+
+    @Benchmark
+    public void validateValidHoliday() {
+        // Release the claim so that every invocation validates the same free period
+        holidayService.claimHoliday(CLAIM_ID, validHoliday, null).release();
+    }
+
+    @Benchmark
+    public InvalidHolidayException validateOverlappingHoliday() {
+        try {
+            holidayService.claimHoliday(CLAIM_ID, overlappingHoliday, null).release();
+            throw new IllegalStateException("Overlapping holiday passed validation");
+        } catch (InvalidHolidayException ex) {
+            return ex;
+        }
+    }
+
+    private static HolidayDTO holiday(OffsetDateTime start, OffsetDateTime end) {
+        return new HolidayDTO(null, "Benchmark Holidays", "klm999999", start, end, HolidayStatus.REQUESTED);
+    }
+
+    private static HolidayRepository emptyRepository() {
+        return (HolidayRepository) Proxy.newProxyInstance(HolidayRepository.class.getClassLoader(),
+                new Class<?>[]{HolidayRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findConflicting")) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
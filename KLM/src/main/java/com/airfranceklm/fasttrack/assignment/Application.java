@@ -2,13 +2,16 @@ package com.airfranceklm.fasttrack.assignment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main entry point for the Spring Boot application.
  * This class is responsible for bootstrapping the application and starting the embedded web server.
  * The `@SpringBootApplication` annotation enables component scanning, autoconfiguration, and configuration support.
+ * The `@ConfigurationPropertiesScan` annotation binds the `holidays.*` settings (see `HolidaysProperties`).
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class Application {
 
     /**
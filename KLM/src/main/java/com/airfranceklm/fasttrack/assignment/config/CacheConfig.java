@@ -0,0 +1,24 @@
+package com.airfranceklm.fasttrack.assignment.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the in-process read-through caches of the holiday service.
+ * The caches are Caffeine caches, bounded in size and time by `spring.cache.caffeine.spec`;
+ * their hit, miss and eviction statistics are published through the Actuator `metrics` endpoint.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of single holidays, keyed by holiday ID.
+     */
+    public static final String HOLIDAY_BY_ID = "holidayById";
+
+    /**
+     * Cache of the first page of an employee's holidays, keyed by employee ID.
+     */
+    public static final String EMPLOYEE_HOLIDAYS = "employeeHolidays";
+}
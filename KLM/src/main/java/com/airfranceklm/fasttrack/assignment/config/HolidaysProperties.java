@@ -0,0 +1,307 @@
+package com.airfranceklm.fasttrack.assignment.config;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application settings bound from the `holidays.*` properties.
+ * Every setting has a default, so the application runs without any of them being set.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "holidays")
+public class HolidaysProperties {
+
+    /**
+     * Settings of the paginated list endpoints.
+     */
+    private Pagination pagination = new Pagination();
+
+    /**
+     * Settings of the batch creation endpoint.
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Settings of the working-day calendar used by the lead-time and gap rules.
+     */
+    private Calendar calendar = new Calendar();
+
+    /**
+     * Settings of the coverage endpoint.
+     */
+    private Coverage coverage = new Coverage();
+
+    /**
+     * Settings of the holiday event stream.
+     */
+    private Stream stream = new Stream();
+
+    /**
+     * Settings of the on-disk snapshot of the holidays.
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * Settings of the archival of past holidays.
+     */
+    private Archive archive = new Archive();
+
+    /**
+     * Settings of the delta sync.
+     */
+    private Sync sync = new Sync();
+
+    /**
+     * Settings of the idempotency keys of the holiday creation endpoint.
+     */
+    private Idempotency idempotency = new Idempotency();
+
+    /**
+     * Settings of the admission control of the write endpoints.
+     */
+    @Valid
+    private Admission admission = new Admission();
+
+    /**
+     * Settings of the paginated list endpoints.
+     */
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        /**
+         * The number of holidays returned per page when the client does not ask for a page size.
+         */
+        private int defaultPageSize = 100;
+
+        /**
+         * The largest page size a client may ask for; larger requests are capped to it.
+         */
+        private int maxPageSize = 500;
+    }
+
+    /**
+     * Settings of the batch creation endpoint.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * The largest number of holidays accepted in one batch.
+         */
+        private int maxSize = 1000;
+    }
+
+    /**
+     * Settings of the working-day calendar used by the lead-time and gap rules.
+     */
+    @Getter
+    @Setter
+    public static class Calendar {
+
+        /**
+         * The public holidays, which are not working days even when they fall on a weekday.
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private List<LocalDate> publicHolidays = new ArrayList<>();
+
+        /**
+         * The first year covered by the calendar.
+         */
+        private int firstYear = 2000;
+
+        /**
+         * The last year covered by the calendar: the horizon beyond which holidays cannot be planned.
+         */
+        private int lastYear = 2100;
+    }
+
+    /**
+     * Settings of the coverage endpoint.
+     */
+    @Getter
+    @Setter
+    public static class Coverage {
+
+        /**
+         * The largest number of days a client may ask the coverage of in one request.
+         */
+        private int maxDays = 366;
+    }
+
+    /**
+     * Settings of the holiday event stream.
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /**
+         * The number of events buffered per subscriber; a subscriber falling further behind is disconnected.
+         */
+        private int bufferSize = 256;
+
+        /**
+         * How long a subscription stays open before the client has to reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Settings of the on-disk snapshot of the holidays.
+     */
+    @Getter
+    @Setter
+    public static class Snapshot {
+
+        /**
+         * Whether the holidays are written to a snapshot file and restored from it at startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The path of the snapshot file.
+         */
+        private String file = "holidays.snapshot";
+
+        /**
+         * How often the snapshot is written, in addition to on shutdown.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * The statuses of the holidays written to the snapshot; all holidays are written when empty.
+         * Archived holidays are written when empty or when the list contains `ARCHIVED`.
+         */
+        private List<HolidayStatus> statuses = new ArrayList<>();
+    }
+
+    /**
+     * Settings of the archival of past holidays.
+     */
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Whether past holidays are periodically moved to the archive table.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long after their end holidays are archived; must not be negative.
+         */
+        private Duration horizon = Duration.ofDays(30);
+
+        /**
+         * The number of holidays moved per transaction.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * How often the archival job runs.
+         */
+        private Duration interval = Duration.ofHours(1);
+    }
+
+    /**
+     * Settings of the delta sync.
+     */
+    @Getter
+    @Setter
+    public static class Sync {
+
+        /**
+         * How long the tombstone of a deleted holiday is kept; must not be negative. A client whose sync token
+         * predates the pruned tombstones is answered with 410 Gone and must sync from scratch.
+         */
+        private Duration tombstoneRetention = Duration.ofDays(30);
+
+        /**
+         * How often the tombstones older than the retention are pruned.
+         */
+        private Duration pruneInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Settings of the store of completed holiday creations, answering the retries sent with the same idempotency key.
+     */
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        /**
+         * The maximum number of idempotency keys remembered; beyond it, keys are evicted before their time to live.
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * How long an idempotency key is remembered after its first request.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * How long a retry waits for the first request with its key to finish before it is told to try again later.
+         */
+        private Duration awaitTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Settings of the admission control of the write endpoints: a token bucket per employee and a global
+     * limit on the writes running at the same time.
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /**
+         * Whether write requests are subject to admission control.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The number of writes an employee can send in a burst, i.e. the capacity of their token bucket.
+         */
+        @Positive
+        @Max(1_000_000)
+        private int burst = 20;
+
+        /**
+         * The number of writes per second an employee can sustain, i.e. the refill rate of their token bucket.
+         * It may be fractional, and is bounded so that the time between two tokens lies between 1 ns and 1000 s.
+         */
+        @DecimalMin("0.001")
+        @DecimalMax("1000000000")
+        private double ratePerSecond = 5;
+
+        /**
+         * The maximum number of writes running at the same time, across all employees.
+         */
+        @Positive
+        private int maxConcurrentWrites = 32;
+
+        /**
+         * The delay advertised in the Retry-After header of a write rejected because too many writes are running.
+         */
+        @NotNull
+        private Duration busyRetryAfter = Duration.ofSeconds(1);
+    }
+}
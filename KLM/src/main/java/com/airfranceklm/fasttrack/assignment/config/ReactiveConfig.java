@@ -0,0 +1,73 @@
+package com.airfranceklm.fasttrack.assignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Wires the reactive stack, enabled by the `reactive` profile: WebFlux on Netty in front of the holiday table,
+ * read and written through R2DBC on the same H2 database as JPA.
+ * JPA keeps the application's only transaction manager bean, which `@Transactional` resolves; the reactive
+ * writes demarcate their transactions through the R2DBC transactional operator declared here instead.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * The JDBC connection pool behind JPA. Spring Boot backs off from configuring one as soon as an R2DBC
+     * connection factory exists, so the reactive stack declares it from the same `spring.datasource.*` settings;
+     * JPA, the JDBC template and the repositories are then configured on it as on the servlet stack.
+     *
+     * @param dataSourceProperties The `spring.datasource.*` settings.
+     * @return The JDBC connection pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Serves the reactive stack from Netty, which takes precedence over the Tomcat server also on the classpath.
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * The non-blocking SQL client of the reactive holiday repository.
+     *
+     * @param connectionFactory The R2DBC connection pool.
+     * @return The database client.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Runs a reactive pipeline in an R2DBC transaction. The transaction manager is not exposed as a bean,
+     * so it never competes with the JPA one.
+     *
+     * @param connectionFactory The R2DBC connection pool.
+     * @return The transactional operator.
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
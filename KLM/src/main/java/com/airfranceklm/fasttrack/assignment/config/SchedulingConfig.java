@@ -0,0 +1,13 @@
+package com.airfranceklm.fasttrack.assignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs of the application, such as the periodic holiday snapshot and archival.
+ * Each job checks its own `holidays.*` settings and does nothing when disabled.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
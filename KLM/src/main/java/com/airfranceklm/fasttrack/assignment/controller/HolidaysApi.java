@@ -1,57 +1,204 @@
 package com.airfranceklm.fasttrack.assignment.controller;
 
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayChangesDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
 import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.service.HolidayAdmissionControl;
+import com.airfranceklm.fasttrack.assignment.service.HolidayEventStream;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIdempotencyStore;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIntervalIndex;
 import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+import com.airfranceklm.fasttrack.assignment.service.HolidayVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Controller for managing holidays via RESTful API.
  * Provides endpoints to get, create, and delete holidays.
+ * Serves the servlet stack; the `reactive` profile replaces it with `ReactiveHolidaysApi`.
  */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/holidays")
 @RequiredArgsConstructor
-@CrossOrigin("http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HolidaysApi.NEXT_CURSOR_HEADER, HttpHeaders.ETAG,
+        HolidaysApi.IDEMPOTENT_REPLAYED_HEADER})
 public class HolidaysApi {
 
+    /**
+     * Response header carrying the cursor of the next page of a holiday list, absent on the last page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Request header carrying the client's idempotency key of a holiday creation.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Response header marking a holiday creation answered from an earlier request with the same idempotency key.
+     */
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private static final Logger logger = LoggerFactory.getLogger(HolidaysApi.class); // Logger
 
     private final HolidayService holidayService;
 
+    private final HolidayVersions holidayVersions;
+
+    private final HolidayEventStream holidayEventStream;
+
+    private final HolidayIdempotencyStore holidayIdempotencyStore;
+
+    private final HolidayAdmissionControl holidayAdmissionControl;
+
+    private final HolidayIntervalIndex holidayIntervalIndex;
+
     /**
-     * Retrieves a list of all holidays.
+     * Retrieves one page of all holidays, ordered by start date.
+     * Past holidays moved to the archive are only returned with `archived=true`, which reads the archive instead.
+     * The cursor of the next page is returned in the `X-Next-Cursor` header.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
      *
-     * @return List of all holidays as HolidayDTO objects.
+     * @param cursor The cursor of the page to fetch, or null for the first page.
+     * @param limit The page size, or null for the default page size.
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return Page of holidays as HolidayDTO objects.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
      */
     @RequestMapping(method = RequestMethod.GET)
-    public ResponseEntity<List<HolidayDTO>> getHolidays() {
-        logger.info("Fetching all holidays.");
-        List<HolidayDTO> holidays = holidayService.getAllHolidays();
-        logger.info("Successfully fetched {} holidays.", holidays.size());
-        return new ResponseEntity<>(holidays, HttpStatus.OK);
+    public ResponseEntity<List<HolidayDTO>> getHolidays(@RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "limit", required = false) Integer limit,
+                                                        @RequestParam(value = "archived", defaultValue = "false")
+                                                        boolean archived,
+                                                        WebRequest webRequest) {
+        logger.info("Fetching a page of holidays.");
+        if (webRequest.checkNotModified(holidayVersions.allHolidaysTag())) {
+            logger.info("Holidays not modified.");
+            return null;
+        }
+        HolidayPageDTO page = archived
+                ? holidayService.getArchivedHolidays(null, cursor, limit)
+                : holidayService.getAllHolidays(cursor, limit);
+        logger.info("Successfully fetched {} holidays.", page.getHolidays().size());
+        return toResponse(page);
+    }
+
+    /**
+     * Exports all holidays as newline-delimited JSON, one holiday per line.
+     * The response is streamed, so the full list is never held in memory.
+     *
+     * @return The streamed holidays.
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHolidays() {
+        logger.info("Exporting all holidays.");
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+            holidayService.exportHolidays(bufferedOutputStream);
+            bufferedOutputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Counts, for each day of a range, the holidays covering it, i.e. the number of people off.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param status The status of the holidays to count, or null to count all of them.
+     * @return The number of holidays of each day of the range, in date order.
+     * @throws InvalidHolidayException If the range is reversed or too long.
+     */
+    @RequestMapping(value = "/coverage", method = RequestMethod.GET)
+    public ResponseEntity<List<HolidayCoverageDTO>> getCoverage(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) HolidayStatus status) {
+        logger.info("Fetching the holiday coverage from {} to {}.", from, to);
+        List<HolidayCoverageDTO> coverage = holidayService.getCoverage(from, to, status);
+        logger.info("Successfully fetched the holiday coverage of {} days.", coverage.size());
+        return new ResponseEntity<>(coverage, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the holidays created, updated and deleted since a sync token.
+     * Clients pass the returned `syncToken` as `since` on their next sync, and sync again right away
+     * while `hasMore` is true.
+     *
+     * @param since The sync token returned by the previous sync, or null to sync from scratch.
+     * @param limit The maximum number of changes to return, or null for the default page size.
+     * @return The changes since the token.
+     * @throws InvalidHolidayException If the sync token or the limit is invalid.
+     */
+    @RequestMapping(value = "/changes", method = RequestMethod.GET)
+    public ResponseEntity<HolidayChangesDTO> getChanges(@RequestParam(value = "since", required = false) String since,
+                                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        logger.info("Fetching holiday changes since {}.", since);
+        HolidayChangesDTO changes = holidayService.getChanges(since, limit);
+        logger.info("Successfully fetched {} changed and {} deleted holidays.", changes.getHolidays().size(),
+                changes.getDeletedHolidayIds().size());
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    /**
+     * Subscribes to the holiday changes, pushed as Server-Sent Events named after the kind of change
+     * (`CREATED`, `UPDATED` or `DELETED`) as they are committed. This replaces polling the list endpoints.
+     * A client that falls too far behind is disconnected, and should resync through `/holidays/changes`
+     * before subscribing again.
+     *
+     * @param employeeId The ID of the employee whose holiday changes are pushed, or null for all changes.
+     * @return The event stream.
+     */
+    @RequestMapping(value = "/stream", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamHolidayEvents(@RequestParam(value = "employeeId", required = false) String employeeId) {
+        logger.info("Subscribing to the holiday events of employee {}.", employeeId);
+        return holidayEventStream.subscribe(employeeId);
     }
 
     /**
      * Retrieves a holiday by its unique ID.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
      *
      * @param holidayId The ID of the holiday to be retrieved.
+     * @param webRequest The current request, used to evaluate its conditional headers.
      * @return The requested holiday as a HolidayDTO.
      * @throws InvalidHolidayException If the holiday is not found.
      */
     @RequestMapping(value = "/{holidayId}", method = RequestMethod.GET)
-    public ResponseEntity<HolidayDTO> getHoliday(@PathVariable("holidayId") UUID holidayId) {
+    public ResponseEntity<HolidayDTO> getHoliday(@PathVariable("holidayId") UUID holidayId, WebRequest webRequest) {
         logger.info("Fetching holiday with ID: {}", holidayId);
+        if (webRequest.checkNotModified(holidayVersions.holidayTag(holidayId))) {
+            logger.info("Holiday with ID: {} not modified.", holidayId);
+            return null;
+        }
         try {
             HolidayDTO holiday = holidayService.getHolidayById(holidayId);
             logger.info("Successfully fetched holiday with ID: {}", holidayId);
@@ -63,42 +210,138 @@ public class HolidaysApi {
     }
 
     /**
-     * Retrieves a list of all my holidays.
+     * Retrieves one page of my holidays, ordered by start date.
+     * Past holidays moved to the archive are only returned with `archived=true`, which reads the archive instead.
+     * The cursor of the next page is returned in the `X-Next-Cursor` header.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
      *
-     * @return List of all holidays as HolidayDTO objects.
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor of the page to fetch, or null for the first page.
+     * @param limit The page size, or null for the default page size.
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return Page of my holidays as HolidayDTO objects.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
      */
     @RequestMapping(value = "/employee/{employeeId}", method = RequestMethod.GET)
-    public ResponseEntity<List<HolidayDTO>> getMyHolidays(@PathVariable("employeeId") String employeeId) {
-        logger.info("Fetching all my holidays.");
-        List<HolidayDTO> holidays = holidayService.getMyHolidays(employeeId);
-        logger.info("Successfully fetched {} holidays.", holidays.size());
-        return new ResponseEntity<>(holidays, HttpStatus.OK);
+    public ResponseEntity<List<HolidayDTO>> getMyHolidays(@PathVariable("employeeId") String employeeId,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                                          @RequestParam(value = "archived", defaultValue = "false")
+                                                          boolean archived,
+                                                          WebRequest webRequest) {
+        logger.info("Fetching a page of my holidays.");
+        if (webRequest.checkNotModified(holidayVersions.employeeHolidaysTag(employeeId))) {
+            logger.info("Holidays of employee {} not modified.", employeeId);
+            return null;
+        }
+        HolidayPageDTO page = archived
+                ? holidayService.getArchivedHolidays(employeeId, cursor, limit)
+                : holidayService.getMyHolidays(employeeId, cursor, limit);
+        logger.info("Successfully fetched {} holidays.", page.getHolidays().size());
+        return toResponse(page);
+    }
+
+    /**
+     * Finds the earliest period in which an employee can take a holiday of the given length, i.e. the first one
+     * a holiday creation would accept under the lead-time, overlap and gap rules. The period is computed from
+     * the in-memory interval index, without any database lookup.
+     *
+     * @param employeeId The ID of the employee.
+     * @param days The length of the holiday, in days.
+     * @param after The first day the holiday may start on, or null for today.
+     * @return The earliest period available, starting at midnight UTC.
+     * @throws InvalidHolidayException If the length is not between 1 and 366 days, or `after` lies beyond the
+     * working-day calendar.
+     */
+    @RequestMapping(value = "/employee/{employeeId}/next-slot", method = RequestMethod.GET)
+    public ResponseEntity<HolidaySlotDTO> getNextSlot(
+            @PathVariable("employeeId") String employeeId,
+            @RequestParam("days") int days,
+            @RequestParam(value = "after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate after) {
+        logger.info("Finding the next slot of {} days for employee ID: {}", days, employeeId);
+        HolidaySlotDTO slot = holidayService.findNextSlot(employeeId, days, after);
+        logger.info("Next slot for employee ID: {} starts at {}", employeeId, slot.getStartOfHoliday());
+        return new ResponseEntity<>(slot, HttpStatus.OK);
     }
 
     /**
      * Creates a new holiday with validation.
+     * A request sent with an `Idempotency-Key` header is run once per key: a retry with the same key and holiday
+     * is answered with the holiday created by the first request, flagged by the `Idempotent-Replayed` header,
+     * without validating it again.
      *
      * @param holidayDTO The holiday data to be created.
+     * @param idempotencyKey The idempotency key of the request, or null to always create the holiday.
      * @return The created holiday as a HolidayDTO.
+     * @throws InvalidHolidayException If the holiday is invalid, or the key is invalid or was used for another holiday.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
      */
     @RequestMapping(method = RequestMethod.POST)
-    public ResponseEntity<HolidayDTO> createHoliday(@Valid @RequestBody HolidayDTO holidayDTO) {
+    public ResponseEntity<HolidayDTO> createHoliday(@Valid @RequestBody HolidayDTO holidayDTO,
+                                                    @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                    String idempotencyKey) {
         logger.info("Creating a new holiday with label: {}", holidayDTO.getHolidayLabel());
-        HolidayDTO createdHoliday = holidayService.createHoliday(holidayDTO);
+        if (idempotencyKey == null) {
+            HolidayDTO createdHoliday = createAdmittedHoliday(holidayDTO);
+            logger.info("Successfully created holiday with ID: {}", createdHoliday.getHolidayId());
+            return new ResponseEntity<>(createdHoliday, HttpStatus.CREATED);
+        }
+        HolidayIdempotencyStore.Claim claim = holidayIdempotencyStore.claim(idempotencyKey, holidayDTO);
+        if (claim.isReplay()) {
+            HolidayDTO createdHoliday = claim.awaitResponse();
+            logger.info("Replayed the creation of holiday with ID: {}", createdHoliday.getHolidayId());
+            return ResponseEntity.status(HttpStatus.CREATED).header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                    .body(createdHoliday);
+        }
+        HolidayDTO createdHoliday;
+        try {
+            createdHoliday = createAdmittedHoliday(holidayDTO);
+        } catch (Throwable ex) {
+            // Any failure, errors included, releases the key: a claim left pending would block every retry
+            claim.fail(ex);
+            throw ex;
+        }
+        claim.complete(createdHoliday);
         logger.info("Successfully created holiday with ID: {}", createdHoliday.getHolidayId());
         return new ResponseEntity<>(createdHoliday, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates a batch of holidays in one request.
+     * Each holiday is validated on its own; the response reports, per holiday, the created holiday or the error.
+     *
+     * @param holidayDTOs The holidays to be created.
+     * @return The outcome of each holiday, in the order of the request.
+     * @throws InvalidHolidayException If the batch is larger than the configured maximum.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
+     */
+    @RequestMapping(value = "/batch", method = RequestMethod.POST)
+    public ResponseEntity<List<HolidayBatchResultDTO>> createHolidays(@RequestBody List<HolidayDTO> holidayDTOs) {
+        logger.info("Creating a batch of {} holidays.", holidayDTOs.size());
+        List<HolidayBatchResultDTO> results;
+        try (HolidayAdmissionControl.Permit permit = holidayAdmissionControl.admit(
+                holidayDTOs.stream().map(HolidayDTO::getEmployeeId).toList())) {
+            results = holidayService.createHolidays(holidayDTOs);
+        }
+        logger.info("Successfully processed a batch of {} holidays.", results.size());
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     /**
      * Deletes a holiday by its unique ID.
      *
      * @param holidayId The ID of the holiday to be deleted.
      * @throws InvalidHolidayException If the holiday is not found.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
      */
     @RequestMapping(value = "/{holidayId}", method = RequestMethod.DELETE)
     public ResponseEntity<Void> deleteHoliday(@PathVariable("holidayId") UUID holidayId) {
         logger.info("Deleting holiday with ID: {}", holidayId);
-        try {
+        // The interval index knows the employee of every live holiday; an unknown holiday is left to the service
+        String employeeId = holidayIntervalIndex.findEmployeeId(holidayId).orElse(null);
+        try (HolidayAdmissionControl.Permit permit = holidayAdmissionControl.admit(employeeId)) {
             holidayService.deleteHoliday(holidayId);
             logger.info("Successfully deleted holiday with ID: {}", holidayId);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -115,12 +358,13 @@ public class HolidaysApi {
      * @param holidayDTO The holiday data to be updated.
      * @return The updated holiday as a HolidayDTO.
      * @throws InvalidHolidayException If the holiday is not found or invalid.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
      */
     @RequestMapping(value = "/{holidayId}", method = RequestMethod.PUT)
     public ResponseEntity<HolidayDTO> updateHoliday(@PathVariable("holidayId") UUID holidayId,
                                                     @Valid @RequestBody HolidayDTO holidayDTO) {
         logger.info("Updating holiday with ID: {}", holidayId);
-        try {
+        try (HolidayAdmissionControl.Permit permit = holidayAdmissionControl.admit(holidayDTO.getEmployeeId())) {
             HolidayDTO updatedHoliday = holidayService.updateHoliday(holidayId, holidayDTO);
             logger.info("Successfully updated holiday with ID: {}", holidayId);
             return new ResponseEntity<>(updatedHoliday, HttpStatus.OK);
@@ -129,4 +373,32 @@ public class HolidaysApi {
             throw ex;
         }
     }
+
+    /**
+     * Creates a holiday once the admission control has admitted the write.
+     *
+     * @param holidayDTO The holiday data to be created.
+     * @return The created holiday as a HolidayDTO.
+     * @throws HolidayAdmissionException If the write is not admitted.
+     */
+    private HolidayDTO createAdmittedHoliday(HolidayDTO holidayDTO) {
+        try (HolidayAdmissionControl.Permit permit = holidayAdmissionControl.admit(holidayDTO.getEmployeeId())) {
+            return holidayService.createHoliday(holidayDTO);
+        }
+    }
+
+    /**
+     * Builds the response of a holiday list endpoint: the page body plus, when more holidays follow,
+     * the cursor of the next page in the `X-Next-Cursor` header.
+     *
+     * @param page The page of holidays.
+     * @return The response entity.
+     */
+    private ResponseEntity<List<HolidayDTO>> toResponse(HolidayPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getHolidays());
+    }
 }
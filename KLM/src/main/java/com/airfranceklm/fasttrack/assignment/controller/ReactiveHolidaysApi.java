@@ -0,0 +1,375 @@
+package com.airfranceklm.fasttrack.assignment.controller;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayChangesDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.service.HolidayAdmissionControl;
+import com.airfranceklm.fasttrack.assignment.service.HolidayEventStream;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIdempotencyStore;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIntervalIndex;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+import com.airfranceklm.fasttrack.assignment.service.HolidayVersions;
+import com.airfranceklm.fasttrack.assignment.service.ReactiveHolidayService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Reactive variant of `HolidaysApi`, serving the same endpoints with the same contract on WebFlux.
+ * It is enabled instead of `HolidaysApi` by the `reactive` profile, which runs the application as a reactive
+ * web application. Reads and single-holiday writes go through the non-blocking `ReactiveHolidayService`;
+ * the coverage is answered from memory, and the batch and delta sync endpoints, which remain JPA-only,
+ * run on the bounded elastic scheduler so they never block an event-loop thread.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/holidays")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HolidaysApi.NEXT_CURSOR_HEADER, HttpHeaders.ETAG,
+        HolidaysApi.IDEMPOTENT_REPLAYED_HEADER})
+public class ReactiveHolidaysApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHolidaysApi.class);
+
+    private final ReactiveHolidayService reactiveHolidayService;
+
+    private final HolidayService holidayService;
+
+    private final HolidayVersions holidayVersions;
+
+    private final HolidayEventStream holidayEventStream;
+
+    private final HolidayIdempotencyStore holidayIdempotencyStore;
+
+    private final HolidayAdmissionControl holidayAdmissionControl;
+
+    private final HolidayIntervalIndex holidayIntervalIndex;
+
+    /**
+     * Retrieves one page of all holidays, ordered by start date.
+     * Past holidays moved to the archive are only returned with `archived=true`, which reads the archive instead.
+     * The cursor of the next page is returned in the `X-Next-Cursor` header.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
+     *
+     * @param cursor The cursor of the page to fetch, or null for the first page.
+     * @param limit The page size, or null for the default page size.
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param exchange The current exchange, used to evaluate its conditional headers.
+     * @return Page of holidays as HolidayDTO objects.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public Mono<ResponseEntity<List<HolidayDTO>>> getHolidays(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+            ServerWebExchange exchange) {
+        logger.info("Fetching a page of holidays.");
+        if (exchange.checkNotModified(holidayVersions.allHolidaysTag())) {
+            logger.info("Holidays not modified.");
+            return Mono.empty();
+        }
+        Mono<HolidayPageDTO> page = archived
+                ? reactiveHolidayService.getArchivedHolidays(null, cursor, limit)
+                : reactiveHolidayService.getAllHolidays(cursor, limit);
+        return page.map(this::toResponse);
+    }
+
+    /**
+     * Exports all holidays as newline-delimited JSON, one holiday per line.
+     * The holidays are streamed from the database under the backpressure of the client.
+     *
+     * @return The streamed holidays.
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<HolidayDTO> exportHolidays() {
+        logger.info("Exporting all holidays.");
+        return reactiveHolidayService.exportHolidays();
+    }
+
+    /**
+     * Counts, for each day of a range, the holidays covering it, i.e. the number of people off.
+     * The counts come from the in-memory coverage index, so no thread is ever blocked on the database.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param status The status of the holidays to count, or null to count all of them.
+     * @return The number of holidays of each day of the range, in date order.
+     * @throws InvalidHolidayException If the range is reversed or too long.
+     */
+    @RequestMapping(value = "/coverage", method = RequestMethod.GET)
+    public Mono<ResponseEntity<List<HolidayCoverageDTO>>> getCoverage(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) HolidayStatus status) {
+        logger.info("Fetching the holiday coverage from {} to {}.", from, to);
+        return Mono.fromCallable(() -> holidayService.getCoverage(from, to, status))
+                .map(coverage -> new ResponseEntity<>(coverage, HttpStatus.OK));
+    }
+
+    /**
+     * Retrieves the holidays created, updated and deleted since a sync token.
+     * Clients pass the returned `syncToken` as `since` on their next sync, and sync again right away
+     * while `hasMore` is true.
+     *
+     * @param since The sync token returned by the previous sync, or null to sync from scratch.
+     * @param limit The maximum number of changes to return, or null for the default page size.
+     * @return The changes since the token.
+     * @throws InvalidHolidayException If the sync token or the limit is invalid.
+     */
+    @RequestMapping(value = "/changes", method = RequestMethod.GET)
+    public Mono<ResponseEntity<HolidayChangesDTO>> getChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        logger.info("Fetching holiday changes since {}.", since);
+        return Mono.fromCallable(() -> holidayService.getChanges(since, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(changes -> new ResponseEntity<>(changes, HttpStatus.OK));
+    }
+
+    /**
+     * Subscribes to the holiday changes, pushed as Server-Sent Events named after the kind of change
+     * (`CREATED`, `UPDATED` or `DELETED`) as they are committed. This replaces polling the list endpoints.
+     * A client that falls too far behind is disconnected, and should resync through `/holidays/changes`
+     * before subscribing again.
+     *
+     * @param employeeId The ID of the employee whose holiday changes are pushed, or null for all changes.
+     * @return The event stream.
+     */
+    @RequestMapping(value = "/stream", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<HolidayEventDTO>> streamHolidayEvents(
+            @RequestParam(value = "employeeId", required = false) String employeeId) {
+        logger.info("Subscribing to the holiday events of employee {}.", employeeId);
+        return holidayEventStream.events(employeeId)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType().name()).build());
+    }
+
+    /**
+     * Retrieves a holiday by its unique ID.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
+     *
+     * @param holidayId The ID of the holiday to be retrieved.
+     * @param exchange The current exchange, used to evaluate its conditional headers.
+     * @return The requested holiday as a HolidayDTO.
+     * @throws InvalidHolidayException If the holiday is not found.
+     */
+    @RequestMapping(value = "/{holidayId}", method = RequestMethod.GET)
+    public Mono<ResponseEntity<HolidayDTO>> getHoliday(@PathVariable("holidayId") UUID holidayId,
+                                                       ServerWebExchange exchange) {
+        logger.info("Fetching holiday with ID: {}", holidayId);
+        if (exchange.checkNotModified(holidayVersions.holidayTag(holidayId))) {
+            logger.info("Holiday with ID: {} not modified.", holidayId);
+            return Mono.empty();
+        }
+        return reactiveHolidayService.getHolidayById(holidayId)
+                .map(holiday -> new ResponseEntity<>(holiday, HttpStatus.OK));
+    }
+
+    /**
+     * Retrieves one page of my holidays, ordered by start date.
+     * Past holidays moved to the archive are only returned with `archived=true`, which reads the archive instead.
+     * The cursor of the next page is returned in the `X-Next-Cursor` header.
+     * The response carries an ETag; a request whose `If-None-Match` matches it gets a 304 without any lookup.
+     *
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor of the page to fetch, or null for the first page.
+     * @param limit The page size, or null for the default page size.
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param exchange The current exchange, used to evaluate its conditional headers.
+     * @return Page of my holidays as HolidayDTO objects.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
+     */
+    @RequestMapping(value = "/employee/{employeeId}", method = RequestMethod.GET)
+    public Mono<ResponseEntity<List<HolidayDTO>>> getMyHolidays(
+            @PathVariable("employeeId") String employeeId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+            ServerWebExchange exchange) {
+        logger.info("Fetching a page of my holidays.");
+        if (exchange.checkNotModified(holidayVersions.employeeHolidaysTag(employeeId))) {
+            logger.info("Holidays of employee {} not modified.", employeeId);
+            return Mono.empty();
+        }
+        Mono<HolidayPageDTO> page = archived
+                ? reactiveHolidayService.getArchivedHolidays(employeeId, cursor, limit)
+                : reactiveHolidayService.getMyHolidays(employeeId, cursor, limit);
+        return page.map(this::toResponse);
+    }
+
+    /**
+     * Finds the earliest period in which an employee can take a holiday of the given length, i.e. the first one
+     * a holiday creation would accept under the lead-time, overlap and gap rules. The period is computed from
+     * the in-memory interval index, without any database lookup.
+     *
+     * @param employeeId The ID of the employee.
+     * @param days The length of the holiday, in days.
+     * @param after The first day the holiday may start on, or null for today.
+     * @return The earliest period available, starting at midnight UTC.
+     * @throws InvalidHolidayException If the length is not between 1 and 366 days, or `after` lies beyond the
+     * working-day calendar.
+     */
+    @RequestMapping(value = "/employee/{employeeId}/next-slot", method = RequestMethod.GET)
+    public Mono<ResponseEntity<HolidaySlotDTO>> getNextSlot(
+            @PathVariable("employeeId") String employeeId,
+            @RequestParam("days") int days,
+            @RequestParam(value = "after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate after) {
+        logger.info("Finding the next slot of {} days for employee ID: {}", days, employeeId);
+        return Mono.fromCallable(() -> holidayService.findNextSlot(employeeId, days, after))
+                .map(slot -> new ResponseEntity<>(slot, HttpStatus.OK));
+    }
+
+    /**
+     * Creates a new holiday with validation.
+     * A request sent with an `Idempotency-Key` header is run once per key: a retry with the same key and holiday
+     * is answered with the holiday created by the first request, flagged by the `Idempotent-Replayed` header,
+     * without validating it again.
+     *
+     * @param holidayDTO The holiday data to be created.
+     * @param idempotencyKey The idempotency key of the request, or null to always create the holiday.
+     * @return The created holiday as a HolidayDTO.
+     * @throws InvalidHolidayException If the holiday is invalid, or the key is invalid or was used for another holiday.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
+     */
+    @RequestMapping(method = RequestMethod.POST)
+    public Mono<ResponseEntity<HolidayDTO>> createHoliday(@Valid @RequestBody HolidayDTO holidayDTO,
+                                                          @RequestHeader(value = HolidaysApi.IDEMPOTENCY_KEY_HEADER,
+                                                                  required = false) String idempotencyKey) {
+        logger.info("Creating a new holiday with label: {}", holidayDTO.getHolidayLabel());
+        if (idempotencyKey == null) {
+            return createAdmittedHoliday(holidayDTO)
+                    .map(createdHoliday -> new ResponseEntity<>(createdHoliday, HttpStatus.CREATED));
+        }
+        return Mono.defer(() -> {
+            HolidayIdempotencyStore.Claim claim = holidayIdempotencyStore.claim(idempotencyKey, holidayDTO);
+            if (claim.isReplay()) {
+                return Mono.fromFuture(claim.response())
+                        .map(createdHoliday -> ResponseEntity.status(HttpStatus.CREATED)
+                                .header(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER, "true")
+                                .body(createdHoliday));
+            }
+            return createAdmittedHoliday(holidayDTO)
+                    .doOnNext(claim::complete)
+                    .doOnError(claim::fail)
+                    .doOnCancel(() -> claim.fail(new CancellationException("Holiday creation cancelled")))
+                    .map(createdHoliday -> new ResponseEntity<>(createdHoliday, HttpStatus.CREATED));
+        });
+    }
+
+    /**
+     * Creates a batch of holidays in one request.
+     * Each holiday is validated on its own; the response reports, per holiday, the created holiday or the error.
+     *
+     * @param holidayDTOs The holidays to be created.
+     * @return The outcome of each holiday, in the order of the request.
+     * @throws InvalidHolidayException If the batch is larger than the configured maximum.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
+     */
+    @RequestMapping(value = "/batch", method = RequestMethod.POST)
+    public Mono<ResponseEntity<List<HolidayBatchResultDTO>>> createHolidays(
+            @RequestBody List<HolidayDTO> holidayDTOs) {
+        logger.info("Creating a batch of {} holidays.", holidayDTOs.size());
+        List<String> employeeIds = holidayDTOs.stream().map(HolidayDTO::getEmployeeId).toList();
+        return Mono.using(() -> holidayAdmissionControl.admit(employeeIds),
+                        permit -> Mono.fromCallable(() -> holidayService.createHolidays(holidayDTOs))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        HolidayAdmissionControl.Permit::close)
+                .map(results -> new ResponseEntity<>(results, HttpStatus.OK));
+    }
+
+    /**
+     * Deletes a holiday by its unique ID.
+     *
+     * @param holidayId The ID of the holiday to be deleted.
+     * @return An empty response once the holiday is deleted.
+     * @throws InvalidHolidayException If the holiday is not found.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
+     */
+    @RequestMapping(value = "/{holidayId}", method = RequestMethod.DELETE)
+    public Mono<ResponseEntity<Void>> deleteHoliday(@PathVariable("holidayId") UUID holidayId) {
+        logger.info("Deleting holiday with ID: {}", holidayId);
+        // The interval index knows the employee of every live holiday; an unknown holiday is left to the service
+        String employeeId = holidayIntervalIndex.findEmployeeId(holidayId).orElse(null);
+        return Mono.using(() -> holidayAdmissionControl.admit(employeeId),
+                        permit -> reactiveHolidayService.deleteHoliday(holidayId),
+                        HolidayAdmissionControl.Permit::close)
+                .then(Mono.fromSupplier(() -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT)));
+    }
+
+    /**
+     * Updates an existing holiday by its unique ID.
+     *
+     * @param holidayId The ID of the holiday to be updated.
+     * @param holidayDTO The holiday data to be updated.
+     * @return The updated holiday as a HolidayDTO.
+     * @throws InvalidHolidayException If the holiday is not found or invalid.
+     * @throws HolidayAdmissionException If the write is not admitted: too many writes for the employee or in total.
+     */
+    @RequestMapping(value = "/{holidayId}", method = RequestMethod.PUT)
+    public Mono<ResponseEntity<HolidayDTO>> updateHoliday(@PathVariable("holidayId") UUID holidayId,
+                                                          @Valid @RequestBody HolidayDTO holidayDTO) {
+        logger.info("Updating holiday with ID: {}", holidayId);
+        return Mono.using(() -> holidayAdmissionControl.admit(holidayDTO.getEmployeeId()),
+                        permit -> reactiveHolidayService.updateHoliday(holidayId, holidayDTO),
+                        HolidayAdmissionControl.Permit::close)
+                .map(updatedHoliday -> new ResponseEntity<>(updatedHoliday, HttpStatus.OK));
+    }
+
+    /**
+     * Creates a holiday once the admission control has admitted the write; the write holds its slot until it ends.
+     *
+     * @param holidayDTO The holiday data to be created.
+     * @return The created holiday as a HolidayDTO.
+     * @throws HolidayAdmissionException If the write is not admitted.
+     */
+    private Mono<HolidayDTO> createAdmittedHoliday(HolidayDTO holidayDTO) {
+        return Mono.using(() -> holidayAdmissionControl.admit(holidayDTO.getEmployeeId()),
+                permit -> reactiveHolidayService.createHoliday(holidayDTO),
+                HolidayAdmissionControl.Permit::close);
+    }
+
+    /**
+     * Builds the response of a holiday list endpoint: the page body plus, when more holidays follow,
+     * the cursor of the next page in the `X-Next-Cursor` header.
+     *
+     * @param page The page of holidays.
+     * @return The response entity.
+     */
+    private ResponseEntity<List<HolidayDTO>> toResponse(HolidayPageDTO page) {
+        logger.info("Successfully fetched {} holidays.", page.getHolidays().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(HolidaysApi.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getHolidays());
+    }
+}
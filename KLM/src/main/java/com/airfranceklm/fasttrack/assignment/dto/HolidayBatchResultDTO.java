@@ -0,0 +1,32 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of one holiday of a batch creation.
+ * Exactly one of `holiday` (created) and `error` (rejected) is set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayBatchResultDTO {
+
+    /**
+     * The position of the holiday in the submitted batch, starting at 0.
+     */
+    private int index;
+
+    /**
+     * The created holiday, including its generated ID. Null if the holiday was rejected.
+     */
+    private HolidayDTO holiday;
+
+    /**
+     * The reason the holiday was rejected. Null if the holiday was created.
+     */
+    private String error;
+}
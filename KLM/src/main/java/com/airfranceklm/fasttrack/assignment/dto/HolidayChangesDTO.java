@@ -0,0 +1,39 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object (DTO) for the changes to the holidays since a client's last sync.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayChangesDTO {
+
+    /**
+     * The holidays created or updated since the last sync, in their current state.
+     */
+    private List<HolidayDTO> holidays;
+
+    /**
+     * The IDs of the holidays deleted since the last sync.
+     */
+    private List<UUID> deletedHolidayIds;
+
+    /**
+     * The token to pass as `since` to the next sync.
+     */
+    private String syncToken;
+
+    /**
+     * Whether more changes follow; if so, the next sync should be made right away.
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,28 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for the number of holidays covering one day.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayCoverageDTO {
+
+    /**
+     * The day.
+     */
+    private LocalDate date;
+
+    /**
+     * The number of holidays covering the day, i.e. the number of people off.
+     */
+    private int holidays;
+}
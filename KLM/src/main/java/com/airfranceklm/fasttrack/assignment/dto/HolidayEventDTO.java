@@ -0,0 +1,39 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object (DTO) for a change to a holiday, pushed to the subscribers of the holiday event stream.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayEventDTO {
+
+    /**
+     * The kind of change.
+     */
+    private HolidayEventType type;
+
+    /**
+     * The ID of the changed holiday.
+     */
+    private UUID holidayId;
+
+    /**
+     * The ID of the employee taking the holiday, or null if unknown.
+     */
+    private String employeeId;
+
+    /**
+     * The holiday as saved, or null if it was deleted.
+     */
+    private HolidayDTO holiday;
+}
@@ -0,0 +1,30 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of holidays.
+ * Holidays are ordered by start date and ID; the cursor points just after the last holiday of the page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayPageDTO {
+
+    /**
+     * The holidays of this page, in (startOfHoliday, holidayId) order.
+     */
+    private List<HolidayDTO> holidays;
+
+    /**
+     * The opaque cursor to pass back to fetch the next page.
+     * Null when this is the last page.
+     */
+    private String nextCursor;
+}
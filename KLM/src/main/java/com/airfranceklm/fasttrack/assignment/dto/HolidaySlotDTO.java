@@ -0,0 +1,33 @@
+package com.airfranceklm.fasttrack.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Data Transfer Object (DTO) for the earliest period an employee can take a holiday of a given length in.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidaySlotDTO {
+
+    /**
+     * The ID of the employee the period was searched for.
+     */
+    private String employeeId;
+
+    /**
+     * The start of the period, at midnight UTC.
+     */
+    private OffsetDateTime startOfHoliday;
+
+    /**
+     * The end of the period.
+     */
+    private OffsetDateTime endOfHoliday;
+}
@@ -0,0 +1,10 @@
+package com.airfranceklm.fasttrack.assignment.enums;
+
+/**
+ * Enum representing the kinds of change pushed to the subscribers of the holiday event stream.
+ */
+public enum HolidayEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
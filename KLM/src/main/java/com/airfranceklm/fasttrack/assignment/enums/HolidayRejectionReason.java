@@ -0,0 +1,22 @@
+package com.airfranceklm.fasttrack.assignment.enums;
+
+/**
+ * Enum representing the reasons for which a holiday operation can be rejected.
+ */
+public enum HolidayRejectionReason {
+    NOT_FOUND,
+    OVERLAP,
+    GAP,
+    LEAD_TIME,
+    TOO_LONG,
+    INVALID_CURSOR,
+    INVALID_SYNC_TOKEN,
+    SYNC_TOKEN_EXPIRED,
+    INVALID_PAGE_SIZE,
+    BATCH_TOO_LARGE,
+    INVALID_DATE_RANGE,
+    BEYOND_HORIZON,
+    INVALID_HOLIDAY,
+    INVALID_IDEMPOTENCY_KEY,
+    IDEMPOTENCY_KEY_REUSED
+}
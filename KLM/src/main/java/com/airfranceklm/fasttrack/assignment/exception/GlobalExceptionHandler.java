@@ -1,11 +1,14 @@
 package com.airfranceklm.fasttrack.assignment.exception;
 
 import com.airfranceklm.fasttrack.assignment.dto.ErrorResponseDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,21 +44,68 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles validation errors of the reactive stack (WebExchangeBindException), like their servlet counterpart.
+     *
+     * @param ex The exception containing details of the validation errors.
+     * @return The error response containing the details of the validation errors.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        List<String> errorDetails = ex.getFieldErrors()
+                .stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.toList());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Validation failed",
+                errorDetails,
+                HttpStatus.BAD_REQUEST.value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles InvalidHolidayException, which is thrown when a holiday operation fails due to invalid data.
+     * A sync token older than the pruned deletions is answered with GONE, telling the client to sync from scratch.
      *
      * @param ex The exception containing the error message for invalid holiday operations.
-     * @return The error response containing the exception message and HTTP status BAD_REQUEST.
+     * @return The error response containing the exception message and HTTP status BAD_REQUEST, or GONE.
      */
     @ExceptionHandler(InvalidHolidayException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidHolidayException(InvalidHolidayException ex) {
+        HttpStatus status = ex.getReason() == HolidayRejectionReason.SYNC_TOKEN_EXPIRED
+                ? HttpStatus.GONE
+                : HttpStatus.BAD_REQUEST;
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 ex.getMessage(),
                 List.of(),
-                HttpStatus.BAD_REQUEST.value()
+                status.value()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    /**
+     * Handles HolidayAdmissionException, which is thrown when a write request is not admitted.
+     * The Retry-After header tells the client, in whole seconds, when to send the request again.
+     *
+     * @param ex The exception containing the reason and the retry delay.
+     * @return The error response containing the exception message and HTTP status TOO_MANY_REQUESTS.
+     */
+    @ExceptionHandler(HolidayAdmissionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleHolidayAdmissionException(HolidayAdmissionException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                List.of(),
+                HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorResponse);
     }
 
     /**
@@ -0,0 +1,35 @@
+package com.airfranceklm.fasttrack.assignment.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a write request is not admitted, because the employee sent too many writes
+ * or too many writes are already running. It is answered with a 429 and a Retry-After header.
+ */
+public class HolidayAdmissionException extends RuntimeException {
+
+    /**
+     * How long the client should wait before sending the request again.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new `HolidayAdmissionException` with the specified message and retry delay.
+     *
+     * @param message The detail message explaining why the request was not admitted.
+     * @param retryAfter How long the client should wait before sending the request again.
+     */
+    public HolidayAdmissionException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before sending the request again.
+     *
+     * @return The retry delay.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
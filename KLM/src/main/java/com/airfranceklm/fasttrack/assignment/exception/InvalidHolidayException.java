@@ -1,5 +1,7 @@
 package com.airfranceklm.fasttrack.assignment.exception;
 
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+
 /**
  * Custom exception for handling invalid holiday operations.
  * This exception is thrown when a holiday violates business rules such as overlap,
@@ -7,13 +9,18 @@ package com.airfranceklm.fasttrack.assignment.exception;
  */
 public class InvalidHolidayException extends RuntimeException {
 
+    /**
+     * The business reason of the rejection, used to break metrics down by reason.
+     */
+    private final HolidayRejectionReason reason;
+
     /**
      * Constructs a new `InvalidHolidayException` with the specified message.
      *
      * @param message The detail message explaining the reason for the exception.
      */
     public InvalidHolidayException(String message) {
-        super(message);
+        this(HolidayRejectionReason.INVALID_HOLIDAY, message);
     }
 
     /**
@@ -23,7 +30,38 @@ public class InvalidHolidayException extends RuntimeException {
      * @param cause The cause of the exception.
      */
     public InvalidHolidayException(String message, Throwable cause) {
+        this(HolidayRejectionReason.INVALID_HOLIDAY, message, cause);
+    }
+
+    /**
+     * Constructs a new `InvalidHolidayException` with the specified reason and message.
+     *
+     * @param reason The business reason of the rejection.
+     * @param message The detail message explaining the reason for the exception.
+     */
+    public InvalidHolidayException(HolidayRejectionReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * Constructs a new `InvalidHolidayException` with the specified reason, message and cause.
+     *
+     * @param reason The business reason of the rejection.
+     * @param message The detail message explaining the reason for the exception.
+     * @param cause The cause of the exception.
+     */
+    public InvalidHolidayException(HolidayRejectionReason reason, String message, Throwable cause) {
         super(message, cause);
+        this.reason = reason;
     }
-}
 
+    /**
+     * Returns the business reason of the rejection.
+     *
+     * @return The reason of the rejection.
+     */
+    public HolidayRejectionReason getReason() {
+        return reason;
+    }
+}
@@ -1,8 +1,12 @@
 package com.airfranceklm.fasttrack.assignment.mapper;
 
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
 import com.airfranceklm.fasttrack.assignment.resources.Holiday;
 
+import java.time.OffsetDateTime;
+
 /**
  * Mapper class for converting between the `Holiday` entity and the `HolidayDTO`.
  * This class provides methods to map a `Holiday` object to a `HolidayDTO` and vice versa.
@@ -41,5 +45,26 @@ public class HolidayMapper {
                 .status(holiday.getStatus())
                 .build();
     }
+
+    /**
+     * Converts a `Holiday` entity to the `ArchivedHoliday` entity keeping it once archived.
+     *
+     * @param holiday The `Holiday` entity to be archived.
+     * @param archivedAt When the holiday is archived.
+     * @return The `ArchivedHoliday` entity, with the `ARCHIVED` status.
+     */
+    public static ArchivedHoliday toArchivedHoliday(Holiday holiday, OffsetDateTime archivedAt) {
+        return ArchivedHoliday.builder()
+                .holidayId(holiday.getHolidayId())
+                .holidayLabel(holiday.getHolidayLabel())
+                .employeeId(holiday.getEmployeeId())
+                .startOfHoliday(holiday.getStartOfHoliday())
+                .endOfHoliday(holiday.getEndOfHoliday())
+                .startEpochSecond(holiday.getStartEpochSecond())
+                .endEpochSecond(holiday.getEndEpochSecond())
+                .status(HolidayStatus.ARCHIVED)
+                .archivedAt(archivedAt)
+                .build();
+    }
 }
 
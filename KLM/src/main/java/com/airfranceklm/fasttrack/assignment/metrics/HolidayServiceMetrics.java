@@ -0,0 +1,66 @@
+package com.airfranceklm.fasttrack.assignment.metrics;
+
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect timing every operation of the holiday service.
+ * Each call is recorded in the `holidays.service` timer, tagged with the method name and its outcome:
+ * `SUCCESS`, `REJECTED` (an {@link InvalidHolidayException}, further tagged with its reason) or `ERROR`.
+ * The timer counts the calls as well, so it also serves as the per-outcome counter.
+ * It runs outside the caching and transaction proxies, so cache hits and commit time are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class HolidayServiceMetrics {
+
+    /**
+     * Name of the timer recording the holiday service operations.
+     */
+    public static final String SERVICE_TIMER = "holidays.service";
+
+    private static final String NO_REASON = "NONE";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Times a holiday service operation and records its outcome.
+     *
+     * @param joinPoint The intercepted service call.
+     * @return The result of the service call.
+     * @throws Throwable Any exception thrown by the service call, rethrown unchanged.
+     */
+    @Around("execution(* com.airfranceklm.fasttrack.assignment.service.HolidayService.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String reason = NO_REASON;
+        try {
+            return joinPoint.proceed();
+        } catch (InvalidHolidayException ex) {
+            outcome = "REJECTED";
+            reason = ex.getReason().name();
+            throw ex;
+        } catch (Throwable ex) {
+            outcome = "ERROR";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .description("Duration and outcome of the holiday service operations")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
+    }
+}
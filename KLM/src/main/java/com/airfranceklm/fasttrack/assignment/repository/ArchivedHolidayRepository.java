@@ -0,0 +1,91 @@
+package com.airfranceklm.fasttrack.assignment.repository;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing `ArchivedHoliday` entities.
+ * The archive is read page by page, in the same keyset order and through the same `HolidayDTO` projection
+ * as the holiday list endpoints.
+ */
+@Repository
+public interface ArchivedHolidayRepository extends JpaRepository<ArchivedHoliday, UUID> {
+
+    /**
+     * Finds all archived holidays, projected into `HolidayDTO`s. Read once at startup by the coverage index.
+     *
+     * @return The archived holidays, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @Query(HolidayRepository.DTO_PROJECTION + "from ArchivedHoliday h")
+    List<HolidayDTO> findAllDTOs();
+
+    /**
+     * Finds the first page of archived holidays, ordered by start date and ID, projected into `HolidayDTO`s.
+     *
+     * @param limit The maximum number of holidays to return.
+     * @return The first archived holidays in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(HolidayRepository.DTO_PROJECTION + "from ArchivedHoliday h order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findFirstPage(Limit limit);
+
+    /**
+     * Finds the page of archived holidays following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The archived holidays following the cursor in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(HolidayRepository.DTO_PROJECTION + "from ArchivedHoliday h where h.startEpochSecond > :startEpochSecond "
+            + "or (h.startEpochSecond = :startEpochSecond and h.holidayId > :holidayId) "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findPageAfter(@Param("startEpochSecond") long startEpochSecond,
+                                   @Param("holidayId") UUID holidayId,
+                                   Limit limit);
+
+    /**
+     * Finds the first page of archived holidays of an employee, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param employeeId The ID of the employee.
+     * @param limit The maximum number of holidays to return.
+     * @return The first archived holidays of the employee in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(HolidayRepository.DTO_PROJECTION + "from ArchivedHoliday h where h.employeeId = :employeeId "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findFirstPageByEmployeeId(@Param("employeeId") String employeeId, Limit limit);
+
+    /**
+     * Finds the page of archived holidays of an employee following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param employeeId The ID of the employee.
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The archived holidays of the employee following the cursor in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(HolidayRepository.DTO_PROJECTION + "from ArchivedHoliday h where h.employeeId = :employeeId "
+            + "and (h.startEpochSecond > :startEpochSecond "
+            + "or (h.startEpochSecond = :startEpochSecond and h.holidayId > :holidayId)) "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findPageByEmployeeIdAfter(@Param("employeeId") String employeeId,
+                                               @Param("startEpochSecond") long startEpochSecond,
+                                               @Param("holidayId") UUID holidayId,
+                                               Limit limit);
+}
@@ -1,21 +1,40 @@
 package com.airfranceklm.fasttrack.assignment.repository;
 
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
 import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing `Holiday` entities.
  * Extends `JpaRepository` to provide CRUD operations and custom queries for holiday data.
+ * The read endpoints go through queries projecting straight into `HolidayDTO`: no entity is hydrated,
+ * registered in the persistence context or snapshotted for dirty checking, since none is ever written back.
  */
 @Repository
 public interface HolidayRepository extends JpaRepository<Holiday, UUID> {
 
+    /**
+     * The constructor expression projecting a holiday row into a `HolidayDTO`.
+     */
+    String DTO_PROJECTION = "select new com.airfranceklm.fasttrack.assignment.dto.HolidayDTO("
+            + "h.holidayId, h.holidayLabel, h.employeeId, h.startOfHoliday, h.endOfHoliday, h.status) ";
+
     /**
      * Finds holidays for a specific employee by their employee ID.
      *
@@ -24,6 +43,182 @@ public interface HolidayRepository extends JpaRepository<Holiday, UUID> {
      */
     List<Holiday> findByEmployeeId(String employeeId);
 
+    /**
+     * Streams all holidays without loading them all at once.
+     * Rows are fetched from the JDBC driver in batches and loaded read-only (no dirty-checking snapshot).
+     * Must be called within a transaction, and the stream must be closed.
+     *
+     * @return A stream over all holidays.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select h from Holiday h")
+    Stream<Holiday> streamAll();
+
+    /**
+     * Finds a holiday by its unique ID, projected into a `HolidayDTO`.
+     *
+     * @param holidayId The ID of the holiday to be retrieved.
+     * @return The holiday, or empty if not found.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_PROJECTION + "from Holiday h where h.holidayId = :holidayId")
+    Optional<HolidayDTO> findDTOById(@Param("holidayId") UUID holidayId);
+
+    /**
+     * Finds the first page of holidays, ordered by start date and ID, projected into `HolidayDTO`s.
+     *
+     * @param limit The maximum number of holidays to return.
+     * @return The first holidays in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_PROJECTION + "from Holiday h order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findFirstPage(Limit limit);
+
+    /**
+     * Finds the page of holidays following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays following the cursor in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_PROJECTION + "from Holiday h where h.startEpochSecond > :startEpochSecond "
+            + "or (h.startEpochSecond = :startEpochSecond and h.holidayId > :holidayId) "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findPageAfter(@Param("startEpochSecond") long startEpochSecond,
+                                   @Param("holidayId") UUID holidayId,
+                                   Limit limit);
+
+    /**
+     * Finds the first page of holidays of an employee, ordered by start date and ID, projected into `HolidayDTO`s.
+     *
+     * @param employeeId The ID of the employee.
+     * @param limit The maximum number of holidays to return.
+     * @return The first holidays of the employee in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_PROJECTION + "from Holiday h where h.employeeId = :employeeId "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findFirstPageByEmployeeId(@Param("employeeId") String employeeId, Limit limit);
+
+    /**
+     * Finds the page of holidays of an employee following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param employeeId The ID of the employee.
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays of the employee following the cursor in (startEpochSecond, holidayId) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_PROJECTION + "from Holiday h where h.employeeId = :employeeId "
+            + "and (h.startEpochSecond > :startEpochSecond "
+            + "or (h.startEpochSecond = :startEpochSecond and h.holidayId > :holidayId)) "
+            + "order by h.startEpochSecond, h.holidayId")
+    List<HolidayDTO> findPageByEmployeeIdAfter(@Param("employeeId") String employeeId,
+                                               @Param("startEpochSecond") long startEpochSecond,
+                                               @Param("holidayId") UUID holidayId,
+                                               Limit limit);
+
+    /**
+     * Finds the holidays intersecting a window, i.e. those starting before its end and ending after its start.
+     * Used by the validation rules, so that only the few holidays around the requested dates are loaded.
+     * Since no holiday lasts longer than `Holiday.MAXIMUM_DURATION_SECONDS`, a holiday intersecting the window
+     * also starts after the window start minus that duration. The start is thereby bounded on both sides, so the
+     * (startEpochSecond, endEpochSecond) index declared on `Holiday` only walks the holidays starting around the
+     * window, however many holidays lie before or after it.
+     *
+     * @param from The start of the window (exclusive), in UTC epoch seconds.
+     * @param to The end of the window (exclusive), in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to leave out (the one being updated), or null.
+     * @return The holidays intersecting the window.
+     */
+    @Query("select h from Holiday h where h.startEpochSecond > :from - " + Holiday.MAXIMUM_DURATION_SECONDS
+            + " and h.startEpochSecond < :to and h.endEpochSecond > :from "
+            + "and (:excludedHolidayId is null or h.holidayId <> :excludedHolidayId)")
+    List<Holiday> findConflicting(@Param("from") long from,
+                                  @Param("to") long to,
+                                  @Param("excludedHolidayId") UUID excludedHolidayId);
+
+    /**
+     * Finds the holidays that ended before a point in time, earliest end first, to be archived.
+     * Served by the (endEpochSecond, startEpochSecond) index declared on `Holiday`.
+     *
+     * @param endedBefore The point in time, in UTC epoch seconds.
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays that ended before the point in time.
+     */
+    @Query("select h from Holiday h where h.endEpochSecond < :endedBefore order by h.endEpochSecond")
+    List<Holiday> findEndedBefore(@Param("endedBefore") long endedBefore, Limit limit);
+
+    /**
+     * Finds the holidays written within a range of the change sequence, in sequence order.
+     * Served by the changeSequence index declared on `Holiday`, so the cost follows the number of changes.
+     *
+     * @param since The lower bound of the range (exclusive).
+     * @param upTo The upper bound of the range (inclusive).
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays written within the range.
+     */
+    @Query("select h from Holiday h where h.changeSequence > :since and h.changeSequence <= :upTo "
+            + "order by h.changeSequence")
+    List<Holiday> findChanges(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    /**
+     * Returns the highest change sequence recorded by a holiday.
+     *
+     * @return The highest change sequence, or 0 if there is no holiday.
+     */
+    @Query("select coalesce(max(h.changeSequence), 0) from Holiday h")
+    long findMaxChangeSequence();
+
+    /**
+     * Updates the fields of a holiday in a single statement, without loading it first.
+     * The employee of a holiday never changes. The epoch-second columns are set by the caller,
+     * since a bulk update bypasses the entity callbacks.
+     *
+     * @param holidayId The ID of the holiday to update.
+     * @param holidayLabel The new label.
+     * @param startOfHoliday The new start date.
+     * @param endOfHoliday The new end date.
+     * @param startEpochSecond The new start, in UTC epoch seconds.
+     * @param endEpochSecond The new end, in UTC epoch seconds.
+     * @param status The new status.
+     * @param changeSequence The change sequence of the update.
+     * @return The number of holidays updated: 1, or 0 if the holiday does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Holiday h set h.holidayLabel = :holidayLabel, h.startOfHoliday = :startOfHoliday, "
+            + "h.endOfHoliday = :endOfHoliday, h.startEpochSecond = :startEpochSecond, "
+            + "h.endEpochSecond = :endEpochSecond, h.status = :status, h.changeSequence = :changeSequence "
+            + "where h.holidayId = :holidayId")
+    int updateHoliday(@Param("holidayId") UUID holidayId,
+                      @Param("holidayLabel") String holidayLabel,
+                      @Param("startOfHoliday") OffsetDateTime startOfHoliday,
+                      @Param("endOfHoliday") OffsetDateTime endOfHoliday,
+                      @Param("startEpochSecond") long startEpochSecond,
+                      @Param("endEpochSecond") long endEpochSecond,
+                      @Param("status") HolidayStatus status,
+                      @Param("changeSequence") long changeSequence);
+
+    /**
+     * Deletes a holiday in a single statement, without loading or checking for it first.
+     *
+     * @param holidayId The ID of the holiday to delete.
+     * @return The number of holidays deleted: 1, or 0 if the holiday does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Holiday h where h.holidayId = :holidayId")
+    int deleteHolidayById(@Param("holidayId") UUID holidayId);
+
     /**
      * Finds a holiday by its unique ID.
      * This is a custom method to use UUID instead of String.
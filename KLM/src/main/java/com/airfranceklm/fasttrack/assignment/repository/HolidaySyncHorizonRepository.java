@@ -0,0 +1,21 @@
+package com.airfranceklm.fasttrack.assignment.repository;
+
+import com.airfranceklm.fasttrack.assignment.resources.HolidaySyncHorizon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing the `HolidaySyncHorizon` entity.
+ */
+@Repository
+public interface HolidaySyncHorizonRepository extends JpaRepository<HolidaySyncHorizon, Integer> {
+
+    /**
+     * Returns the highest change sequence of a pruned tombstone.
+     *
+     * @return The highest pruned change sequence, or 0 if no tombstone was ever pruned.
+     */
+    @Query("select coalesce(max(h.prunedUpTo), 0) from HolidaySyncHorizon h")
+    long findPrunedUpTo();
+}
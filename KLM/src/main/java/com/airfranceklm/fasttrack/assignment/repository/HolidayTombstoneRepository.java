@@ -0,0 +1,59 @@
+package com.airfranceklm.fasttrack.assignment.repository;
+
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing `HolidayTombstone` entities.
+ */
+@Repository
+public interface HolidayTombstoneRepository extends JpaRepository<HolidayTombstone, UUID> {
+
+    /**
+     * Finds the deletions recorded within a range of the change sequence, in sequence order.
+     *
+     * @param since The lower bound of the range (exclusive).
+     * @param upTo The upper bound of the range (inclusive).
+     * @param limit The maximum number of deletions to return.
+     * @return The deletions within the range.
+     */
+    @Query("select t from HolidayTombstone t where t.changeSequence > :since and t.changeSequence <= :upTo "
+            + "order by t.changeSequence")
+    List<HolidayTombstone> findChanges(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    /**
+     * Returns the highest change sequence recorded by a deletion.
+     *
+     * @return The highest change sequence, or 0 if no holiday was ever deleted.
+     */
+    @Query("select coalesce(max(t.changeSequence), 0) from HolidayTombstone t")
+    long findMaxChangeSequence();
+
+    /**
+     * Returns the highest change sequence recorded by a deletion before a point in time.
+     *
+     * @param deletedBefore The point in time, in UTC epoch seconds (exclusive).
+     * @return The highest change sequence, or 0 if no tombstone is that old.
+     */
+    @Query("select coalesce(max(t.changeSequence), 0) from HolidayTombstone t "
+            + "where t.deletedEpochSecond < :deletedBefore")
+    long findMaxChangeSequenceDeletedBefore(@Param("deletedBefore") long deletedBefore);
+
+    /**
+     * Deletes the tombstones up to a change sequence with a single statement.
+     *
+     * @param upTo The highest change sequence to delete (inclusive).
+     * @return The number of tombstones deleted.
+     */
+    @Modifying
+    @Query("delete from HolidayTombstone t where t.changeSequence <= :upTo")
+    int deleteUpTo(@Param("upTo") long upTo);
+}
@@ -0,0 +1,270 @@
+package com.airfranceklm.fasttrack.assignment.repository;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of `HolidayRepository`, `ArchivedHolidayRepository` and `HolidayTombstoneRepository`
+ * for the reactive stack. It runs the same statements over R2DBC, against the tables JPA creates on the same
+ * H2 database, so both stacks share one schema and its indexes. Reads project rows straight into `HolidayDTO`s.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveHolidayRepository {
+
+    private static final String HOLIDAY_TABLE = "holiday";
+
+    private static final String ARCHIVED_HOLIDAY_TABLE = "archived_holiday";
+
+    /**
+     * The columns projected into a `HolidayDTO`. The status is stored as its ordinal.
+     */
+    private static final String DTO_COLUMNS = "select holiday_id, holiday_label, employee_id, start_of_holiday, "
+            + "end_of_holiday, cast(status as int) as status ";
+
+    private static final String KEYSET_ORDER = "order by start_epoch_second, holiday_id limit :limit";
+
+    private static final String AFTER_CURSOR = "(start_epoch_second > :startEpochSecond "
+            + "or (start_epoch_second = :startEpochSecond and holiday_id > :holidayId)) ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds a holiday by its unique ID, projected into a `HolidayDTO`.
+     *
+     * @param holidayId The ID of the holiday to be retrieved.
+     * @return The holiday, or empty if not found.
+     */
+    public Mono<HolidayDTO> findDTOById(UUID holidayId) {
+        return databaseClient.sql(DTO_COLUMNS + "from holiday where holiday_id = :holidayId")
+                .bind("holidayId", holidayId)
+                .map(ReactiveHolidayRepository::toDTO)
+                .one();
+    }
+
+    /**
+     * Finds the first page of holidays, ordered by start date and ID, projected into `HolidayDTO`s.
+     *
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param limit The maximum number of holidays to return.
+     * @return The first holidays in (startEpochSecond, holidayId) order.
+     */
+    public Flux<HolidayDTO> findFirstPage(boolean archived, int limit) {
+        return databaseClient.sql(DTO_COLUMNS + "from " + table(archived) + " " + KEYSET_ORDER)
+                .bind("limit", limit)
+                .map(ReactiveHolidayRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Finds the page of holidays following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays following the cursor in (startEpochSecond, holidayId) order.
+     */
+    public Flux<HolidayDTO> findPageAfter(boolean archived, long startEpochSecond, UUID holidayId, int limit) {
+        return databaseClient.sql(DTO_COLUMNS + "from " + table(archived) + " where " + AFTER_CURSOR + KEYSET_ORDER)
+                .bind("startEpochSecond", startEpochSecond)
+                .bind("holidayId", holidayId)
+                .bind("limit", limit)
+                .map(ReactiveHolidayRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Finds the first page of holidays of an employee, ordered by start date and ID, projected into `HolidayDTO`s.
+     *
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param employeeId The ID of the employee.
+     * @param limit The maximum number of holidays to return.
+     * @return The first holidays of the employee in (startEpochSecond, holidayId) order.
+     */
+    public Flux<HolidayDTO> findFirstPageByEmployeeId(boolean archived, String employeeId, int limit) {
+        return databaseClient.sql(DTO_COLUMNS + "from " + table(archived) + " where employee_id = :employeeId "
+                        + KEYSET_ORDER)
+                .bind("employeeId", employeeId)
+                .bind("limit", limit)
+                .map(ReactiveHolidayRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Finds the page of holidays of an employee following a keyset cursor, ordered by start date and ID,
+     * projected into `HolidayDTO`s.
+     *
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param employeeId The ID of the employee.
+     * @param startEpochSecond The start, in UTC epoch seconds, of the last holiday of the previous page.
+     * @param holidayId The ID of the last holiday of the previous page.
+     * @param limit The maximum number of holidays to return.
+     * @return The holidays of the employee following the cursor in (startEpochSecond, holidayId) order.
+     */
+    public Flux<HolidayDTO> findPageByEmployeeIdAfter(boolean archived, String employeeId, long startEpochSecond,
+                                                      UUID holidayId, int limit) {
+        return databaseClient.sql(DTO_COLUMNS + "from " + table(archived) + " where employee_id = :employeeId and "
+                        + AFTER_CURSOR + KEYSET_ORDER)
+                .bind("employeeId", employeeId)
+                .bind("startEpochSecond", startEpochSecond)
+                .bind("holidayId", holidayId)
+                .bind("limit", limit)
+                .map(ReactiveHolidayRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Streams all holidays, projected into `HolidayDTO`s. Rows are emitted as the driver reads them,
+     * under the backpressure of the subscriber.
+     *
+     * @return All holidays.
+     */
+    public Flux<HolidayDTO> findAll() {
+        return databaseClient.sql(DTO_COLUMNS + "from holiday")
+                .map(ReactiveHolidayRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Finds the holidays intersecting a window, i.e. those starting before its end and ending after its start,
+     * with only the fields the validation rules need. Bounded on both sides of the start, like
+     * `HolidayRepository.findConflicting`, so it is served by the (startEpochSecond, endEpochSecond) index.
+     *
+     * @param from The start of the window (exclusive), in UTC epoch seconds.
+     * @param to The end of the window (exclusive), in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to leave out (the one being updated), or null.
+     * @return The holidays intersecting the window.
+     */
+    public Flux<Holiday> findConflicting(long from, long to, UUID excludedHolidayId) {
+        String sql = "select holiday_id, employee_id, start_of_holiday, end_of_holiday from holiday "
+                + "where start_epoch_second > :startedAfter and start_epoch_second < :to and end_epoch_second > :from";
+        DatabaseClient.GenericExecuteSpec spec = excludedHolidayId == null
+                ? databaseClient.sql(sql)
+                : databaseClient.sql(sql + " and holiday_id <> :excludedHolidayId")
+                        .bind("excludedHolidayId", excludedHolidayId);
+        return spec.bind("startedAfter", from - Holiday.MAXIMUM_DURATION_SECONDS)
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> Holiday.builder()
+                        .holidayId(row.get("holiday_id", UUID.class))
+                        .employeeId(row.get("employee_id", String.class))
+                        .startOfHoliday(row.get("start_of_holiday", OffsetDateTime.class))
+                        .endOfHoliday(row.get("end_of_holiday", OffsetDateTime.class))
+                        .build())
+                .all();
+    }
+
+    /**
+     * Inserts a new holiday. The ID is assigned by the caller, and so are the epoch-second columns,
+     * since no entity callback runs outside JPA.
+     *
+     * @param holiday The holiday to insert, with its ID and change sequence set.
+     * @return Completes once the holiday is inserted.
+     */
+    public Mono<Void> insert(Holiday holiday) {
+        return databaseClient.sql("insert into holiday (holiday_id, holiday_label, employee_id, start_of_holiday, "
+                        + "end_of_holiday, start_epoch_second, end_epoch_second, status, change_sequence) "
+                        + "values (:holidayId, :holidayLabel, :employeeId, :startOfHoliday, :endOfHoliday, "
+                        + ":startEpochSecond, :endEpochSecond, :status, :changeSequence)")
+                .bind("holidayId", holiday.getHolidayId())
+                .bind("holidayLabel", holiday.getHolidayLabel())
+                .bind("employeeId", holiday.getEmployeeId())
+                .bind("startOfHoliday", holiday.getStartOfHoliday())
+                .bind("endOfHoliday", holiday.getEndOfHoliday())
+                .bind("startEpochSecond", holiday.getStartOfHoliday().toEpochSecond())
+                .bind("endEpochSecond", holiday.getEndOfHoliday().toEpochSecond())
+                .bind("status", holiday.getStatus().ordinal())
+                .bind("changeSequence", holiday.getChangeSequence())
+                .then();
+    }
+
+    /**
+     * Updates the fields of a holiday in a single statement. The employee of a holiday never changes.
+     *
+     * @param holidayId The ID of the holiday to update.
+     * @param holidayLabel The new label.
+     * @param startOfHoliday The new start date.
+     * @param endOfHoliday The new end date.
+     * @param status The new status.
+     * @param changeSequence The change sequence of the update.
+     * @return The number of holidays updated: 1, or 0 if the holiday does not exist.
+     */
+    public Mono<Long> updateHoliday(UUID holidayId, String holidayLabel, OffsetDateTime startOfHoliday,
+                                    OffsetDateTime endOfHoliday, HolidayStatus status, long changeSequence) {
+        return databaseClient.sql("update holiday set holiday_label = :holidayLabel, "
+                        + "start_of_holiday = :startOfHoliday, end_of_holiday = :endOfHoliday, "
+                        + "start_epoch_second = :startEpochSecond, end_epoch_second = :endEpochSecond, "
+                        + "status = :status, change_sequence = :changeSequence where holiday_id = :holidayId")
+                .bind("holidayLabel", holidayLabel)
+                .bind("startOfHoliday", startOfHoliday)
+                .bind("endOfHoliday", endOfHoliday)
+                .bind("startEpochSecond", startOfHoliday.toEpochSecond())
+                .bind("endEpochSecond", endOfHoliday.toEpochSecond())
+                .bind("status", status.ordinal())
+                .bind("changeSequence", changeSequence)
+                .bind("holidayId", holidayId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Deletes a holiday in a single statement, without loading or checking for it first.
+     *
+     * @param holidayId The ID of the holiday to delete.
+     * @return The number of holidays deleted: 1, or 0 if the holiday does not exist.
+     */
+    public Mono<Long> deleteHolidayById(UUID holidayId) {
+        return databaseClient.sql("delete from holiday where holiday_id = :holidayId")
+                .bind("holidayId", holidayId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Inserts the tombstone of a deleted holiday.
+     *
+     * @param tombstone The tombstone.
+     * @return Completes once the tombstone is inserted.
+     */
+    public Mono<Void> insertTombstone(HolidayTombstone tombstone) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into holiday_tombstone "
+                        + "(holiday_id, employee_id, change_sequence, deleted_epoch_second) "
+                        + "values (:holidayId, :employeeId, :changeSequence, :deletedEpochSecond)")
+                .bind("holidayId", tombstone.getHolidayId())
+                .bind("changeSequence", tombstone.getChangeSequence())
+                .bind("deletedEpochSecond", tombstone.getDeletedEpochSecond());
+        spec = tombstone.getEmployeeId() == null
+                ? spec.bindNull("employeeId", String.class)
+                : spec.bind("employeeId", tombstone.getEmployeeId());
+        return spec.then();
+    }
+
+    private static String table(boolean archived) {
+        return archived ? ARCHIVED_HOLIDAY_TABLE : HOLIDAY_TABLE;
+    }
+
+    private static HolidayDTO toDTO(Readable row) {
+        Integer status = row.get("status", Integer.class);
+        return new HolidayDTO(row.get("holiday_id", UUID.class),
+                row.get("holiday_label", String.class),
+                row.get("employee_id", String.class),
+                row.get("start_of_holiday", OffsetDateTime.class),
+                row.get("end_of_holiday", OffsetDateTime.class),
+                status == null ? null : HolidayStatus.values()[status]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.airfranceklm.fasttrack.assignment.resources;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a past holiday moved out of the "Holiday" table by the archival job.
+ * This class is used as a JPA entity to map to the "ArchivedHoliday" table in the database.
+ * It keeps the ID and the fields of the holiday, with the `ARCHIVED` status, and is only read on request,
+ * so the validation, listing and sync queries on the holiday table never touch past holidays.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_archived_holiday_start", columnList = "startEpochSecond, holidayId"),
+        @Index(name = "idx_archived_holiday_employee_start", columnList = "employeeId, startEpochSecond")
+})
+public class ArchivedHoliday {
+
+    /**
+     * The ID the holiday had in the holiday table.
+     */
+    @Id
+    private UUID holidayId;
+
+    /**
+     * The label describing the holiday (e.g., "Summer Holidays").
+     */
+    private String holidayLabel;
+
+    /**
+     * The unique employee ID associated with this holiday.
+     */
+    private String employeeId;
+
+    /**
+     * The start date and time of the holiday.
+     */
+    private OffsetDateTime startOfHoliday;
+
+    /**
+     * The end date and time of the holiday.
+     */
+    private OffsetDateTime endOfHoliday;
+
+    /**
+     * The start of the holiday in UTC epoch seconds, copied from the holiday.
+     */
+    private long startEpochSecond;
+
+    /**
+     * The end of the holiday in UTC epoch seconds, copied from the holiday.
+     */
+    private long endEpochSecond;
+
+    /**
+     * The status of the holiday, always `ARCHIVED`.
+     */
+    private HolidayStatus status;
+
+    /**
+     * When the holiday was archived.
+     */
+    private OffsetDateTime archivedAt;
+}
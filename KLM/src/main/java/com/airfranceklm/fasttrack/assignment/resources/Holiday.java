@@ -10,6 +10,10 @@ import lombok.NoArgsConstructor;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -17,14 +21,29 @@ import java.util.UUID;
  * Represents a holiday for an employee.
  * This class is used as a JPA entity to map to the "Holiday" table in the database.
  * It contains information such as the holiday label, employee ID, start and end dates, and status.
+ * The indexes serve the validation window lookup, the archival, the per-employee listing and the delta sync.
+ * The start and end dates are also stored as UTC epoch seconds, kept in sync by the entity itself,
+ * so that range queries compare plain numbers whatever the offset of each date.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_holiday_start_end", columnList = "startEpochSecond, endEpochSecond"),
+        @Index(name = "idx_holiday_end_start", columnList = "endEpochSecond, startEpochSecond"),
+        @Index(name = "idx_holiday_employee_start", columnList = "employeeId, startEpochSecond"),
+        @Index(name = "idx_holiday_change_sequence", columnList = "changeSequence")
+})
 public class Holiday {
 
+    /**
+     * The longest a holiday may last: 366 days, in seconds. Enforced by the validation rules, so that every holiday
+     * intersecting a window starts less than this before the window, which bounds the window lookup on both sides.
+     */
+    public static final long MAXIMUM_DURATION_SECONDS = 366L * 24 * 60 * 60;
+
     /**
      * The unique identifier for the holiday.
      * This ID is automatically generated using a UUID for each holiday.
@@ -57,9 +76,35 @@ public class Holiday {
      */
     private OffsetDateTime endOfHoliday;
 
+    /**
+     * The start of the holiday in UTC epoch seconds, derived from startOfHoliday whenever the holiday is saved.
+     */
+    private long startEpochSecond;
+
+    /**
+     * The end of the holiday in UTC epoch seconds, derived from endOfHoliday whenever the holiday is saved.
+     */
+    private long endEpochSecond;
+
     /**
      * The status of the holiday (e.g., "DRAFT", "REQUESTED", "SCHEDULED", "ARCHIVED").
      * This field helps track the state of the holiday in the system.
      */
     private HolidayStatus status;
+
+    /**
+     * The position of the last write of this holiday in the change sequence shared with `HolidayTombstone`.
+     * Used by the delta sync to find the holidays changed since a client's last sync.
+     */
+    private Long changeSequence;
+
+    /**
+     * Derives the epoch-second columns from the start and end dates before every insert and update.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncEpochSeconds() {
+        startEpochSecond = startOfHoliday.toEpochSecond();
+        endEpochSecond = endOfHoliday.toEpochSecond();
+    }
 }
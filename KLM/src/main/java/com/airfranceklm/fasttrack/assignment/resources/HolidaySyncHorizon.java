@@ -0,0 +1,35 @@
+package com.airfranceklm.fasttrack.assignment.resources;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records how far the tombstones of deleted holidays have been pruned, so that the delta sync can tell a client
+ * whose sync token predates the pruned deletions to sync from scratch instead of silently missing them.
+ * This class is used as a JPA entity to map to the "HolidaySyncHorizon" table in the database, which holds one row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class HolidaySyncHorizon {
+
+    /**
+     * The ID of the only row of the table.
+     */
+    public static final int ID = 1;
+
+    /**
+     * Always {@link #ID}.
+     */
+    @Id
+    private int horizonId;
+
+    /**
+     * The highest change sequence of a pruned tombstone: sync tokens below it can no longer be served.
+     */
+    private long prunedUpTo;
+}
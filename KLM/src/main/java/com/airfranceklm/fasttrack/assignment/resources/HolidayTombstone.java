@@ -0,0 +1,50 @@
+package com.airfranceklm.fasttrack.assignment.resources;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Records the deletion of a holiday, so that the delta sync can tell clients to drop it.
+ * Tombstones are kept for `holidays.sync.tombstone-retention`, after which a client must sync from scratch.
+ * This class is used as a JPA entity to map to the "HolidayTombstone" table in the database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_holiday_tombstone_change_sequence", columnList = "changeSequence"),
+        @Index(name = "idx_holiday_tombstone_deleted_epoch_second", columnList = "deletedEpochSecond")
+})
+public class HolidayTombstone {
+
+    /**
+     * The ID of the deleted holiday.
+     */
+    @Id
+    private UUID holidayId;
+
+    /**
+     * The ID of the employee of the deleted holiday.
+     */
+    private String employeeId;
+
+    /**
+     * The position of the deletion in the change sequence shared with `Holiday`.
+     */
+    private long changeSequence;
+
+    /**
+     * When the holiday was deleted, in UTC epoch seconds; tombstones are pruned once older than their retention.
+     */
+    private long deletedEpochSecond;
+}
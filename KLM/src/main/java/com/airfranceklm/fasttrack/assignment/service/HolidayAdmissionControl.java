@@ -0,0 +1,243 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits the write requests, so that a single client flooding the write endpoints cannot degrade them for everyone.
+ * Every employee has a token bucket refilled at a steady rate: a write takes a token of the employee it is for,
+ * and is rejected when the bucket is empty. On top of that, a global limit bounds the writes running at the same
+ * time, so that a burst spread over many employees cannot exhaust the connection pool either.
+ * Neither check ever blocks or takes a lock: a bucket is a single atomic timestamp updated by compare-and-set,
+ * and the global limit is only ever tried, never waited for. A rejected write carries how long to wait before
+ * retrying it.
+ */
+@Component
+public class HolidayAdmissionControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayAdmissionControl.class);
+
+    private static final String REJECTED_COUNTER = "holidays.admission.rejected";
+
+    private final HolidaysProperties.Admission admission;
+
+    private final LongSupplier nanoTime;
+
+    /**
+     * The time between two tokens of a bucket.
+     */
+    private final long tokenIntervalNanos;
+
+    /**
+     * The time it takes to refill an empty bucket.
+     */
+    private final long burstNanos;
+
+    /**
+     * The token buckets of the employees who wrote recently. A bucket idle for longer than it takes to refill
+     * it is full, so it can be evicted without changing any decision. Buckets are never evicted for lack of
+     * room: dropping a bucket that is still refilling would hand its employee a whole new burst.
+     */
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Semaphore writes;
+
+    private final Counter rateLimitedCounter;
+
+    private final Counter concurrencyLimitedCounter;
+
+    /**
+     * Creates the admission control from the admission settings and publishes its state as metrics.
+     *
+     * @param holidaysProperties The application settings.
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    @Autowired
+    public HolidayAdmissionControl(HolidaysProperties holidaysProperties, MeterRegistry meterRegistry) {
+        this(holidaysProperties, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Creates the admission control, reading the time from the given clock.
+     *
+     * @param holidaysProperties The application settings.
+     * @param meterRegistry The registry the metrics are published to.
+     * @param nanoTime The clock, in nanoseconds.
+     */
+    HolidayAdmissionControl(HolidaysProperties holidaysProperties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.admission = holidaysProperties.getAdmission();
+        this.nanoTime = nanoTime;
+        this.tokenIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / admission.getRatePerSecond());
+        this.burstNanos = tokenIntervalNanos * admission.getBurst();
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+        this.writes = new Semaphore(admission.getMaxConcurrentWrites());
+        this.rateLimitedCounter = Counter.builder(REJECTED_COUNTER)
+                .description("Write requests rejected by the admission control")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+        this.concurrencyLimitedCounter = Counter.builder(REJECTED_COUNTER)
+                .description("Write requests rejected by the admission control")
+                .tag("reason", "concurrency_limited")
+                .register(meterRegistry);
+        Gauge.builder("holidays.admission.writes.active", this, HolidayAdmissionControl::activeWrites)
+                .description("Write requests currently running")
+                .register(meterRegistry);
+        Gauge.builder("holidays.admission.writes.limit", admission, HolidaysProperties.Admission::getMaxConcurrentWrites)
+                .description("Maximum number of write requests running at the same time")
+                .register(meterRegistry);
+        Gauge.builder("holidays.admission.buckets", buckets, Cache::estimatedSize)
+                .description("Employees whose token bucket is tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a write for one employee.
+     *
+     * @param employeeId The ID of the employee the write is for.
+     * @return The permit of the write, to be closed once the write has finished.
+     * @throws HolidayAdmissionException If the employee has no token left or too many writes are running.
+     */
+    public Permit admit(String employeeId) {
+        return admit(employeeId == null ? List.of() : List.of(employeeId));
+    }
+
+    /**
+     * Admits a write for several employees, taking one token of each of them.
+     * Either every bucket gives a token or none does. Without employees, only the global limit applies.
+     *
+     * @param employeeIds The IDs of the employees the write is for; nulls and repetitions are ignored.
+     * @return The permit of the write, to be closed once the write has finished.
+     * @throws HolidayAdmissionException If an employee has no token left or too many writes are running.
+     */
+    public Permit admit(Collection<String> employeeIds) {
+        if (!admission.isEnabled()) {
+            return new Permit(false);
+        }
+        List<TokenBucket> taken = takeTokens(employeeIds);
+        if (!writes.tryAcquire()) {
+            // The write is not run, so it does not cost the employees their tokens
+            taken.forEach(TokenBucket::giveBack);
+            concurrencyLimitedCounter.increment();
+            logger.info("Rejected a write: {} writes already running.", admission.getMaxConcurrentWrites());
+            throw new HolidayAdmissionException("Too many holiday writes in progress, try again later",
+                    admission.getBusyRetryAfter());
+        }
+        return new Permit(true);
+    }
+
+    /**
+     * Returns the number of writes currently running.
+     *
+     * @return The number of admitted writes whose permit is not closed yet.
+     */
+    public int activeWrites() {
+        return admission.getMaxConcurrentWrites() - writes.availablePermits();
+    }
+
+    private List<TokenBucket> takeTokens(Collection<String> employeeIds) {
+        Set<String> distinctEmployeeIds = new LinkedHashSet<>(employeeIds);
+        distinctEmployeeIds.remove(null);
+        List<TokenBucket> taken = new ArrayList<>(distinctEmployeeIds.size());
+        for (String employeeId : distinctEmployeeIds) {
+            long now = nanoTime.getAsLong();
+            TokenBucket bucket = Objects.requireNonNull(buckets.get(employeeId, id -> new TokenBucket(now)));
+            long waitNanos = bucket.tryTake(now);
+            if (waitNanos > 0) {
+                taken.forEach(TokenBucket::giveBack);
+                rateLimitedCounter.increment();
+                logger.info("Rejected a write for employee {}: rate limit exceeded.", employeeId);
+                throw new HolidayAdmissionException("Too many holiday writes for employee " + employeeId
+                        + ", try again later", Duration.ofNanos(waitNanos));
+            }
+            taken.add(bucket);
+        }
+        return taken;
+    }
+
+    /**
+     * A token bucket, kept as the time at which it will be full again (the generic cell rate algorithm).
+     * The bucket holds `(burst - (fullAt - now)) / tokenInterval` tokens; taking a token pushes that time
+     * one token interval further, which is refused when it would end up more than a whole burst ahead of now.
+     */
+    private final class TokenBucket {
+
+        private final AtomicLong fullAtNanos;
+
+        private TokenBucket(long now) {
+            this.fullAtNanos = new AtomicLong(now);
+        }
+
+        /**
+         * Takes a token if there is one.
+         *
+         * @param now The current time, in nanoseconds.
+         * @return 0 if a token was taken, otherwise how long until there is one, in nanoseconds.
+         */
+        private long tryTake(long now) {
+            while (true) {
+                long fullAt = fullAtNanos.get();
+                long nextFullAt = Math.max(fullAt, now) + tokenIntervalNanos;
+                long waitNanos = nextFullAt - burstNanos - now;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (fullAtNanos.compareAndSet(fullAt, nextFullAt)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Gives back a token taken for a write that was not run.
+         */
+        private void giveBack() {
+            fullAtNanos.addAndGet(-tokenIntervalNanos);
+        }
+    }
+
+    /**
+     * The admission of a write, holding its slot in the global limit until it is closed.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean holdsSlot;
+
+        private Permit(boolean holdsSlot) {
+            this.holdsSlot = new AtomicBoolean(holdsSlot);
+        }
+
+        /**
+         * Releases the slot of the write; closing a permit more than once has no further effect.
+         */
+        @Override
+        public void close() {
+            if (holdsSlot.compareAndSet(true, false)) {
+                writes.release();
+            }
+        }
+    }
+}
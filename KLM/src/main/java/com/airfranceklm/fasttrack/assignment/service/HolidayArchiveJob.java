@@ -0,0 +1,66 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Periodically moves the holidays that ended more than `holidays.archive.horizon` ago out of the holiday table,
+ * so that it only holds the holidays still relevant to validation, listing and sync.
+ * Holidays are moved in chunks of `holidays.archive.chunk-size`, each in its own transaction, so the job never
+ * holds locks on a large part of the table and a failure only rolls back the chunk at hand.
+ * The job is created at startup even under lazy initialisation, otherwise it would never be scheduled;
+ * the holiday service it calls is only resolved on its first run.
+ */
+@Component
+@Lazy(false)
+public class HolidayArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayArchiveJob.class);
+
+    private final HolidayService holidayService;
+
+    private final HolidaysProperties holidaysProperties;
+
+    /**
+     * Creates the job.
+     *
+     * @param holidayService The holiday service, resolved on first use.
+     * @param holidaysProperties The application settings.
+     */
+    public HolidayArchiveJob(@Lazy HolidayService holidayService, HolidaysProperties holidaysProperties) {
+        this.holidayService = holidayService;
+        this.holidaysProperties = holidaysProperties;
+    }
+
+    /**
+     * Archives the past holidays every `holidays.archive.interval`, chunk by chunk until none is left.
+     */
+    @Scheduled(fixedDelayString = "${holidays.archive.interval:PT1H}",
+            initialDelayString = "${holidays.archive.interval:PT1H}")
+    public void archivePastHolidays() {
+        HolidaysProperties.Archive settings = holidaysProperties.getArchive();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        if (settings.getHorizon().isNegative()) {
+            logger.error("Not archiving holidays: the archive horizon {} is negative.", settings.getHorizon());
+            return;
+        }
+        OffsetDateTime endedBefore = OffsetDateTime.now(ZoneOffset.UTC).minus(settings.getHorizon());
+        logger.info("Archiving holidays that ended before {}.", endedBefore);
+        long archived = 0;
+        int chunk;
+        do {
+            chunk = holidayService.archiveHolidays(endedBefore, settings.getChunkSize());
+            archived += chunk;
+        } while (chunk == settings.getChunkSize());
+        logger.info("Archived {} holidays.", archived);
+    }
+}
@@ -0,0 +1,108 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidaySyncHorizonRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Monotonically increasing sequence numbering the writes and deletions of holidays, used by the delta sync.
+ * Writes commit in any order, so a client must never be handed a sync token beyond a sequence number still
+ * in flight: it would skip that change once committed. The sequence therefore tracks the numbers allocated
+ * but not yet completed, and only exposes the highest number below all of them as stable.
+ * It also tracks the horizon up to which the tombstones of deleted holidays were pruned: a sync token below it
+ * can no longer be served.
+ */
+@Component
+@DependsOn("holidaySnapshotStore")
+@RequiredArgsConstructor
+public class HolidayChangeSequence {
+
+    private final HolidayRepository holidayRepository;
+
+    private final HolidayTombstoneRepository holidayTombstoneRepository;
+
+    private final HolidaySyncHorizonRepository holidaySyncHorizonRepository;
+
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    private long last;
+
+    private volatile long prunedUpTo;
+
+    /**
+     * Resumes the sequence after the highest number recorded in the database, and the pruning horizon where it was.
+     */
+    @PostConstruct
+    void resume() {
+        last = Math.max(holidayRepository.findMaxChangeSequence(), holidayTombstoneRepository.findMaxChangeSequence());
+        prunedUpTo = holidaySyncHorizonRepository.findPrunedUpTo();
+    }
+
+    /**
+     * Allocates the next sequence number for a write. Inside a transaction, the number is completed
+     * automatically once the transaction commits or rolls back; otherwise the caller must call {@link #complete}.
+     *
+     * @return The allocated sequence number.
+     */
+    public synchronized long next() {
+        long sequence = ++last;
+        inFlight.add(sequence);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(sequence);
+                }
+            });
+        }
+        return sequence;
+    }
+
+    /**
+     * Marks a sequence number as completed, i.e. its write is either committed or abandoned.
+     *
+     * @param sequence The sequence number allocated by {@link #next}.
+     */
+    public void complete(long sequence) {
+        inFlight.remove(sequence);
+    }
+
+    /**
+     * Returns the highest sequence number below which every write is completed.
+     * All changes up to this number are visible to a new read, and none will appear later.
+     *
+     * @return The stable sequence number.
+     */
+    public synchronized long stable() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    /**
+     * Moves the pruning horizon forward, before the tombstones up to it are deleted, so that a sync reading
+     * the tombstones while they are deleted sees the new horizon afterwards. The horizon never moves back.
+     *
+     * @param upTo The highest change sequence of the tombstones about to be pruned.
+     */
+    public synchronized void prune(long upTo) {
+        prunedUpTo = Math.max(prunedUpTo, upTo);
+    }
+
+    /**
+     * Returns the highest change sequence of a pruned tombstone. A sync token below it may have missed deletions
+     * that are no longer recorded.
+     *
+     * @return The pruning horizon, or 0 if no tombstone was ever pruned.
+     */
+    public long prunedUpTo() {
+        return prunedUpTo;
+    }
+}
@@ -0,0 +1,237 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory count of holidays per day and status, used by the coverage endpoint.
+ * The index is a difference array: for every day and status it keeps how many more holidays cover that day than
+ * the day before, so a write only touches the day a holiday starts on and the day after it ends, whatever its
+ * length. Counting the holidays of a range sums the differences up to its first day and then walks the range,
+ * never loading a holiday. The differences are kept in one array per year, along with their total per year,
+ * so the sum up to a day adds one total per earlier year and the differences of its own year.
+ * A holiday covers every day from the date it starts on to the date it ends on; a holiday ending exactly
+ * at midnight does not cover the day it ends on. Archived holidays keep being counted, under the `ARCHIVED` status;
+ * since they never change again, only their counts are kept, not the holidays themselves.
+ */
+@Component
+public class HolidayCoverageIndex {
+
+    private static final int STATUSES = HolidayStatus.values().length;
+
+    private final Map<UUID, Entry> entriesById = new HashMap<>();
+    private final NavigableMap<Integer, YearDifferences> differencesByYear = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the content of the index with the given holidays.
+     *
+     * @param holidays The holidays currently on file.
+     */
+    public void rebuild(Collection<Holiday> holidays) {
+        lock.writeLock().lock();
+        try {
+            entriesById.clear();
+            differencesByYear.clear();
+            for (Holiday holiday : holidays) {
+                insert(toEntry(holiday));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a holiday to the index, replacing any previous version of the same holiday.
+     *
+     * @param holiday The saved holiday.
+     */
+    public void put(Holiday holiday) {
+        Entry entry = toEntry(holiday);
+        lock.writeLock().lock();
+        try {
+            delete(holiday.getHolidayId());
+            insert(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a holiday from the index.
+     *
+     * @param holidayId The ID of the removed holiday.
+     */
+    public void remove(UUID holidayId) {
+        lock.writeLock().lock();
+        try {
+            delete(holidayId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds holidays that are already archived, counted under the `ARCHIVED` status.
+     * Used after {@link #rebuild(Collection)} to load the archive at startup.
+     *
+     * @param archivedHolidays The archived holidays.
+     */
+    public void addArchived(Collection<HolidayDTO> archivedHolidays) {
+        lock.writeLock().lock();
+        try {
+            for (HolidayDTO archivedHoliday : archivedHolidays) {
+                add(toEntry(archivedHoliday.getHolidayId(), HolidayStatus.ARCHIVED,
+                        archivedHoliday.getStartOfHoliday(), archivedHoliday.getEndOfHoliday()), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a holiday that has just been archived under the `ARCHIVED` status instead of its own,
+     * so the days it covered keep their counts.
+     *
+     * @param holidayId The ID of the archived holiday.
+     */
+    public void archive(UUID holidayId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entriesById.remove(holidayId);
+            if (entry != null) {
+                add(entry, -1);
+                add(new Entry(holidayId, HolidayStatus.ARCHIVED, entry.firstDay(), entry.lastDay()), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the holidays covering each day of a range.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param status The status of the holidays to count, or null to count all of them.
+     * @return The number of holidays per day, the first entry being the count of `from`.
+     */
+    public int[] count(LocalDate from, LocalDate to, HolidayStatus status) {
+        int[] counts = new int[(int) (to.toEpochDay() - from.toEpochDay() + 1)];
+        lock.readLock().lock();
+        try {
+            // The number of holidays of each status covering the day before the range
+            int[] covering = new int[STATUSES];
+            for (YearDifferences earlierYear : differencesByYear.headMap(from.getYear(), false).values()) {
+                earlierYear.addTotals(covering);
+            }
+            YearDifferences year = differencesByYear.get(from.getYear());
+            if (year != null) {
+                year.addDifferences(covering, 0, from.getDayOfYear() - 1);
+            }
+
+            LocalDate day = from;
+            for (int i = 0; i < counts.length; i++, day = day.plusDays(1)) {
+                if (day.getDayOfYear() == 1 || i == 0) {
+                    year = differencesByYear.get(day.getYear());
+                }
+                if (year != null) {
+                    year.addDifferences(covering, day.getDayOfYear() - 1, day.getDayOfYear());
+                }
+                counts[i] = status != null ? covering[status.ordinal()] : Arrays.stream(covering).sum();
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Entry entry) {
+        entriesById.put(entry.holidayId(), entry);
+        add(entry, 1);
+    }
+
+    private void delete(UUID holidayId) {
+        Entry entry = entriesById.remove(holidayId);
+        if (entry != null) {
+            add(entry, -1);
+        }
+    }
+
+    private void add(Entry entry, int delta) {
+        addDifference(entry.firstDay(), entry.status(), delta);
+        addDifference(entry.lastDay().plusDays(1), entry.status(), -delta);
+    }
+
+    private void addDifference(LocalDate day, HolidayStatus status, int delta) {
+        differencesByYear.computeIfAbsent(day.getYear(), YearDifferences::new)
+                .add(status.ordinal(), day.getDayOfYear() - 1, delta);
+    }
+
+    private static Entry toEntry(Holiday holiday) {
+        return toEntry(holiday.getHolidayId(), holiday.getStatus(), holiday.getStartOfHoliday(),
+                holiday.getEndOfHoliday());
+    }
+
+    private static Entry toEntry(UUID holidayId, HolidayStatus status, OffsetDateTime start, OffsetDateTime end) {
+        LocalDate lastDay = end.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? end.toLocalDate().minusDays(1)
+                : end.toLocalDate();
+        return new Entry(holidayId, status, start.toLocalDate(), lastDay);
+    }
+
+    /**
+     * The differences of one year, per status and day of the year, and their total per status.
+     */
+    private static final class YearDifferences {
+
+        private final int[][] differences;
+
+        private final int[] totals = new int[STATUSES];
+
+        private YearDifferences(int year) {
+            this.differences = new int[STATUSES][Year.of(year).length()];
+        }
+
+        private void add(int status, int dayIndex, int delta) {
+            differences[status][dayIndex] += delta;
+            totals[status] += delta;
+        }
+
+        private void addTotals(int[] covering) {
+            for (int status = 0; status < STATUSES; status++) {
+                covering[status] += totals[status];
+            }
+        }
+
+        private void addDifferences(int[] covering, int fromDayIndex, int toDayIndex) {
+            for (int status = 0; status < STATUSES; status++) {
+                for (int dayIndex = fromDayIndex; dayIndex < toDayIndex; dayIndex++) {
+                    covering[status] += differences[status][dayIndex];
+                }
+            }
+        }
+    }
+
+    /**
+     * A holiday as stored in the index: the days it covers and its status.
+     */
+    private record Entry(UUID holidayId, HolidayStatus status, LocalDate firstDay, LocalDate lastDay) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset pagination cursor: the (startOfHoliday, holidayId) of the last holiday of a page.
+ * It is handed to clients as an opaque URL-safe string.
+ *
+ * @param startOfHoliday The start date of the last holiday returned.
+ * @param holidayId The ID of the last holiday returned.
+ */
+record HolidayCursor(OffsetDateTime startOfHoliday, UUID holidayId) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds the cursor pointing just after the given holiday.
+     *
+     * @param holiday The last holiday of a page.
+     * @return The cursor.
+     */
+    static HolidayCursor after(HolidayDTO holiday) {
+        return new HolidayCursor(holiday.getStartOfHoliday(), holiday.getHolidayId());
+    }
+
+    /**
+     * Decodes a cursor received from a client.
+     *
+     * @param cursor The opaque cursor.
+     * @return The decoded cursor.
+     * @throws InvalidHolidayException If the cursor was not produced by {@link #encode()}.
+     */
+    static HolidayCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidHolidayException(HolidayRejectionReason.INVALID_CURSOR, "Invalid cursor");
+            }
+            return new HolidayCursor(OffsetDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_CURSOR, "Invalid cursor", ex);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return The encoded cursor.
+     */
+    String encode() {
+        String value = startOfHoliday + SEPARATOR + holidayId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
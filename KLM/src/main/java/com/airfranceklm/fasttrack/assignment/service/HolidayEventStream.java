@@ -0,0 +1,210 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes holiday changes to the clients subscribed to the holiday event stream, as Server-Sent Events.
+ * An idle subscriber holds no thread, only its emitter and an empty queue. Each subscriber has a bounded queue
+ * of pending events, drained on a virtual thread only while it has events; a subscriber whose queue is full is
+ * disconnected, so a slow client never holds up the writes or the other subscribers, and has to resync through
+ * the changes endpoint when it reconnects.
+ * The reactive stack subscribes through {@link #events} instead, with the same per-subscriber bound.
+ */
+@Component
+public class HolidayEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayEventStream.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Multicasts the events to the reactive subscribers; each of them buffers its own pending events.
+     */
+    private final Sinks.Many<HolidayEventDTO> reactiveEvents = Sinks.many().multicast().directBestEffort();
+
+    private final HolidaysProperties holidaysProperties;
+
+    private final ExecutorService executor;
+
+    /**
+     * Creates the stream, delivering the events on virtual threads.
+     *
+     * @param holidaysProperties The application settings.
+     */
+    @Autowired
+    public HolidayEventStream(HolidaysProperties holidaysProperties) {
+        this(holidaysProperties, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates the stream, delivering the events on the given executor.
+     *
+     * @param holidaysProperties The application settings.
+     * @param executor The executor delivering the events.
+     */
+    HolidayEventStream(HolidaysProperties holidaysProperties, ExecutorService executor) {
+        this.holidaysProperties = holidaysProperties;
+        this.executor = executor;
+    }
+
+    /**
+     * Opens a subscription to the holiday changes.
+     *
+     * @param employeeId The ID of the employee whose holiday changes are pushed, or null for all changes.
+     * @return The emitter of the subscription.
+     */
+    public SseEmitter subscribe(String employeeId) {
+        SseEmitter emitter = new SseEmitter(holidaysProperties.getStream().getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, employeeId,
+                new LinkedBlockingQueue<>(holidaysProperties.getStream().getBufferSize()));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        logger.info("Opened a holiday event subscription for employee {}, {} subscriptions open.",
+                employeeId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Opens a reactive subscription to the holiday changes. As with {@link #subscribe}, up to the configured number
+     * of events are buffered for the subscriber; one falling further behind gets an error, which ends its stream,
+     * and the subscription ends after the configured timeout.
+     *
+     * @param employeeId The ID of the employee whose holiday changes are pushed, or null for all changes.
+     * @return The holiday changes, as they are committed.
+     */
+    public Flux<HolidayEventDTO> events(String employeeId) {
+        int bufferSize = holidaysProperties.getStream().getBufferSize();
+        return reactiveEvents.asFlux()
+                .filter(event -> employeeId == null || employeeId.equals(event.getEmployeeId()))
+                .onBackpressureBuffer(bufferSize, event -> logger.info(
+                        "Disconnected a holiday event subscription of employee {} that fell {} events behind.",
+                        employeeId, bufferSize), BufferOverflowStrategy.ERROR)
+                .take(holidaysProperties.getStream().getTimeout())
+                .doOnSubscribe(subscription -> logger.info(
+                        "Opened a reactive holiday event subscription for employee {}.", employeeId));
+    }
+
+    /**
+     * Pushes a holiday change to the matching subscribers. Inside a transaction, the change is pushed only once
+     * it commits, so that subscribers never see a change that is rolled back.
+     *
+     * @param event The holiday change.
+     */
+    public void publish(HolidayEventDTO event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(event);
+                }
+            });
+        } else {
+            publishNow(event);
+        }
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return The number of subscribers.
+     */
+    public int subscriberCount() {
+        return subscribers.size() + reactiveEvents.currentSubscriberCount();
+    }
+
+    /**
+     * Stops delivering events when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void publishNow(HolidayEventDTO event) {
+        // The sink rejects concurrent emissions, and without subscribers the event is simply dropped
+        synchronized (reactiveEvents) {
+            reactiveEvents.tryEmitNext(event);
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.employeeId() != null && !subscriber.employeeId().equals(event.getEmployeeId())) {
+                continue;
+            }
+            if (subscriber.queue().offer(event)) {
+                scheduleDelivery(subscriber);
+            } else {
+                evict(subscriber);
+            }
+        }
+    }
+
+    private void scheduleDelivery(Subscriber subscriber) {
+        if (subscriber.delivering().compareAndSet(false, true)) {
+            executor.execute(() -> deliver(subscriber));
+        }
+    }
+
+    /**
+     * Sends the pending events of a subscriber. At most one delivery runs per subscriber at a time,
+     * which keeps its events in order.
+     */
+    private void deliver(Subscriber subscriber) {
+        HolidayEventDTO event;
+        try {
+            while ((event = subscriber.queue().poll()) != null) {
+                subscriber.emitter().send(SseEmitter.event().name(event.getType().name()).data(event));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            logger.info("Dropped a holiday event subscription that could not be written to: {}", ex.getMessage());
+            subscribers.remove(subscriber);
+            return;
+        }
+        subscriber.delivering().set(false);
+        // An event queued after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!subscriber.queue().isEmpty()) {
+            scheduleDelivery(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            logger.info("Disconnected a holiday event subscription of employee {} that fell {} events behind.",
+                    subscriber.employeeId(), holidaysProperties.getStream().getBufferSize());
+            // Completing waits for a send in progress, so it is done off the publishing thread
+            executor.execute(() -> subscriber.emitter().complete());
+        }
+    }
+
+    /**
+     * A subscription: its emitter, its employee filter and its pending events.
+     */
+    private record Subscriber(SseEmitter emitter, String employeeId, BlockingQueue<HolidayEventDTO> queue,
+                              AtomicBoolean delivering) {
+
+        private Subscriber(SseEmitter emitter, String employeeId, BlockingQueue<HolidayEventDTO> queue) {
+            this(emitter, employeeId, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Remembers the holiday creations sent with an idempotency key, so that a client retrying a creation
+ * is answered with the holiday created by its first attempt instead of running the validation again.
+ * A retry arriving while the first attempt is still running waits for its outcome rather than racing it,
+ * for at most the configured time, after which it is told to try again later.
+ * Only successful creations are remembered: a failed attempt releases its key, so the client can retry it.
+ * The store is bounded in size and every key expires after the configured time to live.
+ */
+@Component
+public class HolidayIdempotencyStore {
+
+    /**
+     * The longest idempotency key accepted.
+     */
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+
+    private final Duration awaitTimeout;
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates the store, bounded by the idempotency settings, and publishes its statistics.
+     *
+     * @param holidaysProperties The application settings.
+     * @param meterRegistry The registry the hit, miss and eviction statistics are published to.
+     */
+    public HolidayIdempotencyStore(HolidaysProperties holidaysProperties, MeterRegistry meterRegistry) {
+        HolidaysProperties.Idempotency idempotency = holidaysProperties.getIdempotency();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(idempotency.getMaxSize())
+                .expireAfterWrite(idempotency.getTtl())
+                .recordStats()
+                .build();
+        this.awaitTimeout = idempotency.getAwaitTimeout();
+        this.retryAfter = holidaysProperties.getAdmission().getBusyRetryAfter();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "holidayIdempotency");
+    }
+
+    /**
+     * Claims an idempotency key for a holiday creation.
+     * The first request with the key owns it and has to complete or fail the claim; a later request
+     * with the same key and the same holiday gets a replay of the first request's outcome.
+     *
+     * @param idempotencyKey The idempotency key sent by the client.
+     * @param holidayDTO The holiday to be created.
+     * @return The claim on the key.
+     * @throws InvalidHolidayException If the key is blank or too long, or was used for a different holiday.
+     */
+    public Claim claim(String idempotencyKey, HolidayDTO holidayDTO) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_IDEMPOTENCY_KEY,
+                    "Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        // The request is copied, so that a later change to the DTO cannot make a retry look different
+        Entry claimed = new Entry(copyOf(holidayDTO), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(idempotencyKey, claimed);
+        if (existing == null) {
+            return new Claim(idempotencyKey, claimed, false);
+        }
+        if (!existing.request().equals(holidayDTO)) {
+            throw new InvalidHolidayException(HolidayRejectionReason.IDEMPOTENCY_KEY_REUSED,
+                    "Idempotency key already used for a different holiday");
+        }
+        return new Claim(idempotencyKey, existing, true);
+    }
+
+    /**
+     * Returns the number of idempotency keys currently remembered.
+     *
+     * @return The number of keys.
+     */
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static HolidayDTO copyOf(HolidayDTO holidayDTO) {
+        return new HolidayDTO(holidayDTO.getHolidayId(), holidayDTO.getHolidayLabel(), holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), holidayDTO.getStatus());
+    }
+
+    /**
+     * A remembered creation: the holiday requested and the outcome of its first attempt.
+     *
+     * @param request The holiday requested with the key.
+     * @param response The holiday created, completed once the first attempt has finished.
+     */
+    private record Entry(HolidayDTO request, CompletableFuture<HolidayDTO> response) {
+    }
+
+    /**
+     * A claim on an idempotency key: either the ownership of a new key or the replay of an earlier request.
+     */
+    public final class Claim {
+
+        private final String idempotencyKey;
+
+        private final Entry entry;
+
+        private final boolean replay;
+
+        private Claim(String idempotencyKey, Entry entry, boolean replay) {
+            this.idempotencyKey = idempotencyKey;
+            this.entry = entry;
+            this.replay = replay;
+        }
+
+        /**
+         * Returns whether the key was already claimed, in which case the request must not be run again.
+         *
+         * @return True for a replay, false for the owner of the key.
+         */
+        public boolean isReplay() {
+            return replay;
+        }
+
+        /**
+         * Waits for the outcome of the first request with the key, which is immediate once it has finished.
+         *
+         * @return The holiday created by the first request.
+         * @throws HolidayAdmissionException If the first request is still running after the await timeout.
+         * @throws RuntimeException The exception the first request failed with.
+         */
+        public HolidayDTO awaitResponse() {
+            try {
+                return entry.response().get(awaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new CompletionException(ex.getCause());
+            } catch (TimeoutException ex) {
+                throw stillRunning();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw stillRunning();
+            }
+        }
+
+        /**
+         * Returns the outcome of the first request with the key, for callers that must not block.
+         * Cancelling the returned future does not affect the outcome seen by the other requests.
+         *
+         * @return The future holiday created by the first request, failed with a HolidayAdmissionException
+         * if the first request is still running after the await timeout.
+         */
+        public CompletableFuture<HolidayDTO> response() {
+            return entry.response().copy()
+                    .orTimeout(awaitTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .exceptionallyCompose(ex -> CompletableFuture.failedFuture(
+                            ex instanceof TimeoutException ? stillRunning() : ex));
+        }
+
+        /**
+         * Records the holiday created by the owner of the key, answering the waiting and later retries.
+         *
+         * @param createdHoliday The holiday created.
+         */
+        public void complete(HolidayDTO createdHoliday) {
+            entry.response().complete(createdHoliday);
+        }
+
+        /**
+         * Records that the owner of the key failed: the waiting retries fail with the same exception
+         * and the key is released, so that a later retry runs the creation again.
+         *
+         * @param failure The exception the creation failed with.
+         */
+        public void fail(Throwable failure) {
+            entries.asMap().remove(idempotencyKey, entry);
+            entry.response().completeExceptionally(failure);
+        }
+
+        private HolidayAdmissionException stillRunning() {
+            return new HolidayAdmissionException(
+                    "A request with this idempotency key is still running, try again later", retryAfter);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval index over all holidays, used by the overlap and gap validation rules.
+ * Holidays are kept ordered by start and by end, so both rules are answered with a range lookup
+ * instead of a scan over every holiday on file. Periods are held as UTC epoch seconds, so the lookups compare
+ * primitive longs and never normalise offsets or allocate temporal objects.
+ * A period is claimed by validating it and inserting it in one step under the write lock (see {@link #claim}),
+ * so two concurrent requests can never both pass validation for conflicting periods.
+ */
+@Component
+public class HolidayIntervalIndex {
+
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID HIGHEST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final Comparator<Entry> BY_START = Comparator.comparingLong(Entry::start)
+            .thenComparing(Entry::holidayId);
+    private static final Comparator<Entry> BY_END = Comparator.comparingLong(Entry::end)
+            .thenComparing(Entry::holidayId);
+
+    private final Map<UUID, Entry> entriesById = new HashMap<>();
+    private final NavigableSet<Entry> entriesByStart = new TreeSet<>(BY_START);
+    private final NavigableSet<Entry> entriesByEnd = new TreeSet<>(BY_END);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The length in seconds of the longest holiday ever indexed. Any holiday overlapping a window must start
+     * at most this long before the window, which bounds the range scanned by {@link #overlaps}.
+     */
+    private long longestHoliday;
+
+    /**
+     * Replaces the content of the index with the given holidays.
+     *
+     * @param holidays The holidays currently on file.
+     */
+    public void rebuild(Collection<Holiday> holidays) {
+        lock.writeLock().lock();
+        try {
+            entriesById.clear();
+            entriesByStart.clear();
+            entriesByEnd.clear();
+            longestHoliday = 0;
+            for (Holiday holiday : holidays) {
+                insert(new Entry(holiday.getHolidayId(), holiday.getEmployeeId(),
+                        holiday.getStartOfHoliday().toEpochSecond(), holiday.getEndOfHoliday().toEpochSecond()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a holiday to the index, replacing any previous version of the same holiday.
+     *
+     * @param holiday The saved holiday.
+     */
+    public void put(Holiday holiday) {
+        put(holiday.getHolidayId(), holiday.getEmployeeId(), holiday.getStartOfHoliday(), holiday.getEndOfHoliday());
+    }
+
+    /**
+     * Adds a holiday to the index, replacing any previous version of the same holiday.
+     *
+     * @param holidayId The ID of the holiday.
+     * @param employeeId The ID of the employee taking the holiday.
+     * @param start The start date of the holiday.
+     * @param end The end date of the holiday.
+     */
+    public void put(UUID holidayId, String employeeId, OffsetDateTime start, OffsetDateTime end) {
+        Entry entry = new Entry(holidayId, employeeId, start.toEpochSecond(), end.toEpochSecond());
+        lock.writeLock().lock();
+        try {
+            delete(holidayId);
+            insert(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Validates a period and reserves it in the index in a single atomic step. The validation runs under
+     * the write lock, against the index itself, so a concurrent claim of a conflicting period either sees
+     * this one or is seen by it. The lock is held only for the in-memory lookups, never for database work.
+     * The returned claim must be confirmed once the holiday is saved, or released if it is not.
+     *
+     * @param holidayId The ID of the holiday, or a provisional one for a holiday not saved yet.
+     * @param employeeId The ID of the employee taking the holiday.
+     * @param start The start date of the holiday.
+     * @param end The end date of the holiday.
+     * @param validation The validation rules, throwing to reject the period.
+     * @return The claim on the period.
+     */
+    public Claim claim(UUID holidayId, String employeeId, OffsetDateTime start, OffsetDateTime end,
+                       Consumer<HolidayIntervalIndex> validation) {
+        Entry entry = new Entry(holidayId, employeeId, start.toEpochSecond(), end.toEpochSecond());
+        lock.writeLock().lock();
+        try {
+            validation.accept(this);
+            Entry previous = delete(holidayId);
+            insert(entry);
+            return new Claim(entry, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a holiday from the index.
+     *
+     * @param holidayId The ID of the removed holiday.
+     */
+    public void remove(UUID holidayId) {
+        lock.writeLock().lock();
+        try {
+            delete(holidayId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the employee of an indexed holiday.
+     *
+     * @param holidayId The ID of the holiday.
+     * @return The ID of the employee taking the holiday, or empty if the holiday is not indexed.
+     */
+    public Optional<String> findEmployeeId(UUID holidayId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entriesById.get(holidayId)).map(Entry::employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether an indexed holiday covers exactly the given period.
+     *
+     * @param holidayId The ID of the holiday.
+     * @param start The start of the period, in UTC epoch seconds.
+     * @param end The end of the period, in UTC epoch seconds.
+     * @return true if the holiday is indexed with this period, false if it is not indexed or has another period.
+     */
+    public boolean hasPeriod(UUID holidayId, long start, long end) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entriesById.get(holidayId);
+            return entry != null && entry.start() == start && entry.end() == end;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether any indexed holiday overlaps the given period.
+     *
+     * @param start The start of the period.
+     * @param end The end of the period.
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return true if an indexed holiday overlaps the period, false otherwise.
+     */
+    public boolean overlaps(OffsetDateTime start, OffsetDateTime end, UUID excludedHolidayId) {
+        return overlaps(start.toEpochSecond(), end.toEpochSecond(), excludedHolidayId);
+    }
+
+    /**
+     * Checks whether any indexed holiday overlaps the given period.
+     *
+     * @param start The start of the period, in UTC epoch seconds.
+     * @param end The end of the period, in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return true if an indexed holiday overlaps the period, false otherwise.
+     */
+    public boolean overlaps(long start, long end, UUID excludedHolidayId) {
+        lock.readLock().lock();
+        try {
+            // Only holidays starting within [start - longest holiday, end) can reach into the period
+            Entry lower = new Entry(LOWEST_ID, null, start - longestHoliday, Long.MIN_VALUE);
+            Entry upper = new Entry(LOWEST_ID, null, end, Long.MIN_VALUE);
+            if (BY_START.compare(lower, upper) >= 0) {
+                return false;
+            }
+            for (Entry entry : entriesByStart.subSet(lower, true, upper, false)) {
+                if (!Objects.equals(entry.holidayId(), excludedHolidayId) && entry.end() > start) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether any indexed holiday ends strictly between the two given moments.
+     *
+     * @param from The lower bound (exclusive).
+     * @param to The upper bound (exclusive).
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return true if an indexed holiday ends within the bounds, false otherwise.
+     */
+    public boolean endsBetween(OffsetDateTime from, OffsetDateTime to, UUID excludedHolidayId) {
+        return endsBetween(from.toEpochSecond(), to.toEpochSecond(), excludedHolidayId);
+    }
+
+    /**
+     * Checks whether any indexed holiday ends strictly between the two given moments.
+     *
+     * @param from The lower bound (exclusive), in UTC epoch seconds.
+     * @param to The upper bound (exclusive), in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return true if an indexed holiday ends within the bounds, false otherwise.
+     */
+    public boolean endsBetween(long from, long to, UUID excludedHolidayId) {
+        lock.readLock().lock();
+        try {
+            Entry lower = new Entry(HIGHEST_ID, null, Long.MIN_VALUE, from);
+            Entry upper = new Entry(LOWEST_ID, null, Long.MIN_VALUE, to);
+            if (BY_END.compare(lower, upper) >= 0) {
+                return false;
+            }
+            for (Entry entry : entriesByEnd.subSet(lower, false, upper, false)) {
+                if (!Objects.equals(entry.holidayId(), excludedHolidayId)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the latest end of the indexed holidays overlapping the given period.
+     *
+     * @param start The start of the period, in UTC epoch seconds.
+     * @param end The end of the period, in UTC epoch seconds.
+     * @return The latest end, in UTC epoch seconds, or empty if no indexed holiday overlaps the period.
+     */
+    public OptionalLong latestEndOverlapping(long start, long end) {
+        lock.readLock().lock();
+        try {
+            // Only holidays starting within [start - longest holiday, end) can reach into the period
+            Entry lower = new Entry(LOWEST_ID, null, start - longestHoliday, Long.MIN_VALUE);
+            Entry upper = new Entry(LOWEST_ID, null, end, Long.MIN_VALUE);
+            if (BY_START.compare(lower, upper) >= 0) {
+                return OptionalLong.empty();
+            }
+            long latestEnd = Long.MIN_VALUE;
+            for (Entry entry : entriesByStart.subSet(lower, true, upper, false)) {
+                if (entry.end() > start) {
+                    latestEnd = Math.max(latestEnd, entry.end());
+                }
+            }
+            return latestEnd == Long.MIN_VALUE ? OptionalLong.empty() : OptionalLong.of(latestEnd);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the latest end of the indexed holidays ending strictly between the two given moments.
+     *
+     * @param from The lower bound (exclusive), in UTC epoch seconds.
+     * @param to The upper bound (exclusive), in UTC epoch seconds.
+     * @return The latest end, in UTC epoch seconds, or empty if no indexed holiday ends within the bounds.
+     */
+    public OptionalLong latestEndBetween(long from, long to) {
+        lock.readLock().lock();
+        try {
+            Entry lower = new Entry(HIGHEST_ID, null, Long.MIN_VALUE, from);
+            Entry upper = new Entry(LOWEST_ID, null, Long.MIN_VALUE, to);
+            if (BY_END.compare(lower, upper) >= 0) {
+                return OptionalLong.empty();
+            }
+            NavigableSet<Entry> ending = entriesByEnd.subSet(lower, false, upper, false);
+            return ending.isEmpty() ? OptionalLong.empty() : OptionalLong.of(ending.last().end());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs several lookups against one consistent state of the index: no holiday is added or removed
+     * while they run.
+     *
+     * @param lookups The lookups, given the index.
+     * @param <T> The type of the result of the lookups.
+     * @return The result of the lookups.
+     */
+    public <T> T read(Function<HolidayIntervalIndex, T> lookups) {
+        lock.readLock().lock();
+        try {
+            return lookups.apply(this);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed holidays.
+     *
+     * @return The size of the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Entry entry) {
+        entriesById.put(entry.holidayId(), entry);
+        entriesByStart.add(entry);
+        entriesByEnd.add(entry);
+
+        longestHoliday = Math.max(longestHoliday, entry.end() - entry.start());
+    }
+
+    private Entry delete(UUID holidayId) {
+        Entry entry = entriesById.remove(holidayId);
+        if (entry != null) {
+            entriesByStart.remove(entry);
+            entriesByEnd.remove(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * A period reserved by {@link #claim}, pending the save of its holiday.
+     */
+    public final class Claim {
+
+        private final Entry claimed;
+
+        private final Entry previous;
+
+        private Claim(Entry claimed, Entry previous) {
+            this.claimed = claimed;
+            this.previous = previous;
+        }
+
+        /**
+         * Keeps the period in the index once its holiday is saved, under the ID the holiday was saved with.
+         *
+         * @param holidayId The ID of the saved holiday.
+         */
+        public void confirm(UUID holidayId) {
+            lock.writeLock().lock();
+            try {
+                if (entriesById.get(claimed.holidayId()) == claimed) {
+                    delete(claimed.holidayId());
+                }
+                delete(holidayId);
+                insert(new Entry(holidayId, claimed.employeeId(), claimed.start(), claimed.end()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Gives the period up because its holiday was not saved, restoring the previous period of the holiday if any.
+         */
+        public void release() {
+            lock.writeLock().lock();
+            try {
+                if (entriesById.get(claimed.holidayId()) == claimed) {
+                    delete(claimed.holidayId());
+                    if (previous != null) {
+                        insert(previous);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * A holiday as stored in the index: only the fields needed by the validation rules,
+     * with the start and end in UTC epoch seconds.
+     */
+    record Entry(UUID holidayId, String employeeId, long start, long end) {
+    }
+}
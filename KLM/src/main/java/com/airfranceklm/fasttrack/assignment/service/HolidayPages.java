@@ -0,0 +1,52 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+
+import java.util.List;
+
+/**
+ * Keyset pagination helpers shared by the servlet and the reactive holiday services.
+ * Pages are fetched with one extra row, which tells whether a next page exists.
+ */
+final class HolidayPages {
+
+    private HolidayPages() {
+    }
+
+    /**
+     * Resolves the page size to use, falling back to the default and capping it to the configured maximum.
+     *
+     * @param pagination The pagination settings.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The page size to use.
+     * @throws InvalidHolidayException If the requested page size is not positive.
+     */
+    static int resolvePageSize(HolidaysProperties.Pagination pagination, Integer limit) {
+        if (limit == null) {
+            return pagination.getDefaultPageSize();
+        }
+        if (limit < 1) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_PAGE_SIZE,
+                    "Page size must be at least 1");
+        }
+        return Math.min(limit, pagination.getMaxPageSize());
+    }
+
+    /**
+     * Builds a page from holidays fetched with one extra row, which tells whether a next page exists.
+     *
+     * @param holidays The holidays fetched, at most pageSize + 1 of them.
+     * @param pageSize The page size.
+     * @return The page, with a next cursor if more holidays follow.
+     */
+    static HolidayPageDTO toPage(List<HolidayDTO> holidays, int pageSize) {
+        boolean hasNextPage = holidays.size() > pageSize;
+        List<HolidayDTO> pageHolidays = hasNextPage ? holidays.subList(0, pageSize) : holidays;
+        String nextCursor = hasNextPage ? HolidayCursor.after(pageHolidays.get(pageSize - 1)).encode() : null;
+        return new HolidayPageDTO(List.copyOf(pageHolidays), nextCursor);
+    }
+}
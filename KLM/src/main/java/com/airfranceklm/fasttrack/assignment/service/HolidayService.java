@@ -1,7 +1,17 @@
 package com.airfranceklm.fasttrack.assignment.service;
 
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayChangesDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,11 +22,13 @@ import java.util.UUID;
 public interface HolidayService {
 
     /**
-     * Retrieves all holidays.
+     * Retrieves one page of all holidays, ordered by start date.
      *
-     * @return List of all holidays as HolidayDTO objects.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of holidays.
      */
-    List<HolidayDTO> getAllHolidays();
+    HolidayPageDTO getAllHolidays(String cursor, Integer limit);
 
     /**
      * Retrieves a holiday by its unique ID.
@@ -34,6 +46,15 @@ public interface HolidayService {
      */
     HolidayDTO createHoliday(HolidayDTO holidayDTO);
 
+    /**
+     * Creates a batch of holidays, validating them against the existing holidays and against each other.
+     * Invalid holidays are reported without preventing the valid ones from being created.
+     *
+     * @param holidayDTOs The holidays to be created.
+     * @return The outcome of each holiday, in the order of the batch.
+     */
+    List<HolidayBatchResultDTO> createHolidays(List<HolidayDTO> holidayDTOs);
+
     /**
      * Deletes a holiday by its unique ID.
      *
@@ -50,5 +71,80 @@ public interface HolidayService {
      */
     HolidayDTO updateHoliday(UUID holidayId, HolidayDTO holidayDTO);
 
-    List<HolidayDTO> getMyHolidays(String employeeId);
+    /**
+     * Retrieves one page of the holidays of an employee, ordered by start date.
+     *
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of the employee's holidays.
+     */
+    HolidayPageDTO getMyHolidays(String employeeId, String cursor, Integer limit);
+
+    /**
+     * Writes all holidays to the given stream as newline-delimited JSON (one HolidayDTO per line).
+     * Holidays are streamed from the database, so memory use does not depend on the number of holidays.
+     *
+     * @param outputStream The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    void exportHolidays(OutputStream outputStream) throws IOException;
+
+    /**
+     * Counts the holidays covering each day of a range, i.e. the number of people off on each day.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param status The status of the holidays to count, or null to count all of them.
+     * @return The number of holidays of each day of the range, in date order.
+     */
+    List<HolidayCoverageDTO> getCoverage(LocalDate from, LocalDate to, HolidayStatus status);
+
+    /**
+     * Finds the earliest period in which an employee can take a holiday of the given length,
+     * i.e. the first one that meets the lead-time, overlap and gap rules.
+     *
+     * @param employeeId The ID of the employee.
+     * @param days The length of the holiday, in days.
+     * @param after The first day the holiday may start on, or null for today.
+     * @return The earliest period available.
+     */
+    HolidaySlotDTO findNextSlot(String employeeId, int days, LocalDate after);
+
+    /**
+     * Retrieves the holidays written and deleted since a sync token.
+     *
+     * @param since The sync token returned by the previous call, or null to sync from scratch.
+     * @param limit The maximum number of changes to return, or null for the default page size.
+     * @return The changes and the token to pass to the next call.
+     */
+    HolidayChangesDTO getChanges(String since, Integer limit);
+
+    /**
+     * Retrieves one page of the archived holidays, of all employees or of one, ordered by start date.
+     *
+     * @param employeeId The ID of the employee, or null for the archived holidays of all employees.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of archived holidays.
+     */
+    HolidayPageDTO getArchivedHolidays(String employeeId, String cursor, Integer limit);
+
+    /**
+     * Moves one chunk of the holidays that ended before a point in time to the archive.
+     *
+     * @param endedBefore The point in time before which holidays must have ended to be archived.
+     * @param chunkSize The maximum number of holidays to archive.
+     * @return The number of holidays archived; fewer than chunkSize once no holiday is left to archive.
+     */
+    int archiveHolidays(OffsetDateTime endedBefore, int chunkSize);
+
+    /**
+     * Deletes the tombstones of the holidays deleted before a point in time, and every tombstone recorded
+     * before them in the change sequence.
+     *
+     * @param deletedBefore The point in time before which holidays must have been deleted.
+     * @return The number of tombstones deleted.
+     */
+    int pruneTombstones(OffsetDateTime deletedBefore);
 }
@@ -1,19 +1,60 @@
 package com.airfranceklm.fasttrack.assignment.service;
 
+import com.airfranceklm.fasttrack.assignment.config.CacheConfig;
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayChangesDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
 import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
 import com.airfranceklm.fasttrack.assignment.mapper.HolidayMapper;
+import com.airfranceklm.fasttrack.assignment.repository.ArchivedHolidayRepository;
 import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidaySyncHorizonRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayTombstoneRepository;
 import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidaySyncHorizon;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import com.airfranceklm.fasttrack.assignment.service.HolidayValidationRules.ValidationBounds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the HolidayService interface.
@@ -21,42 +62,104 @@ import java.util.UUID;
  * minimum lead time, and gap between holidays.
  */
 @Service
+@DependsOn("holidaySnapshotStore")
 @RequiredArgsConstructor
 public class HolidayServiceImpl implements HolidayService {
 
     private static final Logger logger = LoggerFactory.getLogger(HolidayServiceImpl.class);
 
+    private static final String VALIDATION_ROWS_SUMMARY = "holidays.validation.rows";
+
+    private static final int MAX_SLOT_DAYS = 366;
+
     private final HolidayRepository holidayRepository;
 
+    private final HolidayIntervalIndex holidayIntervalIndex;
+
+    private final HolidayCoverageIndex holidayCoverageIndex;
+
+    private final HolidayValidationRules holidayValidationRules;
+
+    private final HolidaysProperties holidaysProperties;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final CacheManager cacheManager;
+
+    private final HolidayVersions holidayVersions;
+
+    private final HolidayTombstoneRepository holidayTombstoneRepository;
+
+    private final HolidaySyncHorizonRepository holidaySyncHorizonRepository;
+
+    private final HolidayChangeSequence holidayChangeSequence;
+
+    private final MeterRegistry meterRegistry;
+
+    private final HolidayEventStream holidayEventStream;
+
+    private final ArchivedHolidayRepository archivedHolidayRepository;
+
     /**
-     * Retrieves all holidays and converts them to HolidayDTOs.
+     * Loads the existing holidays into the interval and coverage indexes once, at startup,
+     * so that validation and coverage never have to read the whole table again.
+     * The coverage index also counts the archived holidays, so coverage does not drop once holidays are archived.
+     */
+    @PostConstruct
+    void loadHolidayIndex() {
+        List<Holiday> holidays = holidayRepository.findAll();
+        holidayIntervalIndex.rebuild(holidays);
+        holidayCoverageIndex.rebuild(holidays);
+        holidayCoverageIndex.addArchived(archivedHolidayRepository.findAllDTOs());
+        logger.info("Indexed {} existing holidays.", holidayIntervalIndex.size());
+    }
+
+    /**
+     * Retrieves one page of all holidays, ordered by start date, projected straight into HolidayDTOs.
      *
-     * @return List of all holidays as HolidayDTOs.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of holidays.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
      */
     @Override
-    public List<HolidayDTO> getAllHolidays() {
-        logger.info("Fetching all holidays.");
-        List<HolidayDTO> holidays = holidayRepository.findAll().stream()
-                .map(HolidayMapper::toDTO)
-                .toList();
-        logger.info("Fetched {} holidays.", holidays.size());
-        return holidays;
+    public HolidayPageDTO getAllHolidays(String cursor, Integer limit) {
+        logger.info("Fetching a page of holidays.");
+        int pageSize = HolidayPages.resolvePageSize(holidaysProperties.getPagination(), limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<HolidayDTO> holidays;
+        if (cursor == null) {
+            holidays = holidayRepository.findFirstPage(fetchLimit);
+        } else {
+            HolidayCursor after = HolidayCursor.decode(cursor);
+            holidays = holidayRepository.findPageAfter(after.startOfHoliday().toEpochSecond(), after.holidayId(),
+                    fetchLimit);
+        }
+        HolidayPageDTO page = HolidayPages.toPage(holidays, pageSize);
+        logger.info("Fetched {} holidays.", page.getHolidays().size());
+        return page;
     }
 
     /**
-     * Retrieves a holiday by its unique ID and converts it to a HolidayDTO.
+     * Retrieves a holiday by its unique ID, projected straight into a HolidayDTO.
+     * The result is cached until the holiday is updated or deleted.
      *
      * @param holidayId The ID of the holiday.
      * @return The requested holiday as a HolidayDTO.
      * @throws InvalidHolidayException If the holiday is not found.
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.HOLIDAY_BY_ID, key = "#holidayId")
     public HolidayDTO getHolidayById(UUID holidayId) {
         logger.info("Fetching holiday with ID: {}", holidayId);
         try {
-            HolidayDTO holiday = holidayRepository.findById(holidayId)
-                    .map(HolidayMapper::toDTO)
-                    .orElseThrow(() -> new InvalidHolidayException("Holiday not found"));
+            HolidayDTO holiday = holidayRepository.findDTOById(holidayId)
+                    .orElseThrow(() -> new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                            "Holiday not found"));
             logger.info("Successfully fetched holiday with ID: {}", holidayId);
             return holiday;
         } catch (InvalidHolidayException ex) {
@@ -76,28 +179,155 @@ public class HolidayServiceImpl implements HolidayService {
     @Override
     public HolidayDTO createHoliday(HolidayDTO holidayDTO) {
         logger.info("Creating new holiday with label: {}", holidayDTO.getHolidayLabel());
-        validateHoliday(holidayDTO);
+        // Holidays have no ID until they are inserted, so the period is claimed under a provisional one
+        HolidayIntervalIndex.Claim claim = claimHoliday(UUID.randomUUID(), holidayDTO, null);
 
         Holiday holiday = HolidayMapper.toEntity(holidayDTO);
-        Holiday savedHoliday = holidayRepository.save(holiday);
+        long changeSequence = holidayChangeSequence.next();
+        holiday.setChangeSequence(changeSequence);
+        Holiday savedHoliday;
+        try {
+            savedHoliday = holidayRepository.save(holiday);
+        } catch (RuntimeException ex) {
+            claim.release();
+            throw ex;
+        } finally {
+            holidayChangeSequence.complete(changeSequence);
+        }
+        claim.confirm(savedHoliday.getHolidayId());
+        holidayCoverageIndex.put(savedHoliday);
+        HolidayDTO savedHolidayDTO = HolidayMapper.toDTO(savedHoliday);
+        recordHolidayChange(HolidayEventType.CREATED, savedHoliday.getHolidayId(), savedHoliday.getEmployeeId(),
+                savedHolidayDTO);
         logger.info("Successfully created holiday with ID: {}", savedHoliday.getHolidayId());
-        return HolidayMapper.toDTO(savedHoliday);
+        return savedHolidayDTO;
+    }
+
+    /**
+     * Creates a batch of holidays in one pass.
+     * Every holiday is validated against the existing holidays and against the holidays accepted before it
+     * in the batch, as if they were created one by one in order. The stored holidays around the batch
+     * are loaded with a single query, and the accepted holidays are inserted with JDBC batching.
+     *
+     * @param holidayDTOs The holidays to be created.
+     * @return The outcome of each holiday, in the order of the batch.
+     * @throws InvalidHolidayException If the batch is larger than the configured maximum.
+     */
+    @Override
+    @Transactional
+    public List<HolidayBatchResultDTO> createHolidays(List<HolidayDTO> holidayDTOs) {
+        logger.info("Creating a batch of {} holidays.", holidayDTOs.size());
+        if (holidayDTOs.size() > holidaysProperties.getBatch().getMaxSize()) {
+            throw new InvalidHolidayException(HolidayRejectionReason.BATCH_TOO_LARGE,
+                    "A batch cannot contain more than " + holidaysProperties.getBatch().getMaxSize() + " holidays");
+        }
+
+        HolidayBatchResultDTO[] results = new HolidayBatchResultDTO[holidayDTOs.size()];
+        ValidationBounds[] bounds = new ValidationBounds[holidayDTOs.size()];
+        List<Integer> candidates = new ArrayList<>();
+        long windowStart = Long.MAX_VALUE;
+        long windowEnd = Long.MIN_VALUE;
+        for (int index = 0; index < holidayDTOs.size(); index++) {
+            HolidayDTO holidayDTO = holidayDTOs.get(index);
+            String violations = validator.validate(holidayDTO).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            if (!violations.isEmpty()) {
+                results[index] = new HolidayBatchResultDTO(index, null, violations);
+                continue;
+            }
+            try {
+                holidayValidationRules.checkWithinHorizon(holidayDTO);
+                holidayValidationRules.checkMaximumLength(holidayDTO);
+            } catch (InvalidHolidayException ex) {
+                results[index] = new HolidayBatchResultDTO(index, null, ex.getMessage());
+                continue;
+            }
+            candidates.add(index);
+            bounds[index] = holidayValidationRules.validationBounds(holidayDTO);
+            windowStart = Math.min(windowStart, bounds[index].windowStart());
+            windowEnd = Math.max(windowEnd, bounds[index].windowEnd());
+        }
+
+        // Fetch the stored holidays around all candidates at once, then validate the candidates in order
+        HolidayIntervalIndex storedHolidays = new HolidayIntervalIndex();
+        if (!candidates.isEmpty()) {
+            storedHolidays.rebuild(findConflicting(windowStart, windowEnd, null));
+        }
+        List<HolidayIntervalIndex.Claim> claims = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Holiday> acceptedEntities = new ArrayList<>();
+        List<Holiday> savedHolidays;
+        try {
+            for (int index : candidates) {
+                HolidayDTO holidayDTO = holidayDTOs.get(index);
+                ValidationBounds holidayBounds = bounds[index];
+                try {
+                    holidayValidationRules.checkLeadTimeForHoliday(holidayDTO);
+                    // Claimed periods are in the index, so later candidates are validated against earlier ones
+                    claims.add(holidayIntervalIndex.claim(UUID.randomUUID(), holidayDTO.getEmployeeId(),
+                            holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), existingHolidays -> {
+                                for (HolidayIntervalIndex holidays : List.of(existingHolidays, storedHolidays)) {
+                                    holidayValidationRules.checkForHolidayOverlap(holidayBounds, null, holidays);
+                                    holidayValidationRules.checkForGapBetweenHolidays(holidayBounds, null, holidays);
+                                }
+                            }));
+                } catch (InvalidHolidayException ex) {
+                    results[index] = new HolidayBatchResultDTO(index, null, ex.getMessage());
+                    continue;
+                }
+                acceptedIndexes.add(index);
+                Holiday holiday = HolidayMapper.toEntity(holidayDTO);
+                holiday.setChangeSequence(holidayChangeSequence.next());
+                acceptedEntities.add(holiday);
+            }
+            savedHolidays = holidayRepository.saveAllAndFlush(acceptedEntities);
+        } catch (RuntimeException ex) {
+            claims.forEach(HolidayIntervalIndex.Claim::release);
+            throw ex;
+        }
+
+        for (int i = 0; i < savedHolidays.size(); i++) {
+            Holiday savedHoliday = savedHolidays.get(i);
+            claims.get(i).confirm(savedHoliday.getHolidayId());
+            holidayCoverageIndex.put(savedHoliday);
+            HolidayDTO savedHolidayDTO = HolidayMapper.toDTO(savedHoliday);
+            recordHolidayChange(HolidayEventType.CREATED, savedHoliday.getHolidayId(), savedHoliday.getEmployeeId(),
+                    savedHolidayDTO);
+            int index = acceptedIndexes.get(i);
+            results[index] = new HolidayBatchResultDTO(index, savedHolidayDTO, null);
+        }
+        logger.info("Created {} of {} holidays in the batch.", savedHolidays.size(), holidayDTOs.size());
+        return List.of(results);
     }
 
     /**
      * Deletes a holiday by its unique ID.
+     * The holiday is deleted with a single statement whose affected-row count tells whether it existed,
+     * and its tombstone is inserted in the same transaction: two statements in all. The holiday leaves the
+     * in-memory indexes once the transaction commits, so a rollback leaves them in step with the table.
      *
      * @param holidayId The ID of the holiday to be deleted.
      * @throws InvalidHolidayException If the holiday is not found.
      */
     @Override
+    @Transactional
     public void deleteHoliday(UUID holidayId) {
         logger.info("Deleting holiday with ID: {}", holidayId);
         try {
-            if (!holidayRepository.existsById(holidayId)) {
-                throw new InvalidHolidayException("Holiday not found");
+            if (holidayRepository.deleteHolidayById(holidayId) == 0) {
+                throw new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND, "Holiday not found");
             }
-            holidayRepository.deleteById(holidayId);
+            String employeeId = holidayIntervalIndex.findEmployeeId(holidayId).orElse(null);
+            // Persisted rather than saved: the ID is assigned, and save() would first look it up
+            entityManager.persist(new HolidayTombstone(holidayId, employeeId, holidayChangeSequence.next(),
+                    Instant.now().getEpochSecond()));
+            afterCommit(() -> {
+                holidayIntervalIndex.remove(holidayId);
+                holidayCoverageIndex.remove(holidayId);
+            });
+            recordHolidayChange(HolidayEventType.DELETED, holidayId, employeeId, null);
             logger.info("Successfully deleted holiday with ID: {}", holidayId);
         } catch (InvalidHolidayException ex) {
             logger.error("Failed to delete holiday with ID: {}. Reason: {}", holidayId, ex.getMessage());
@@ -107,6 +337,9 @@ public class HolidayServiceImpl implements HolidayService {
 
     /**
      * Updates an existing holiday after performing necessary validations.
+     * The current period and employee of the holiday are read from the interval index, so the holiday is never
+     * loaded: the update is a single conditional statement whose affected-row count tells whether the holiday
+     * still existed, preceded by the validation window lookup only when the dates change.
      *
      * @param holidayId The ID of the holiday to be updated.
      * @param holidayDTO The holiday data to be updated.
@@ -117,124 +350,460 @@ public class HolidayServiceImpl implements HolidayService {
     public HolidayDTO updateHoliday(UUID holidayId, HolidayDTO holidayDTO) {
         logger.info("Updating holiday with ID: {}", holidayId);
 
-        // Retrieve the existing holiday
-        Holiday existingHoliday = holidayRepository.findById(holidayId)
-                .orElseThrow(() -> new InvalidHolidayException("Holiday not found"));
+        // The index holds every holiday on file, with the employee it belongs to
+        String employeeId = holidayIntervalIndex.findEmployeeId(holidayId)
+                .orElseThrow(() -> new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                        "Holiday not found"));
 
         // Check if dates are updated (whether the start or end date has been changed)
-        boolean isDateUpdated = !existingHoliday.getStartOfHoliday().equals(holidayDTO.getStartOfHoliday()) ||
-                !existingHoliday.getEndOfHoliday().equals(holidayDTO.getEndOfHoliday());
+        OffsetDateTime start = holidayDTO.getStartOfHoliday();
+        OffsetDateTime end = holidayDTO.getEndOfHoliday();
+        boolean isDateUpdated = !holidayIntervalIndex.hasPeriod(holidayId, start.toEpochSecond(), end.toEpochSecond());
 
-        // If dates are updated, validate them (check for overlap, gap, etc.)
+        // If dates are updated, validate them (check for overlap, gap, etc.) and claim the new period
+        HolidayIntervalIndex.Claim claim = null;
         if (isDateUpdated) {
             logger.info("Dates updated, validating holiday.");
-            validateHoliday(holidayDTO);
+            claim = claimHoliday(holidayId, holidayDTO, holidayId);
         }
 
-        // Update the fields of the existing holiday entity
-        existingHoliday.setHolidayLabel(holidayDTO.getHolidayLabel());  // Update label (non-date field)
-        existingHoliday.setStartOfHoliday(holidayDTO.getStartOfHoliday());  // Update start date
-        existingHoliday.setEndOfHoliday(holidayDTO.getEndOfHoliday());  // Update end date
-        existingHoliday.setStatus(holidayDTO.getStatus());  // Update status (non-date field)
+        // Update the holiday in place; the employee of a holiday never changes
+        long changeSequence = holidayChangeSequence.next();
+        int updatedHolidays;
+        try {
+            updatedHolidays = holidayRepository.updateHoliday(holidayId, holidayDTO.getHolidayLabel(), start, end,
+                    start.toEpochSecond(), end.toEpochSecond(), holidayDTO.getStatus(), changeSequence);
+        } catch (RuntimeException ex) {
+            if (claim != null) {
+                claim.release();
+            }
+            throw ex;
+        } finally {
+            holidayChangeSequence.complete(changeSequence);
+        }
+        if (updatedHolidays == 0) {
+            // Deleted since it was looked up in the index
+            if (claim != null) {
+                claim.release();
+            }
+            afterCommit(() -> {
+                holidayIntervalIndex.remove(holidayId);
+                holidayCoverageIndex.remove(holidayId);
+            });
+            throw new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND, "Holiday not found");
+        }
 
-        // Save the updated holiday
-        Holiday updatedHoliday = holidayRepository.save(existingHoliday);
+        HolidayDTO updatedHolidayDTO = new HolidayDTO(holidayId, holidayDTO.getHolidayLabel(), employeeId, start, end,
+                holidayDTO.getStatus());
+        Holiday updatedHoliday = HolidayMapper.toEntity(updatedHolidayDTO);
+        updatedHoliday.setHolidayId(holidayId);
+        holidayIntervalIndex.put(updatedHoliday);
+        holidayCoverageIndex.put(updatedHoliday);
+        recordHolidayChange(HolidayEventType.UPDATED, holidayId, employeeId, updatedHolidayDTO);
         logger.info("Successfully updated holiday with ID: {}", holidayId);
-
-        // Convert the updated entity to DTO and return it
-        return HolidayMapper.toDTO(updatedHoliday);
+        return updatedHolidayDTO;
     }
 
     /**
-     * Retrieves all my holidays and converts them to HolidayDTOs.
+     * Retrieves one page of the holidays of an employee, ordered by start date, projected straight into HolidayDTOs.
+     * The first page with the default page size, which is what clients poll, is cached until one of
+     * the employee's holidays is created, updated or deleted.
      *
-     * @return List of all holidays as HolidayDTOs.
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of the employee's holidays.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
      */
     @Override
-    public List<HolidayDTO> getMyHolidays(String employeeId) {
-        logger.info("Fetching all holidays.");
-        List<HolidayDTO> holidays = holidayRepository.findByEmployeeId(employeeId).stream()
-                .map(HolidayMapper::toDTO)
-                .toList();
-        logger.info("Fetched {} holidays.", holidays.size());
-        return holidays;
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_HOLIDAYS, key = "#employeeId",
+            condition = "#cursor == null && #limit == null")
+    public HolidayPageDTO getMyHolidays(String employeeId, String cursor, Integer limit) {
+        logger.info("Fetching a page of holidays for employee: {}", employeeId);
+        int pageSize = HolidayPages.resolvePageSize(holidaysProperties.getPagination(), limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<HolidayDTO> holidays;
+        if (cursor == null) {
+            holidays = holidayRepository.findFirstPageByEmployeeId(employeeId, fetchLimit);
+        } else {
+            HolidayCursor after = HolidayCursor.decode(cursor);
+            holidays = holidayRepository.findPageByEmployeeIdAfter(employeeId, after.startOfHoliday().toEpochSecond(),
+                    after.holidayId(), fetchLimit);
+        }
+        HolidayPageDTO page = HolidayPages.toPage(holidays, pageSize);
+        logger.info("Fetched {} holidays.", page.getHolidays().size());
+        return page;
     }
 
     /**
-     * Validates the holiday data before creating or modifying a holiday.
-     * Ensures there is no overlap, a gap of 3 working days between holidays,
-     * and that the holiday is planned at least 5 working days in advance.
+     * Writes all holidays to the given stream as newline-delimited JSON, one HolidayDTO per line.
+     * Each holiday is detached once written, so the persistence context does not grow with the table.
      *
-     * @param holidayDTO The holiday data to be validated.
-     * @throws InvalidHolidayException If any validation fails.
+     * @param outputStream The stream to write to.
+     * @throws IOException If writing to the stream fails.
      */
-    private void validateHoliday(HolidayDTO holidayDTO) {
-        logger.info("Validating holiday data.");
-        // Fetch all holidays from all employees for overlap check
-        List<Holiday> existingHolidays = holidayRepository.findAll();
+    @Override
+    @Transactional(readOnly = true)
+    public void exportHolidays(OutputStream outputStream) throws IOException {
+        logger.info("Exporting all holidays.");
+        long exportedHolidays = 0;
+        try (Stream<Holiday> holidays = holidayRepository.streamAll()) {
+            Iterator<Holiday> iterator = holidays.iterator();
+            while (iterator.hasNext()) {
+                Holiday holiday = iterator.next();
+                outputStream.write(objectMapper.writeValueAsBytes(HolidayMapper.toDTO(holiday)));
+                outputStream.write('\n');
+                entityManager.detach(holiday);
+                exportedHolidays++;
+            }
+        }
+        outputStream.flush();
+        logger.info("Exported {} holidays.", exportedHolidays);
+    }
 
-        // Check for overlapping holidays
-        checkForHolidayOverlap(holidayDTO, existingHolidays);
+    /**
+     * Counts the holidays covering each day of a range from the coverage index, without loading any holiday.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param status The status of the holidays to count, or null to count all of them.
+     * @return The number of holidays of each day of the range, in date order.
+     * @throws InvalidHolidayException If the range is reversed or longer than the configured maximum.
+     */
+    @Override
+    public List<HolidayCoverageDTO> getCoverage(LocalDate from, LocalDate to, HolidayStatus status) {
+        logger.info("Counting holidays from {} to {}.", from, to);
+        if (to.isBefore(from)) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_DATE_RANGE,
+                    "The end of the range must not be before its start");
+        }
+        int maxDays = holidaysProperties.getCoverage().getMaxDays();
+        if (from.until(to, ChronoUnit.DAYS) >= maxDays) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_DATE_RANGE,
+                    "The range cannot span more than " + maxDays + " days");
+        }
 
-        // Ensure there is a gap of at least 3 working days between holidays
-        checkForGapBetweenHolidays(holidayDTO, existingHolidays);
+        int[] counts = holidayCoverageIndex.count(from, to, status);
+        List<HolidayCoverageDTO> coverage = new ArrayList<>(counts.length);
+        for (int day = 0; day < counts.length; day++) {
+            coverage.add(new HolidayCoverageDTO(from.plusDays(day), counts[day]));
+        }
+        return coverage;
+    }
 
-        // Ensure the holiday is planned at least 5 working days in advance
-        checkLeadTimeForHoliday(holidayDTO);
+    /**
+     * Finds the earliest period in which an employee can take a holiday of the given length from the interval
+     * index, in one forward sweep and without loading or inserting any holiday.
+     *
+     * @param employeeId The ID of the employee.
+     * @param days The length of the holiday, in days.
+     * @param after The first day the holiday may start on, or null for today.
+     * @return The earliest period available.
+     * @throws InvalidHolidayException If the length is not between 1 and 366 days.
+     */
+    @Override
+    public HolidaySlotDTO findNextSlot(String employeeId, int days, LocalDate after) {
+        logger.info("Searching the interval index for a slot of {} days from {}.", days, after);
+        if (days < 1 || days > MAX_SLOT_DAYS) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_DATE_RANGE,
+                    "The holiday must last between 1 and " + MAX_SLOT_DAYS + " days");
+        }
+        OffsetDateTime start = holidayValidationRules.earliestSlotStart(after != null ? after : LocalDate.now(), days,
+                holidayIntervalIndex);
+        return new HolidaySlotDTO(employeeId, start, start.plusDays(days));
     }
 
     /**
-     * Checks if the holiday overlaps with any existing holidays for the same or different employees.
-     * This method validates that the given holiday does not overlap with any other holidays for the same employee
-     * or any other employee, excluding the holiday being updated (its own dates).
+     * Retrieves the holidays written and deleted since a sync token, in change order.
+     * Only changes up to the stable end of the change sequence are returned, so that a change still being
+     * committed is never skipped by the returned token. A token that may have missed pruned deletions is rejected
+     * once the tombstones are read: the horizon moves before tombstones are pruned, so a prune racing the read
+     * is caught. The returned token carries the horizon read before the changes.
      *
-     * @param holidayDTO The holiday data to be validated.
-     * @param existingHolidays The list of existing holidays for all employees.
-     * @throws InvalidHolidayException If there is an overlap with an existing holiday.
+     * @param since The sync token returned by the previous call, or null to sync from scratch.
+     * @param limit The maximum number of changes to return, or null for the default page size.
+     * @return The changes and the token to pass to the next call.
+     * @throws InvalidHolidayException If the sync token or the limit is invalid, or the token has expired.
      */
-    private void checkForHolidayOverlap(HolidayDTO holidayDTO, List<Holiday> existingHolidays) {
-        for (Holiday existingHoliday : existingHolidays) {
-            // Skip the current holiday being updated (exclude it from the overlap check)
-            if (existingHoliday.getHolidayId().equals(holidayDTO.getHolidayId())) {
-                continue;
+    @Override
+    @Transactional(readOnly = true)
+    public HolidayChangesDTO getChanges(String since, Integer limit) {
+        HolidaySyncToken sinceToken = since == null ? null : HolidaySyncToken.decode(since);
+        long sinceSequence = sinceToken == null ? 0 : sinceToken.changeSequence();
+        int pageSize = HolidayPages.resolvePageSize(holidaysProperties.getPagination(), limit);
+        long prunedUpTo = holidayChangeSequence.prunedUpTo();
+        long upTo = holidayChangeSequence.stable();
+        if (sinceSequence > upTo || sinceToken != null && sinceToken.prunedUpTo() > prunedUpTo) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_SYNC_TOKEN,
+                    "Unknown sync token, sync from scratch");
+        }
+        logger.info("Fetching holiday changes from {} to {}.", sinceSequence, upTo);
+
+        // Fetch one extra change of each kind to know whether more changes follow the page
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        Iterator<Holiday> holidays = holidayRepository.findChanges(sinceSequence, upTo, fetchLimit).iterator();
+        Iterator<HolidayTombstone> tombstones =
+                holidayTombstoneRepository.findChanges(sinceSequence, upTo, fetchLimit).iterator();
+        // A sync from scratch needs no tombstone: the holidays deleted before the read are not returned either
+        if (sinceToken != null && sinceToken.isExpired(holidayChangeSequence.prunedUpTo())) {
+            throw new InvalidHolidayException(HolidayRejectionReason.SYNC_TOKEN_EXPIRED,
+                    "Sync token expired, sync from scratch");
+        }
+
+        List<HolidayDTO> changedHolidays = new ArrayList<>();
+        List<UUID> deletedHolidayIds = new ArrayList<>();
+        Holiday nextHoliday = holidays.hasNext() ? holidays.next() : null;
+        HolidayTombstone nextTombstone = tombstones.hasNext() ? tombstones.next() : null;
+        long lastSequence = upTo;
+        boolean hasMore = false;
+        while (nextHoliday != null || nextTombstone != null) {
+            if (changedHolidays.size() + deletedHolidayIds.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            if (nextTombstone == null
+                    || (nextHoliday != null && nextHoliday.getChangeSequence() < nextTombstone.getChangeSequence())) {
+                changedHolidays.add(HolidayMapper.toDTO(nextHoliday));
+                lastSequence = nextHoliday.getChangeSequence();
+                nextHoliday = holidays.hasNext() ? holidays.next() : null;
+            } else {
+                deletedHolidayIds.add(nextTombstone.getHolidayId());
+                lastSequence = nextTombstone.getChangeSequence();
+                nextTombstone = tombstones.hasNext() ? tombstones.next() : null;
             }
+        }
+        if (!hasMore) {
+            lastSequence = upTo;
+        }
+
+        logger.info("Fetched {} changed and {} deleted holidays.", changedHolidays.size(), deletedHolidayIds.size());
+        return new HolidayChangesDTO(changedHolidays, deletedHolidayIds,
+                new HolidaySyncToken(lastSequence, prunedUpTo).encode(), hasMore);
+    }
 
-            // Check for overlap with holidays of the same employee or different employees
-            if (holidayDTO.getStartOfHoliday().isBefore(existingHoliday.getEndOfHoliday()) &&
-                    holidayDTO.getEndOfHoliday().isAfter(existingHoliday.getStartOfHoliday())) {
-                throw new InvalidHolidayException("Holiday overlaps with an existing holiday.");
+    /**
+     * Retrieves one page of the archived holidays, ordered by start date, projected straight into HolidayDTOs.
+     *
+     * @param employeeId The ID of the employee, or null for the archived holidays of all employees.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of archived holidays.
+     * @throws InvalidHolidayException If the cursor or the page size is invalid.
+     */
+    @Override
+    public HolidayPageDTO getArchivedHolidays(String employeeId, String cursor, Integer limit) {
+        logger.info("Fetching a page of archived holidays for employee: {}", employeeId);
+        int pageSize = HolidayPages.resolvePageSize(holidaysProperties.getPagination(), limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        HolidayCursor after = cursor == null ? null : HolidayCursor.decode(cursor);
+        List<HolidayDTO> holidays;
+        if (employeeId == null) {
+            holidays = after == null
+                    ? archivedHolidayRepository.findFirstPage(fetchLimit)
+                    : archivedHolidayRepository.findPageAfter(after.startOfHoliday().toEpochSecond(),
+                            after.holidayId(), fetchLimit);
+        } else {
+            holidays = after == null
+                    ? archivedHolidayRepository.findFirstPageByEmployeeId(employeeId, fetchLimit)
+                    : archivedHolidayRepository.findPageByEmployeeIdAfter(employeeId,
+                            after.startOfHoliday().toEpochSecond(), after.holidayId(), fetchLimit);
+        }
+        HolidayPageDTO page = HolidayPages.toPage(holidays, pageSize);
+        logger.info("Fetched {} archived holidays.", page.getHolidays().size());
+        return page;
+    }
+
+    /**
+     * Moves one chunk of the holidays that ended before a point in time to the archive, in one transaction:
+     * each holiday is copied to the archive table with the `ARCHIVED` status and a tombstone, so that
+     * synced clients drop it, then the chunk is removed from the holiday table with a single delete.
+     * Once the transaction commits, archived holidays are removed from the interval index: having ended,
+     * they can no longer break a rule for a holiday being created or moved, which must start at least 5 working
+     * days from today. The coverage index keeps counting them, under the `ARCHIVED` status.
+     *
+     * @param endedBefore The point in time before which holidays must have ended to be archived.
+     * @param chunkSize The maximum number of holidays to archive.
+     * @return The number of holidays archived.
+     */
+    @Override
+    @Transactional
+    public int archiveHolidays(OffsetDateTime endedBefore, int chunkSize) {
+        List<Holiday> holidays = holidayRepository.findEndedBefore(endedBefore.toEpochSecond(), Limit.of(chunkSize));
+        if (holidays.isEmpty()) {
+            return 0;
+        }
+        OffsetDateTime archivedAt = OffsetDateTime.now();
+        List<UUID> holidayIds = new ArrayList<>(holidays.size());
+        for (Holiday holiday : holidays) {
+            // Persisted rather than saved: the IDs are assigned, and save() would first look each of them up
+            entityManager.persist(HolidayMapper.toArchivedHoliday(holiday, archivedAt));
+            entityManager.persist(new HolidayTombstone(holiday.getHolidayId(), holiday.getEmployeeId(),
+                    holidayChangeSequence.next(), archivedAt.toEpochSecond()));
+            holidayIds.add(holiday.getHolidayId());
+        }
+        holidayRepository.deleteAllByIdInBatch(holidayIds);
+
+        Set<String> employeeIds = new HashSet<>();
+        for (Holiday holiday : holidays) {
+            evictCachedHolidays(holiday.getHolidayId(), holiday.getEmployeeId());
+            employeeIds.add(holiday.getEmployeeId());
+        }
+        afterCommit(() -> {
+            for (UUID holidayId : holidayIds) {
+                holidayIntervalIndex.remove(holidayId);
+                holidayCoverageIndex.archive(holidayId);
             }
+            employeeIds.forEach(holidayVersions::bump);
+        });
+        logger.info("Archived {} holidays that ended before {}.", holidayIds.size(), endedBefore);
+        return holidayIds.size();
+    }
+
+    /**
+     * Prunes the tombstones of the holidays deleted before a point in time in one transaction: the pruning horizon
+     * is moved to the highest change sequence among them and recorded, then every tombstone up to it is deleted
+     * with a single statement, so that no tombstone below the horizon is left for a sync to skip over.
+     *
+     * @param deletedBefore The point in time before which holidays must have been deleted.
+     * @return The number of tombstones deleted.
+     */
+    @Override
+    @Transactional
+    public int pruneTombstones(OffsetDateTime deletedBefore) {
+        long upTo = holidayTombstoneRepository.findMaxChangeSequenceDeletedBefore(deletedBefore.toEpochSecond());
+        if (upTo <= holidayChangeSequence.prunedUpTo()) {
+            return 0;
         }
+        holidayChangeSequence.prune(upTo);
+        holidaySyncHorizonRepository.save(new HolidaySyncHorizon(HolidaySyncHorizon.ID, upTo));
+        int pruned = holidayTombstoneRepository.deleteUpTo(upTo);
+        logger.info("Pruned {} tombstones up to change {}.", pruned, upTo);
+        return pruned;
     }
 
     /**
-     * Checks that there is a gap of at least 3 working days between the new holiday and existing holidays.
+     * Records a write to a holiday: evicts its cached reads, bumps the versions behind the ETags
+     * and pushes the change to the subscribers of the event stream, once the transaction commits if there is one.
      *
-     * @param holidayDTO The holiday to be validated.
-     * @param existingHolidays The list of existing holidays for the employee.
-     * @throws InvalidHolidayException If the gap is less than 3 working days.
-     */
-    private void checkForGapBetweenHolidays(HolidayDTO holidayDTO, List<Holiday> existingHolidays) {
-        for (Holiday existingHoliday : existingHolidays) {
-            long gapBetweenHolidays = Math.abs(existingHoliday.getEndOfHoliday().until(holidayDTO.getStartOfHoliday(),
-                    ChronoUnit.DAYS));
-            if (gapBetweenHolidays < 3) {
-                throw new InvalidHolidayException("There must be a gap of at least 3 working days between holidays.");
+     * @param type The kind of write.
+     * @param holidayId The ID of the holiday written.
+     * @param employeeId The ID of the employee of the holiday, or null if unknown.
+     * @param holiday The holiday as saved, or null if it was deleted.
+     */
+    private void recordHolidayChange(HolidayEventType type, UUID holidayId, String employeeId, HolidayDTO holiday) {
+        evictCachedHolidays(holidayId, employeeId);
+        afterCommit(() -> {
+            holidayVersions.bump(employeeId);
+            holidayEventStream.publish(new HolidayEventDTO(type, holidayId, employeeId, holiday));
+        });
+    }
+
+    /**
+     * Evicts the cached entries a write to a holiday makes stale: the holiday itself and its employee's list.
+     * Inside a transaction, the entries are evicted once it commits, so that a concurrent read cannot cache
+     * the data being replaced before the write is visible.
+     *
+     * @param holidayId The ID of the written holiday.
+     * @param employeeId The ID of the holiday's employee, or null if unknown (then every employee list is evicted).
+     */
+    private void evictCachedHolidays(UUID holidayId, String employeeId) {
+        afterCommit(() -> evictCachedHolidaysNow(holidayId, employeeId));
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away outside a transaction.
+     * The in-memory state a write changes is only updated once the write is visible, and not at all if it rolls back.
+     *
+     * @param action The action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void evictCachedHolidaysNow(UUID holidayId, String employeeId) {
+        Cache holidayCache = cacheManager.getCache(CacheConfig.HOLIDAY_BY_ID);
+        if (holidayCache != null) {
+            holidayCache.evict(holidayId);
+        }
+        Cache employeeHolidaysCache = cacheManager.getCache(CacheConfig.EMPLOYEE_HOLIDAYS);
+        if (employeeHolidaysCache != null) {
+            if (employeeId != null) {
+                employeeHolidaysCache.evict(employeeId);
+            } else {
+                employeeHolidaysCache.clear();
             }
         }
     }
 
     /**
-     * Ensures that the holiday is planned at least 5 working days in advance.
+     * Validates the holiday data against business rules (overlap, lead time, gap between holidays)
+     * and claims its period in the interval index, so that no concurrent request can claim a conflicting one.
+     * The in-memory checks and the claim are a single atomic step; the stored holidays around the requested
+     * dates are then re-checked, and the claim is released if they reject the holiday.
+     * Package-private so that the JMH benchmarks can measure it on its own.
      *
+     * @param claimId The ID to claim the period under: the holiday's own ID, or a provisional one for a new holiday.
      * @param holidayDTO The holiday to be validated.
-     * @throws InvalidHolidayException If the holiday is planned less than 5 working days in advance.
+     * @param excludedHolidayId The ID of the holiday being updated, or null when creating a new one.
+     * @return The claim on the period, to be confirmed once the holiday is saved or released otherwise.
+     * @throws InvalidHolidayException If any validation rule is violated.
      */
-    private void checkLeadTimeForHoliday(HolidayDTO holidayDTO) {
-        long daysBetweenNowAndStart = Math.abs(LocalDate.now().until(holidayDTO.getStartOfHoliday().toLocalDate(),
-                ChronoUnit.DAYS));
-        if (daysBetweenNowAndStart < 5) {
-            throw new InvalidHolidayException("Holiday must be planned at least 5 working days in advance.");
+    HolidayIntervalIndex.Claim claimHoliday(UUID claimId, HolidayDTO holidayDTO, UUID excludedHolidayId) {
+        logger.info("Validating holiday data.");
+
+        // Ensure the holiday lies within the working-day calendar, is not too long and is planned at least
+        // 5 working days in advance
+        holidayValidationRules.checkWithinHorizon(holidayDTO);
+        holidayValidationRules.checkMaximumLength(holidayDTO);
+        holidayValidationRules.checkLeadTimeForHoliday(holidayDTO);
+
+        // Check for overlapping holidays and the gap of at least 3 working days between holidays, and claim the period
+        ValidationBounds bounds = holidayValidationRules.validationBounds(holidayDTO);
+        HolidayIntervalIndex.Claim claim = holidayIntervalIndex.claim(claimId, holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), existingHolidays -> {
+                    holidayValidationRules.checkForHolidayOverlap(bounds, excludedHolidayId, existingHolidays);
+                    holidayValidationRules.checkForGapBetweenHolidays(bounds, excludedHolidayId, existingHolidays);
+                });
+
+        try {
+            // Fetch only the stored holidays close enough to the requested dates to break a rule
+            HolidayIntervalIndex storedHolidays = new HolidayIntervalIndex();
+            storedHolidays.rebuild(findConflicting(bounds.windowStart(), bounds.windowEnd(), excludedHolidayId));
+
+            holidayValidationRules.checkForHolidayOverlap(bounds, excludedHolidayId, storedHolidays);
+            holidayValidationRules.checkForGapBetweenHolidays(bounds, excludedHolidayId, storedHolidays);
+        } catch (RuntimeException ex) {
+            claim.release();
+            throw ex;
         }
+        return claim;
+    }
+
+    /**
+     * Fetches the stored holidays that can break a rule within the given window,
+     * recording the number of rows read in the `holidays.validation.rows` distribution summary.
+     *
+     * @param from The start of the validation window, in UTC epoch seconds.
+     * @param to The end of the validation window, in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return The stored holidays within the window.
+     */
+    private List<Holiday> findConflicting(long from, long to, UUID excludedHolidayId) {
+        List<Holiday> holidays = holidayRepository.findConflicting(from, to, excludedHolidayId);
+        DistributionSummary.builder(VALIDATION_ROWS_SUMMARY)
+                .description("Number of stored holidays read to validate a holiday or a batch")
+                .baseUnit("rows")
+                .register(meterRegistry)
+                .record(holidays.size());
+        return holidays;
     }
 }
@@ -0,0 +1,394 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Binary snapshot format of the holidays, tombstones and archived holidays, read through a memory-mapped file.
+ * The file holds a header, the holidays, the tombstones and the archived holidays as fixed-width records,
+ * the dictionaries of the employee IDs and labels the records point to, and a footer locating the dictionaries
+ * and holding the horizon up to which tombstones were pruned.
+ * Dates are stored as epoch seconds plus offset, and every distinct employee ID or label is stored once,
+ * so a record is read with a few absolute loads and no parsing, and the strings it points to are shared.
+ */
+final class HolidaySnapshotFile {
+
+    private static final int MAGIC = 0x484F4C53; // "HOLS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int FOOTER_SIZE = 40;
+
+    /**
+     * ID (16), start (8 + 4), end (8 + 4), employee (4), label (4), status (1), change sequence (8).
+     */
+    static final int HOLIDAY_RECORD_SIZE = 57;
+
+    /**
+     * ID (16), employee (4), change sequence (8), deleted at (8).
+     */
+    static final int TOMBSTONE_RECORD_SIZE = 36;
+
+    /**
+     * ID (16), start (8 + 4), end (8 + 4), employee (4), label (4), archived at (8 + 4).
+     */
+    static final int ARCHIVED_HOLIDAY_RECORD_SIZE = 60;
+
+    private static final int NO_STRING = -1;
+    private static final byte NO_STATUS = -1;
+    private static final long NO_CHANGE_SEQUENCE = -1;
+
+    private HolidaySnapshotFile() {
+    }
+
+    /**
+     * Opens a snapshot for writing. The snapshot is written to a temporary file next to the target,
+     * which replaces the target only once {@link Writer#finish()} completes.
+     *
+     * @param file The snapshot file.
+     * @return The writer.
+     * @throws IOException If the temporary file cannot be created.
+     */
+    static Writer writer(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    /**
+     * Reads a snapshot through a memory mapping of the file.
+     *
+     * @param file The snapshot file.
+     * @param holidays Receives the holidays, in the order they were written.
+     * @param tombstones Receives the tombstones, in the order they were written.
+     * @param archivedHolidays Receives the archived holidays, in the order they were written.
+     * @return The highest change sequence of a pruned tombstone, or 0 if none was pruned.
+     * @throws IOException If the file cannot be read, is not a snapshot or is corrupt.
+     */
+    static long read(Path file, Consumer<Holiday> holidays, Consumer<HolidayTombstone> tombstones,
+                     Consumer<ArchivedHoliday> archivedHolidays) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a holiday snapshot of a supported size: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a holiday snapshot: " + file);
+            }
+            int footer = (int) size - FOOTER_SIZE;
+            long dictionaryOffset = buffer.getLong(footer);
+            long holidayCount = buffer.getLong(footer + 8);
+            long tombstoneCount = buffer.getLong(footer + 16);
+            long archivedHolidayCount = buffer.getLong(footer + 24);
+            long prunedUpTo = buffer.getLong(footer + 32);
+            if (prunedUpTo < 0 || holidayCount < 0 || holidayCount > size / HOLIDAY_RECORD_SIZE
+                    || tombstoneCount < 0 || tombstoneCount > size / TOMBSTONE_RECORD_SIZE
+                    || archivedHolidayCount < 0 || archivedHolidayCount > size / ARCHIVED_HOLIDAY_RECORD_SIZE
+                    || HEADER_SIZE + holidayCount * HOLIDAY_RECORD_SIZE + tombstoneCount * TOMBSTONE_RECORD_SIZE
+                    + archivedHolidayCount * ARCHIVED_HOLIDAY_RECORD_SIZE != dictionaryOffset
+                    || dictionaryOffset > footer) {
+                throw new IOException("Corrupt holiday snapshot: " + file);
+            }
+
+            // Every index and length read below is checked, so a corrupt file fails with an IOException
+            buffer.position((int) dictionaryOffset).limit(footer);
+            String[] employeeIds = readDictionary(buffer);
+            String[] labels = readDictionary(buffer);
+
+            int offset = HEADER_SIZE;
+            for (long i = 0; i < holidayCount; i++, offset += HOLIDAY_RECORD_SIZE) {
+                holidays.accept(readHoliday(buffer, offset, employeeIds, labels));
+            }
+            for (long i = 0; i < tombstoneCount; i++, offset += TOMBSTONE_RECORD_SIZE) {
+                tombstones.accept(new HolidayTombstone(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)),
+                        lookup(employeeIds, buffer.getInt(offset + 16)), buffer.getLong(offset + 20),
+                        buffer.getLong(offset + 28)));
+            }
+            for (long i = 0; i < archivedHolidayCount; i++, offset += ARCHIVED_HOLIDAY_RECORD_SIZE) {
+                archivedHolidays.accept(readArchivedHoliday(buffer, offset, employeeIds, labels));
+            }
+            return prunedUpTo;
+        }
+    }
+
+    private static Holiday readHoliday(ByteBuffer buffer, int offset, String[] employeeIds, String[] labels)
+            throws IOException {
+        long startEpochSecond = buffer.getLong(offset + 16);
+        long endEpochSecond = buffer.getLong(offset + 28);
+        byte status = buffer.get(offset + 48);
+        long changeSequence = buffer.getLong(offset + 49);
+        if (status != NO_STATUS && (status < 0 || status >= HolidayStatus.values().length)) {
+            throw new IOException("Corrupt holiday snapshot: unknown status " + status);
+        }
+        return Holiday.builder()
+                .holidayId(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)))
+                .startOfHoliday(toOffsetDateTime(startEpochSecond, buffer.getInt(offset + 24)))
+                .startEpochSecond(startEpochSecond)
+                .endOfHoliday(toOffsetDateTime(endEpochSecond, buffer.getInt(offset + 36)))
+                .endEpochSecond(endEpochSecond)
+                .employeeId(lookup(employeeIds, buffer.getInt(offset + 40)))
+                .holidayLabel(lookup(labels, buffer.getInt(offset + 44)))
+                .status(status == NO_STATUS ? null : HolidayStatus.values()[status])
+                .changeSequence(changeSequence == NO_CHANGE_SEQUENCE ? null : changeSequence)
+                .build();
+    }
+
+    private static ArchivedHoliday readArchivedHoliday(ByteBuffer buffer, int offset, String[] employeeIds,
+                                                       String[] labels) throws IOException {
+        long startEpochSecond = buffer.getLong(offset + 16);
+        long endEpochSecond = buffer.getLong(offset + 28);
+        return ArchivedHoliday.builder()
+                .holidayId(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)))
+                .startOfHoliday(toOffsetDateTime(startEpochSecond, buffer.getInt(offset + 24)))
+                .startEpochSecond(startEpochSecond)
+                .endOfHoliday(toOffsetDateTime(endEpochSecond, buffer.getInt(offset + 36)))
+                .endEpochSecond(endEpochSecond)
+                .employeeId(lookup(employeeIds, buffer.getInt(offset + 40)))
+                .holidayLabel(lookup(labels, buffer.getInt(offset + 44)))
+                .status(HolidayStatus.ARCHIVED)
+                .archivedAt(toOffsetDateTime(buffer.getLong(offset + 48), buffer.getInt(offset + 56)))
+                .build();
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochSecond, int offsetSeconds) throws IOException {
+        try {
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond),
+                    ZoneOffset.ofTotalSeconds(offsetSeconds));
+        } catch (DateTimeException ex) {
+            throw new IOException("Corrupt holiday snapshot: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) throws IOException {
+        // Every entry takes at least its 4-byte length, which bounds the number of entries
+        String[] entries = new String[readLength(buffer, 4)];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] bytes = new byte[readLength(buffer, 1)];
+            buffer.get(bytes);
+            entries[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return entries;
+    }
+
+    /**
+     * Reads a length, checking that the given number of bytes per unit remains in the buffer for it.
+     */
+    private static int readLength(ByteBuffer buffer, int bytesPerUnit) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Corrupt holiday snapshot: truncated dictionary");
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / bytesPerUnit) {
+            throw new IOException("Corrupt holiday snapshot: dictionary length " + length + " out of bounds");
+        }
+        return length;
+    }
+
+    private static String lookup(String[] dictionary, int index) throws IOException {
+        if (index == NO_STRING) {
+            return null;
+        }
+        if (index < 0 || index >= dictionary.length) {
+            throw new IOException("Corrupt holiday snapshot: dictionary index " + index + " out of bounds");
+        }
+        return dictionary[index];
+    }
+
+    /**
+     * Writes a snapshot: all holidays first, then all tombstones, then all archived holidays, then {@link #finish}.
+     * Closing a writer that is not finished discards the snapshot and leaves the previous one in place.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path file;
+
+        private final Path temporaryFile;
+
+        private final DataOutputStream output;
+
+        private final Map<String, Integer> employeeIndexes = new HashMap<>();
+
+        private final List<String> employeeIds = new ArrayList<>();
+
+        private final Map<String, Integer> labelIndexes = new HashMap<>();
+
+        private final List<String> labels = new ArrayList<>();
+
+        private long holidayCount;
+
+        private long tombstoneCount;
+
+        private long archivedHolidayCount;
+
+        private boolean finished;
+
+        private Writer(Path file) throws IOException {
+            this.file = file;
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), 1 << 16));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+        }
+
+        /**
+         * Appends a holiday.
+         *
+         * @param holiday The holiday.
+         * @throws IOException If writing fails.
+         */
+        void writeHoliday(Holiday holiday) throws IOException {
+            if (tombstoneCount > 0 || archivedHolidayCount > 0) {
+                throw new IllegalStateException("Holidays must be written before tombstones and archived holidays");
+            }
+            output.writeLong(holiday.getHolidayId().getMostSignificantBits());
+            output.writeLong(holiday.getHolidayId().getLeastSignificantBits());
+            output.writeLong(holiday.getStartOfHoliday().toEpochSecond());
+            output.writeInt(holiday.getStartOfHoliday().getOffset().getTotalSeconds());
+            output.writeLong(holiday.getEndOfHoliday().toEpochSecond());
+            output.writeInt(holiday.getEndOfHoliday().getOffset().getTotalSeconds());
+            output.writeInt(intern(holiday.getEmployeeId(), employeeIndexes, employeeIds));
+            output.writeInt(intern(holiday.getHolidayLabel(), labelIndexes, labels));
+            output.writeByte(holiday.getStatus() == null ? NO_STATUS : holiday.getStatus().ordinal());
+            output.writeLong(holiday.getChangeSequence() == null ? NO_CHANGE_SEQUENCE : holiday.getChangeSequence());
+            holidayCount++;
+        }
+
+        /**
+         * Appends a tombstone.
+         *
+         * @param tombstone The tombstone.
+         * @throws IOException If writing fails.
+         */
+        void writeTombstone(HolidayTombstone tombstone) throws IOException {
+            if (archivedHolidayCount > 0) {
+                throw new IllegalStateException("Tombstones must be written before archived holidays");
+            }
+            output.writeLong(tombstone.getHolidayId().getMostSignificantBits());
+            output.writeLong(tombstone.getHolidayId().getLeastSignificantBits());
+            output.writeInt(intern(tombstone.getEmployeeId(), employeeIndexes, employeeIds));
+            output.writeLong(tombstone.getChangeSequence());
+            output.writeLong(tombstone.getDeletedEpochSecond());
+            tombstoneCount++;
+        }
+
+        /**
+         * Appends an archived holiday.
+         *
+         * @param archivedHoliday The archived holiday.
+         * @throws IOException If writing fails.
+         */
+        void writeArchivedHoliday(ArchivedHoliday archivedHoliday) throws IOException {
+            output.writeLong(archivedHoliday.getHolidayId().getMostSignificantBits());
+            output.writeLong(archivedHoliday.getHolidayId().getLeastSignificantBits());
+            output.writeLong(archivedHoliday.getStartOfHoliday().toEpochSecond());
+            output.writeInt(archivedHoliday.getStartOfHoliday().getOffset().getTotalSeconds());
+            output.writeLong(archivedHoliday.getEndOfHoliday().toEpochSecond());
+            output.writeInt(archivedHoliday.getEndOfHoliday().getOffset().getTotalSeconds());
+            output.writeInt(intern(archivedHoliday.getEmployeeId(), employeeIndexes, employeeIds));
+            output.writeInt(intern(archivedHoliday.getHolidayLabel(), labelIndexes, labels));
+            output.writeLong(archivedHoliday.getArchivedAt().toEpochSecond());
+            output.writeInt(archivedHoliday.getArchivedAt().getOffset().getTotalSeconds());
+            archivedHolidayCount++;
+        }
+
+        /**
+         * Writes the dictionaries and the footer, then atomically replaces the snapshot file with the new one.
+         *
+         * @param prunedUpTo The highest change sequence of a pruned tombstone, or 0 if none was pruned.
+         * @throws IOException If writing or replacing the file fails.
+         */
+        void finish(long prunedUpTo) throws IOException {
+            long dictionaryOffset = HEADER_SIZE + holidayCount * HOLIDAY_RECORD_SIZE
+                    + tombstoneCount * TOMBSTONE_RECORD_SIZE + archivedHolidayCount * ARCHIVED_HOLIDAY_RECORD_SIZE;
+            writeDictionary(employeeIds);
+            writeDictionary(labels);
+            output.writeLong(dictionaryOffset);
+            output.writeLong(holidayCount);
+            output.writeLong(tombstoneCount);
+            output.writeLong(archivedHolidayCount);
+            output.writeLong(prunedUpTo);
+            output.close();
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+        /**
+         * Returns the number of holidays written.
+         *
+         * @return The number of holidays.
+         */
+        long holidayCount() {
+            return holidayCount;
+        }
+
+        /**
+         * Returns the number of tombstones written.
+         *
+         * @return The number of tombstones.
+         */
+        long tombstoneCount() {
+            return tombstoneCount;
+        }
+
+        /**
+         * Returns the number of archived holidays written.
+         *
+         * @return The number of archived holidays.
+         */
+        long archivedHolidayCount() {
+            return archivedHolidayCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                output.close();
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+
+        private void writeDictionary(List<String> entries) throws IOException {
+            output.writeInt(entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        private static int intern(String value, Map<String, Integer> indexes, List<String> entries) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            return indexes.computeIfAbsent(value, key -> {
+                entries.add(key);
+                return entries.size() - 1;
+            });
+        }
+    }
+}
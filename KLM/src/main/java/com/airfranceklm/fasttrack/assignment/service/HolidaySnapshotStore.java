@@ -0,0 +1,339 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidaySyncHorizon;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps a binary snapshot of the holidays, their deletion tombstones, the tombstone pruning horizon and the
+ * archived holidays on disk (see {@link HolidaySnapshotFile}), so that a node restarted on the in-memory database
+ * comes back with its data.
+ * The snapshot is written periodically and on shutdown, and restored at startup, before the holiday indexes
+ * and the change sequence are loaded, when the holiday table is empty. Rows are read and inserted with plain JDBC,
+ * so no entity is managed on either side. Disabled unless `holidays.snapshot.enabled` is set.
+ */
+@Component
+public class HolidaySnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidaySnapshotStore.class);
+
+    private static final int RESTORE_BATCH_SIZE = 1_000;
+
+    private static final String SELECT_HOLIDAYS = "select holiday_id, holiday_label, employee_id, start_of_holiday, "
+            + "end_of_holiday, status, change_sequence from holiday";
+
+    private static final String SELECT_TOMBSTONES = "select holiday_id, employee_id, change_sequence, "
+            + "deleted_epoch_second from holiday_tombstone";
+
+    private static final String SELECT_ARCHIVED_HOLIDAYS = "select holiday_id, holiday_label, employee_id, "
+            + "start_of_holiday, end_of_holiday, archived_at from archived_holiday";
+
+    private static final String INSERT_HOLIDAY = "insert into holiday (holiday_id, holiday_label, employee_id, "
+            + "start_of_holiday, end_of_holiday, start_epoch_second, end_epoch_second, status, change_sequence) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SYNC_HORIZON = "select coalesce(max(pruned_up_to), 0) "
+            + "from holiday_sync_horizon";
+
+    private static final String INSERT_TOMBSTONE = "insert into holiday_tombstone (holiday_id, employee_id, "
+            + "change_sequence, deleted_epoch_second) values (?, ?, ?, ?)";
+
+    private static final String INSERT_SYNC_HORIZON = "insert into holiday_sync_horizon (horizon_id, pruned_up_to) "
+            + "values (?, ?)";
+
+    private static final String INSERT_ARCHIVED_HOLIDAY = "insert into archived_holiday (holiday_id, holiday_label, "
+            + "employee_id, start_of_holiday, end_of_holiday, start_epoch_second, end_epoch_second, status, "
+            + "archived_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final HolidaysProperties.Snapshot settings;
+
+    private final HolidayRepository holidayRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    private final TransactionTemplate restoreTransaction;
+
+    /**
+     * Creates the store.
+     *
+     * @param holidaysProperties The application settings.
+     * @param holidayRepository The holiday repository, used to check whether there is anything to restore.
+     * @param jdbcTemplate The JDBC template reading and inserting the rows.
+     * @param transactionManager The transaction manager.
+     */
+    public HolidaySnapshotStore(HolidaysProperties holidaysProperties, HolidayRepository holidayRepository,
+                                JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.settings = holidaysProperties.getSnapshot();
+        this.holidayRepository = holidayRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Holidays and tombstones are read from one consistent view, so the snapshot never splits a deletion
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.restoreTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Restores the last snapshot at startup if the holiday table is empty.
+     * A snapshot that cannot be read or inserted is logged and ignored, and the application starts empty.
+     */
+    @PostConstruct
+    void restore() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Path file = Path.of(settings.getFile());
+        if (!Files.exists(file)) {
+            logger.info("No holiday snapshot found at {}.", file);
+            return;
+        }
+        if (holidayRepository.count() > 0) {
+            logger.info("Holidays already on file, not restoring the snapshot at {}.", file);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long[] counts = restoreTransaction.execute(status -> restore(file));
+            logger.info("Restored {} holidays, {} tombstones and {} archived holidays from the snapshot at {} "
+                    + "in {} ms.", counts[0], counts[1], counts[2], file, (System.nanoTime() - start) / 1_000_000);
+        } catch (UncheckedIOException ex) {
+            logger.error("Failed to restore the holiday snapshot at {}: {}", file, ex.getMessage());
+        } catch (RuntimeException ex) {
+            // e.g. a snapshot holding the same holiday twice: the restore is rolled back rather than aborting startup
+            logger.error("Failed to restore the holiday snapshot at {}.", file, ex);
+        }
+    }
+
+    /**
+     * Writes a snapshot of all holidays, or of those with the statuses listed in `holidays.snapshot.statuses`,
+     * every `holidays.snapshot.interval`.
+     */
+    @Scheduled(fixedDelayString = "${holidays.snapshot.interval:PT5M}",
+            initialDelayString = "${holidays.snapshot.interval:PT5M}")
+    public void writeSnapshot() {
+        if (settings.isEnabled()) {
+            write();
+        }
+    }
+
+    /**
+     * Writes a last snapshot when the application shuts down.
+     */
+    @PreDestroy
+    void writeOnShutdown() {
+        if (settings.isEnabled()) {
+            write();
+        }
+    }
+
+    /**
+     * Writes the snapshot file. Only one snapshot is written at a time.
+     *
+     * @return true if the snapshot was written, false if writing failed (the previous snapshot is then kept).
+     */
+    synchronized boolean write() {
+        Path file = Path.of(settings.getFile());
+        Set<HolidayStatus> statuses = Set.copyOf(settings.getStatuses());
+        long start = System.nanoTime();
+        try (HolidaySnapshotFile.Writer writer = HolidaySnapshotFile.writer(file)) {
+            Long prunedUpTo = snapshotTransaction.execute(status -> {
+                jdbcTemplate.query(SELECT_HOLIDAYS, (ResultSet rs) -> {
+                    Holiday holiday = toHoliday(rs);
+                    if (statuses.isEmpty() || holiday.getStatus() != null && statuses.contains(holiday.getStatus())) {
+                        unchecked(() -> writer.writeHoliday(holiday));
+                    }
+                });
+                jdbcTemplate.query(SELECT_TOMBSTONES, (ResultSet rs) -> {
+                    HolidayTombstone tombstone = new HolidayTombstone(rs.getObject("holiday_id", UUID.class),
+                            rs.getString("employee_id"), rs.getLong("change_sequence"),
+                            rs.getLong("deleted_epoch_second"));
+                    unchecked(() -> writer.writeTombstone(tombstone));
+                });
+                if (statuses.isEmpty() || statuses.contains(HolidayStatus.ARCHIVED)) {
+                    jdbcTemplate.query(SELECT_ARCHIVED_HOLIDAYS, (ResultSet rs) -> {
+                        ArchivedHoliday archivedHoliday = toArchivedHoliday(rs);
+                        unchecked(() -> writer.writeArchivedHoliday(archivedHoliday));
+                    });
+                }
+                return jdbcTemplate.queryForObject(SELECT_SYNC_HORIZON, Long.class);
+            });
+            writer.finish(prunedUpTo == null ? 0 : prunedUpTo);
+            logger.info("Wrote {} holidays, {} tombstones and {} archived holidays to the snapshot at {} in {} ms.",
+                    writer.holidayCount(), writer.tombstoneCount(), writer.archivedHolidayCount(), file,
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | UncheckedIOException ex) {
+            logger.error("Failed to write the holiday snapshot at {}: {}", file, ex.getMessage());
+            return false;
+        }
+    }
+
+    private long[] restore(Path file) {
+        List<Holiday> holidays = new ArrayList<>(RESTORE_BATCH_SIZE);
+        List<HolidayTombstone> tombstones = new ArrayList<>(RESTORE_BATCH_SIZE);
+        List<ArchivedHoliday> archivedHolidays = new ArrayList<>(RESTORE_BATCH_SIZE);
+        long[] counts = new long[3];
+        long prunedUpTo;
+        try {
+            prunedUpTo = HolidaySnapshotFile.read(file, holiday -> {
+                holidays.add(holiday);
+                if (holidays.size() == RESTORE_BATCH_SIZE) {
+                    counts[0] += insertHolidays(holidays);
+                }
+            }, tombstone -> {
+                tombstones.add(tombstone);
+                if (tombstones.size() == RESTORE_BATCH_SIZE) {
+                    counts[1] += insertTombstones(tombstones);
+                }
+            }, archivedHoliday -> {
+                archivedHolidays.add(archivedHoliday);
+                if (archivedHolidays.size() == RESTORE_BATCH_SIZE) {
+                    counts[2] += insertArchivedHolidays(archivedHolidays);
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        counts[0] += insertHolidays(holidays);
+        counts[1] += insertTombstones(tombstones);
+        counts[2] += insertArchivedHolidays(archivedHolidays);
+        if (prunedUpTo > 0) {
+            jdbcTemplate.update(INSERT_SYNC_HORIZON, HolidaySyncHorizon.ID, prunedUpTo);
+        }
+        return counts;
+    }
+
+    private int insertHolidays(List<Holiday> holidays) {
+        if (holidays.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_HOLIDAY, holidays, holidays.size(), (statement, holiday) -> {
+            statement.setObject(1, holiday.getHolidayId());
+            statement.setString(2, holiday.getHolidayLabel());
+            statement.setString(3, holiday.getEmployeeId());
+            statement.setObject(4, holiday.getStartOfHoliday());
+            statement.setObject(5, holiday.getEndOfHoliday());
+            statement.setLong(6, holiday.getStartEpochSecond());
+            statement.setLong(7, holiday.getEndEpochSecond());
+            if (holiday.getStatus() == null) {
+                statement.setNull(8, Types.TINYINT);
+            } else {
+                statement.setInt(8, holiday.getStatus().ordinal());
+            }
+            statement.setObject(9, holiday.getChangeSequence(), Types.BIGINT);
+        });
+        int inserted = holidays.size();
+        holidays.clear();
+        return inserted;
+    }
+
+    private int insertTombstones(List<HolidayTombstone> tombstones) {
+        if (tombstones.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE, tombstones, tombstones.size(), (statement, tombstone) -> {
+            statement.setObject(1, tombstone.getHolidayId());
+            statement.setString(2, tombstone.getEmployeeId());
+            statement.setLong(3, tombstone.getChangeSequence());
+            statement.setLong(4, tombstone.getDeletedEpochSecond());
+        });
+        int inserted = tombstones.size();
+        tombstones.clear();
+        return inserted;
+    }
+
+    private int insertArchivedHolidays(List<ArchivedHoliday> archivedHolidays) {
+        if (archivedHolidays.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVED_HOLIDAY, archivedHolidays, archivedHolidays.size(),
+                (statement, archivedHoliday) -> {
+                    statement.setObject(1, archivedHoliday.getHolidayId());
+                    statement.setString(2, archivedHoliday.getHolidayLabel());
+                    statement.setString(3, archivedHoliday.getEmployeeId());
+                    statement.setObject(4, archivedHoliday.getStartOfHoliday());
+                    statement.setObject(5, archivedHoliday.getEndOfHoliday());
+                    statement.setLong(6, archivedHoliday.getStartEpochSecond());
+                    statement.setLong(7, archivedHoliday.getEndEpochSecond());
+                    statement.setInt(8, archivedHoliday.getStatus().ordinal());
+                    statement.setObject(9, archivedHoliday.getArchivedAt());
+                });
+        int inserted = archivedHolidays.size();
+        archivedHolidays.clear();
+        return inserted;
+    }
+
+    private static Holiday toHoliday(ResultSet rs) throws SQLException {
+        int status = rs.getInt("status");
+        boolean hasStatus = !rs.wasNull();
+        long changeSequence = rs.getLong("change_sequence");
+        boolean hasChangeSequence = !rs.wasNull();
+        return Holiday.builder()
+                .holidayId(rs.getObject("holiday_id", UUID.class))
+                .holidayLabel(rs.getString("holiday_label"))
+                .employeeId(rs.getString("employee_id"))
+                .startOfHoliday(rs.getObject("start_of_holiday", OffsetDateTime.class))
+                .endOfHoliday(rs.getObject("end_of_holiday", OffsetDateTime.class))
+                .status(hasStatus ? HolidayStatus.values()[status] : null)
+                .changeSequence(hasChangeSequence ? changeSequence : null)
+                .build();
+    }
+
+    private static ArchivedHoliday toArchivedHoliday(ResultSet rs) throws SQLException {
+        return ArchivedHoliday.builder()
+                .holidayId(rs.getObject("holiday_id", UUID.class))
+                .holidayLabel(rs.getString("holiday_label"))
+                .employeeId(rs.getString("employee_id"))
+                .startOfHoliday(rs.getObject("start_of_holiday", OffsetDateTime.class))
+                .endOfHoliday(rs.getObject("end_of_holiday", OffsetDateTime.class))
+                .status(HolidayStatus.ARCHIVED)
+                .archivedAt(rs.getObject("archived_at", OffsetDateTime.class))
+                .build();
+    }
+
+    private static void unchecked(SnapshotWrite write) {
+        try {
+            write.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A write to the snapshot file.
+     */
+    @FunctionalInterface
+    private interface SnapshotWrite {
+
+        void run() throws IOException;
+    }
+}
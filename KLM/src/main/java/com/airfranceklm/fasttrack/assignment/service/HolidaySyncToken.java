@@ -0,0 +1,60 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+
+/**
+ * Delta sync token: the change sequence a client has synced up to, and the tombstone pruning horizon when
+ * the token was issued. Tombstones pruned up to that horizon recorded deletions made before the client's read,
+ * of holidays it never received, so the token only expires once tombstones beyond both numbers are pruned.
+ * It is handed to clients as the sequence alone, followed by `-` and the horizon when the horizon is ahead of it.
+ *
+ * @param changeSequence The change sequence synced up to.
+ * @param prunedUpTo The pruning horizon when the token was issued.
+ */
+record HolidaySyncToken(long changeSequence, long prunedUpTo) {
+
+    private static final String SEPARATOR = "-";
+
+    /**
+     * Decodes a sync token received from a client.
+     *
+     * @param since The sync token.
+     * @return The decoded token.
+     * @throws InvalidHolidayException If the token was not produced by {@link #encode()}.
+     */
+    static HolidaySyncToken decode(String since) {
+        try {
+            int separator = since.indexOf(SEPARATOR);
+            long changeSequence = Long.parseLong(separator < 0 ? since : since.substring(0, separator));
+            long prunedUpTo = separator < 0 ? 0 : Long.parseLong(since.substring(separator + 1));
+            if (changeSequence < 0 || prunedUpTo < 0) {
+                throw new NumberFormatException(since);
+            }
+            return new HolidaySyncToken(changeSequence, prunedUpTo);
+        } catch (NumberFormatException ex) {
+            throw new InvalidHolidayException(HolidayRejectionReason.INVALID_SYNC_TOKEN, "Invalid sync token", ex);
+        }
+    }
+
+    /**
+     * Tells whether the deletions this token still has to sync may have been pruned.
+     *
+     * @param currentPrunedUpTo The current pruning horizon.
+     * @return true if the client must sync from scratch.
+     */
+    boolean isExpired(long currentPrunedUpTo) {
+        return Math.max(changeSequence, prunedUpTo) < currentPrunedUpTo;
+    }
+
+    /**
+     * Encodes the token as the string handed to clients.
+     *
+     * @return The encoded token.
+     */
+    String encode() {
+        return prunedUpTo > changeSequence
+                ? changeSequence + SEPARATOR + prunedUpTo
+                : Long.toString(changeSequence);
+    }
+}
@@ -0,0 +1,57 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Periodically deletes the tombstones of the holidays deleted more than `holidays.sync.tombstone-retention` ago,
+ * so that the tombstone table does not grow with every deletion ever made. Clients that have not synced within
+ * the retention are told to sync from scratch.
+ * The job is created at startup even under lazy initialisation, otherwise it would never be scheduled;
+ * the holiday service it calls is only resolved on its first run.
+ */
+@Component
+@Lazy(false)
+public class HolidayTombstonePruneJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayTombstonePruneJob.class);
+
+    private final HolidayService holidayService;
+
+    private final HolidaysProperties holidaysProperties;
+
+    /**
+     * Creates the job.
+     *
+     * @param holidayService The holiday service, resolved on first use.
+     * @param holidaysProperties The application settings.
+     */
+    public HolidayTombstonePruneJob(@Lazy HolidayService holidayService, HolidaysProperties holidaysProperties) {
+        this.holidayService = holidayService;
+        this.holidaysProperties = holidaysProperties;
+    }
+
+    /**
+     * Prunes the tombstones older than the retention every `holidays.sync.prune-interval`.
+     */
+    @Scheduled(fixedDelayString = "${holidays.sync.prune-interval:PT1H}",
+            initialDelayString = "${holidays.sync.prune-interval:PT1H}")
+    public void pruneTombstones() {
+        HolidaysProperties.Sync settings = holidaysProperties.getSync();
+        if (settings.getTombstoneRetention().isNegative()) {
+            logger.error("Not pruning tombstones: the tombstone retention {} is negative.",
+                    settings.getTombstoneRetention());
+            return;
+        }
+        OffsetDateTime deletedBefore = OffsetDateTime.now(ZoneOffset.UTC).minus(settings.getTombstoneRetention());
+        logger.info("Pruning the tombstones of holidays deleted before {}.", deletedBefore);
+        holidayService.pruneTombstones(deletedBefore);
+    }
+}
@@ -0,0 +1,223 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * The business rules a holiday must meet to be accepted: the minimum lead time, a maximum length, no overlap with
+ * another holiday and a minimum gap between holidays. Shared by the servlet and the reactive holiday services, so both stacks
+ * accept and reject exactly the same holidays.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayValidationRules {
+
+    private static final int MINIMUM_WORKING_DAYS_BETWEEN_HOLIDAYS = 3;
+
+    private static final int MINIMUM_WORKING_DAYS_OF_LEAD_TIME = 5;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final WorkingDayCalendar workingDayCalendar;
+
+    /**
+     * Computes, once per holiday, the epoch-second bounds used by the overlap and gap rules, so the checks
+     * run under the index lock compare longs only. The gap window runs from the day after the third working day
+     * before the start of the holiday to the day after the third working day from its start on.
+     *
+     * @param holidayDTO The holiday to be validated.
+     * @return The bounds of the holiday and of its gap window.
+     */
+    public ValidationBounds validationBounds(HolidayDTO holidayDTO) {
+        OffsetDateTime start = holidayDTO.getStartOfHoliday();
+        LocalDate startDate = start.toLocalDate();
+        return new ValidationBounds(start.toEpochSecond(), holidayDTO.getEndOfHoliday().toEpochSecond(),
+                gapWindowStart(startDate, start.getOffset()), gapWindowEnd(startDate, start.getOffset()));
+    }
+
+    /**
+     * Finds the earliest holiday of the given length that meets the lead-time, overlap and gap rules,
+     * starting at midnight UTC on or after the given date.
+     * The search is a single forward sweep over the index, under one consistent state of it: the first candidate
+     * is the first day the lead time allows, and every candidate rejected by a holiday jumps straight to the
+     * first day that holiday no longer rejects (after its end for the overlap rule, 3 working days after its end
+     * for the gap rule), so no day is tried twice and no holiday is ever inserted to test a candidate.
+     *
+     * @param notBefore The first day the holiday may start on.
+     * @param days The length of the holiday, in days.
+     * @param existingHolidays The existing holidays to validate against.
+     * @return The start of the earliest holiday meeting all the rules; the holiday ends `days` days later.
+     * @throws InvalidHolidayException If the given date or the slot found lies beyond the working-day calendar.
+     */
+    public OffsetDateTime earliestSlotStart(LocalDate notBefore, int days, HolidayIntervalIndex existingHolidays) {
+        // The first day with 5 working days between today (inclusive) and itself (exclusive)
+        LocalDate leadTimeDate = workingDayCalendar.plusWorkingDays(LocalDate.now(), MINIMUM_WORKING_DAYS_OF_LEAD_TIME)
+                .plusDays(1);
+        LocalDate firstCandidate = notBefore.isAfter(leadTimeDate) ? notBefore : leadTimeDate;
+        // Reject a start beyond the calendar before taking the index lock, not after sweeping up to it
+        workingDayCalendar.checkCovers(firstCandidate);
+        return existingHolidays.read(index -> {
+            LocalDate candidate = firstCandidate;
+            while (true) {
+                long start = candidate.toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
+                long end = candidate.plusDays(days).toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
+                OptionalLong overlappingEnd = index.latestEndOverlapping(start, end);
+                if (overlappingEnd.isPresent()) {
+                    candidate = firstDayStartingAtOrAfter(overlappingEnd.getAsLong());
+                    continue;
+                }
+                OptionalLong gapEnd = index.latestEndBetween(gapWindowStart(candidate, ZoneOffset.UTC),
+                        gapWindowEnd(candidate, ZoneOffset.UTC));
+                if (gapEnd.isPresent()) {
+                    // The first day whose gap window starts at or after the end of that holiday
+                    LocalDate endDay = firstDayStartingAtOrAfter(gapEnd.getAsLong());
+                    candidate = workingDayCalendar.plusWorkingDays(endDay.minusDays(1),
+                            MINIMUM_WORKING_DAYS_BETWEEN_HOLIDAYS).plusDays(1);
+                    continue;
+                }
+                workingDayCalendar.checkCovers(candidate.plusDays(days));
+                return candidate.atStartOfDay().atOffset(ZoneOffset.UTC);
+            }
+        });
+    }
+
+    private long gapWindowStart(LocalDate startDate, ZoneOffset offset) {
+        return workingDayCalendar.minusWorkingDays(startDate, MINIMUM_WORKING_DAYS_BETWEEN_HOLIDAYS)
+                .plusDays(1)
+                .toEpochSecond(LocalTime.MIDNIGHT, offset);
+    }
+
+    private long gapWindowEnd(LocalDate startDate, ZoneOffset offset) {
+        return workingDayCalendar.plusWorkingDays(startDate, MINIMUM_WORKING_DAYS_BETWEEN_HOLIDAYS)
+                .plusDays(1)
+                .toEpochSecond(LocalTime.MIDNIGHT, offset);
+    }
+
+    /**
+     * Returns the first day whose midnight UTC is not before the given moment.
+     */
+    private static LocalDate firstDayStartingAtOrAfter(long epochSecond) {
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+        return Math.floorMod(epochSecond, SECONDS_PER_DAY) == 0 ? day : day.plusDays(1);
+    }
+
+    /**
+     * Checks if the holiday overlaps with any existing holidays for the same or different employees,
+     * excluding the holiday being updated (its own dates).
+     *
+     * @param bounds The bounds of the holiday to be validated.
+     * @param excludedHolidayId The ID of the holiday being updated, or null when creating a new one.
+     * @param existingHolidays The existing holidays to validate against.
+     * @throws InvalidHolidayException If there is an overlap with an existing holiday.
+     */
+    public void checkForHolidayOverlap(ValidationBounds bounds, UUID excludedHolidayId,
+                                       HolidayIntervalIndex existingHolidays) {
+        if (existingHolidays.overlaps(bounds.start(), bounds.end(), excludedHolidayId)) {
+            throw new InvalidHolidayException(HolidayRejectionReason.OVERLAP,
+                    "Holiday overlaps with an existing holiday.");
+        }
+    }
+
+    /**
+     * Checks that there is a gap of at least 3 working days between the new holiday and existing holidays,
+     * i.e. that no other holiday ends less than 3 working days away from its start.
+     * The gap window is derived from the working-day calendar, so the check remains a single range lookup.
+     *
+     * @param bounds The bounds of the holiday to be validated.
+     * @param excludedHolidayId The ID of the holiday being updated, or null when creating a new one.
+     * @param existingHolidays The existing holidays to validate against.
+     * @throws InvalidHolidayException If the gap is less than 3 working days.
+     */
+    public void checkForGapBetweenHolidays(ValidationBounds bounds, UUID excludedHolidayId,
+                                           HolidayIntervalIndex existingHolidays) {
+        if (existingHolidays.endsBetween(bounds.gapWindowStart(), bounds.gapWindowEnd(), excludedHolidayId)) {
+            throw new InvalidHolidayException(HolidayRejectionReason.GAP,
+                    "There must be a gap of at least 3 working days between holidays.");
+        }
+    }
+
+    /**
+     * Ensures that the holiday lies within the working-day calendar, so that no rule ever counts working days
+     * beyond the horizon the calendar was computed for.
+     *
+     * @param holidayDTO The holiday to be validated.
+     * @throws InvalidHolidayException If the holiday starts or ends outside the calendar.
+     */
+    public void checkWithinHorizon(HolidayDTO holidayDTO) {
+        workingDayCalendar.checkCovers(holidayDTO.getStartOfHoliday().toLocalDate());
+        workingDayCalendar.checkCovers(holidayDTO.getEndOfHoliday().toLocalDate());
+    }
+
+    /**
+     * Ensures that the holiday lasts no longer than 366 days, which bounds how far before a window
+     * the stored holidays intersecting it can start.
+     *
+     * @param holidayDTO The holiday to be validated.
+     * @throws InvalidHolidayException If the holiday lasts longer than 366 days.
+     */
+    public void checkMaximumLength(HolidayDTO holidayDTO) {
+        long durationSeconds = holidayDTO.getEndOfHoliday().toEpochSecond()
+                - holidayDTO.getStartOfHoliday().toEpochSecond();
+        if (durationSeconds > Holiday.MAXIMUM_DURATION_SECONDS) {
+            throw new InvalidHolidayException(HolidayRejectionReason.TOO_LONG,
+                    "A holiday cannot last longer than 366 days.");
+        }
+    }
+
+    /**
+     * Ensures that the holiday is planned at least 5 working days in advance.
+     * The working-day distance is unsigned, so a holiday starting in the past is rejected on its own.
+     *
+     * @param holidayDTO The holiday to be validated.
+     * @throws InvalidHolidayException If the holiday starts in the past or less than 5 working days from today.
+     */
+    public void checkLeadTimeForHoliday(HolidayDTO holidayDTO) {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = holidayDTO.getStartOfHoliday().toLocalDate();
+        if (startDate.isBefore(today)
+                || workingDayCalendar.workingDaysBetween(today, startDate) < MINIMUM_WORKING_DAYS_OF_LEAD_TIME) {
+            throw new InvalidHolidayException(HolidayRejectionReason.LEAD_TIME,
+                    "Holiday must be planned at least 5 working days in advance.");
+        }
+    }
+
+    /**
+     * The epoch-second bounds of a holiday being validated and of its gap window.
+     *
+     * @param start The start of the holiday.
+     * @param end The end of the holiday.
+     * @param gapWindowStart The start of the window in which no other holiday may end (exclusive).
+     * @param gapWindowEnd The end of the window in which no other holiday may end (exclusive).
+     */
+    public record ValidationBounds(long start, long end, long gapWindowStart, long gapWindowEnd) {
+
+        /**
+         * Returns the start of the window in which another holiday can break the overlap or gap rule.
+         *
+         * @return The start of the validation window.
+         */
+        public long windowStart() {
+            return gapWindowStart;
+        }
+
+        /**
+         * Returns the end of the window in which another holiday can break the overlap or gap rule.
+         *
+         * @return The end of the validation window.
+         */
+        public long windowEnd() {
+            return Math.max(end, gapWindowEnd);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the holidays, used as strong ETags by the read endpoints.
+ * There is one global counter, bumped by every write, and one counter per employee, bumped by the writes to
+ * that employee's holidays. A random ID generated at startup is part of every ETag, so the tags of a previous
+ * run, whose counters started from the same values, never match.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayVersions {
+
+    private final String bootId = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    /**
+     * Bumped when a write could not be attributed to an employee, which invalidates every employee's tag.
+     */
+    private final AtomicLong employeeEpoch = new AtomicLong();
+
+    private final Map<String, AtomicLong> employeeVersions = new ConcurrentHashMap<>();
+
+    private final HolidayIntervalIndex holidayIntervalIndex;
+
+    /**
+     * Returns the ETag of the list of all holidays.
+     *
+     * @return The ETag, without quotes.
+     */
+    public String allHolidaysTag() {
+        return bootId + "-" + globalVersion.get();
+    }
+
+    /**
+     * Returns the ETag of the holidays of an employee.
+     *
+     * @param employeeId The ID of the employee.
+     * @return The ETag, without quotes.
+     */
+    public String employeeHolidaysTag(String employeeId) {
+        AtomicLong version = employeeVersions.get(employeeId);
+        return bootId + "-" + employeeEpoch.get() + "-" + (version == null ? 0 : version.get());
+    }
+
+    /**
+     * Returns the ETag of a single holiday: the tag of its employee's holidays,
+     * or of all holidays if the holiday is not known.
+     *
+     * @param holidayId The ID of the holiday.
+     * @return The ETag, without quotes.
+     */
+    public String holidayTag(UUID holidayId) {
+        return holidayIntervalIndex.findEmployeeId(holidayId)
+                .map(employeeId -> holidayId + "-" + employeeHolidaysTag(employeeId))
+                .orElseGet(() -> holidayId + "-" + allHolidaysTag());
+    }
+
+    /**
+     * Records a write to the holidays of an employee. Inside a transaction, the versions are bumped only once
+     * it commits, so that a concurrent read can never tag the data being replaced with the new version.
+     *
+     * @param employeeId The ID of the employee whose holidays changed, or null if unknown.
+     */
+    public void bump(String employeeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(employeeId);
+                }
+            });
+        } else {
+            bumpNow(employeeId);
+        }
+    }
+
+    private void bumpNow(String employeeId) {
+        if (employeeId == null) {
+            employeeEpoch.incrementAndGet();
+        } else {
+            employeeVersions.computeIfAbsent(employeeId, id -> new AtomicLong()).incrementAndGet();
+        }
+        globalVersion.incrementAndGet();
+    }
+}
@@ -0,0 +1,85 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking variant of `HolidayService` for the reactive stack.
+ * It has the same semantics, including the validation rules, but returns publishers and never blocks
+ * the calling thread on the database.
+ */
+public interface ReactiveHolidayService {
+
+    /**
+     * Retrieves one page of all holidays, ordered by start date.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of holidays.
+     */
+    Mono<HolidayPageDTO> getAllHolidays(String cursor, Integer limit);
+
+    /**
+     * Retrieves a holiday by its unique ID.
+     *
+     * @param holidayId The ID of the holiday to be retrieved.
+     * @return The requested holiday as a HolidayDTO.
+     */
+    Mono<HolidayDTO> getHolidayById(UUID holidayId);
+
+    /**
+     * Creates a new holiday.
+     *
+     * @param holidayDTO The holiday data to be created.
+     * @return The created holiday as a HolidayDTO.
+     */
+    Mono<HolidayDTO> createHoliday(HolidayDTO holidayDTO);
+
+    /**
+     * Deletes a holiday by its unique ID.
+     *
+     * @param holidayId The ID of the holiday to be deleted.
+     * @return Completes once the holiday is deleted.
+     */
+    Mono<Void> deleteHoliday(UUID holidayId);
+
+    /**
+     * Updates an existing holiday.
+     *
+     * @param holidayId The ID of the holiday to be updated.
+     * @param holidayDTO The holiday data to be updated.
+     * @return The updated holiday as a HolidayDTO.
+     */
+    Mono<HolidayDTO> updateHoliday(UUID holidayId, HolidayDTO holidayDTO);
+
+    /**
+     * Retrieves one page of the holidays of an employee, ordered by start date.
+     *
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of the employee's holidays.
+     */
+    Mono<HolidayPageDTO> getMyHolidays(String employeeId, String cursor, Integer limit);
+
+    /**
+     * Retrieves one page of the archived holidays, ordered by start date.
+     *
+     * @param employeeId The ID of the employee, or null for the archived holidays of all employees.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of archived holidays.
+     */
+    Mono<HolidayPageDTO> getArchivedHolidays(String employeeId, String cursor, Integer limit);
+
+    /**
+     * Streams all holidays, under the backpressure of the subscriber.
+     *
+     * @return All holidays.
+     */
+    Flux<HolidayDTO> exportHolidays();
+}
@@ -0,0 +1,378 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.mapper.HolidayMapper;
+import com.airfranceklm.fasttrack.assignment.repository.ReactiveHolidayRepository;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import com.airfranceklm.fasttrack.assignment.service.HolidayValidationRules.ValidationBounds;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of the ReactiveHolidayService interface, on top of R2DBC.
+ * It shares the interval and coverage indexes, the validation rules, the change sequence, the ETag versions and
+ * the event stream with `HolidayServiceImpl`, so a holiday is validated, indexed, versioned and announced exactly
+ * as on the servlet stack. The only blocking step left is the in-memory claim, which holds the index lock
+ * for a few lookups and never across database work.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveHolidayServiceImpl implements ReactiveHolidayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHolidayServiceImpl.class);
+
+    private static final String VALIDATION_ROWS_SUMMARY = "holidays.validation.rows";
+
+    private final ReactiveHolidayRepository reactiveHolidayRepository;
+
+    private final HolidayIntervalIndex holidayIntervalIndex;
+
+    private final HolidayCoverageIndex holidayCoverageIndex;
+
+    private final HolidayValidationRules holidayValidationRules;
+
+    private final HolidaysProperties holidaysProperties;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final HolidayVersions holidayVersions;
+
+    private final HolidayChangeSequence holidayChangeSequence;
+
+    private final MeterRegistry meterRegistry;
+
+    private final HolidayEventStream holidayEventStream;
+
+    /**
+     * Retrieves one page of all holidays, ordered by start date, projected straight into HolidayDTOs.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of holidays, or an InvalidHolidayException if the cursor or the page size is invalid.
+     */
+    @Override
+    public Mono<HolidayPageDTO> getAllHolidays(String cursor, Integer limit) {
+        return findPage(false, null, cursor, limit);
+    }
+
+    /**
+     * Retrieves a holiday by its unique ID, projected straight into a HolidayDTO.
+     *
+     * @param holidayId The ID of the holiday.
+     * @return The requested holiday, or an InvalidHolidayException if the holiday is not found.
+     */
+    @Override
+    public Mono<HolidayDTO> getHolidayById(UUID holidayId) {
+        return reactiveHolidayRepository.findDTOById(holidayId)
+                .switchIfEmpty(Mono.error(() -> new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                        "Holiday not found")))
+                .doOnSubscribe(subscription -> logger.info("Fetching holiday with ID: {}", holidayId))
+                .doOnError(ex -> logger.error("Holiday with ID: {} not found.", holidayId));
+    }
+
+    /**
+     * Creates a new holiday after performing necessary validations.
+     * The ID is generated up front, so the period is claimed under the holiday's final ID. Once claimed, the insert
+     * runs to completion even if the caller cancels, and the claim is confirmed or released by its outcome.
+     *
+     * @param holidayDTO The holiday data to be created.
+     * @return The created holiday, or an InvalidHolidayException if the holiday breaks a rule.
+     */
+    @Override
+    public Mono<HolidayDTO> createHoliday(HolidayDTO holidayDTO) {
+        return Mono.defer(() -> {
+            logger.info("Creating new holiday with label: {}", holidayDTO.getHolidayLabel());
+            UUID holidayId = UUID.randomUUID();
+            return claimHoliday(holidayId, holidayDTO, null).flatMap(claim -> {
+                Holiday holiday = HolidayMapper.toEntity(holidayDTO);
+                holiday.setHolidayId(holidayId);
+                long changeSequence = holidayChangeSequence.next();
+                holiday.setChangeSequence(changeSequence);
+                return detached(reactiveHolidayRepository.insert(holiday)
+                        .doOnError(ex -> claim.release())
+                        .doFinally(signal -> holidayChangeSequence.complete(changeSequence))
+                        .then(Mono.fromSupplier(() -> {
+                            claim.confirm(holidayId);
+                            holidayCoverageIndex.put(holiday);
+                            HolidayDTO savedHolidayDTO = HolidayMapper.toDTO(holiday);
+                            recordHolidayChange(HolidayEventType.CREATED, holidayId, holiday.getEmployeeId(),
+                                    savedHolidayDTO);
+                            logger.info("Successfully created holiday with ID: {}", holidayId);
+                            return savedHolidayDTO;
+                        })));
+            });
+        });
+    }
+
+    /**
+     * Deletes a holiday by its unique ID: the delete and the insert of its tombstone run in one R2DBC transaction.
+     * The change sequence number is completed once the transaction is over, never before its commit; the transaction
+     * runs to completion even if the caller cancels, so that the index always follows its outcome.
+     *
+     * @param holidayId The ID of the holiday to be deleted.
+     * @return Completes once the holiday is deleted, or an InvalidHolidayException if the holiday is not found.
+     */
+    @Override
+    public Mono<Void> deleteHoliday(UUID holidayId) {
+        return Mono.defer(() -> {
+            logger.info("Deleting holiday with ID: {}", holidayId);
+            String employeeId = holidayIntervalIndex.findEmployeeId(holidayId).orElse(null);
+            long changeSequence = holidayChangeSequence.next();
+            return detached(reactiveHolidayRepository.deleteHolidayById(holidayId)
+                    .flatMap(deletedHolidays -> deletedHolidays == 0
+                            ? Mono.<Void>error(new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                                    "Holiday not found"))
+                            : reactiveHolidayRepository.insertTombstone(
+                                    new HolidayTombstone(holidayId, employeeId, changeSequence,
+                                            Instant.now().getEpochSecond())))
+                    .as(transactionalOperator::transactional)
+                    .doFinally(signal -> holidayChangeSequence.complete(changeSequence))
+                    .then(Mono.fromRunnable(() -> {
+                        holidayIntervalIndex.remove(holidayId);
+                        holidayCoverageIndex.remove(holidayId);
+                        recordHolidayChange(HolidayEventType.DELETED, holidayId, employeeId, null);
+                        logger.info("Successfully deleted holiday with ID: {}", holidayId);
+                    })))
+                    .doOnError(ex -> logger.error("Failed to delete holiday with ID: {}. Reason: {}", holidayId,
+                            ex.getMessage()))
+                    .then();
+        });
+    }
+
+    /**
+     * Updates an existing holiday after performing necessary validations.
+     * As on the servlet stack, the current period and employee of the holiday are read from the interval index,
+     * and the update is a single statement whose affected-row count tells whether the holiday still existed.
+     * Once started, the update runs to completion even if the caller cancels, like the insert of a new holiday.
+     *
+     * @param holidayId The ID of the holiday to be updated.
+     * @param holidayDTO The holiday data to be updated.
+     * @return The updated holiday, or an InvalidHolidayException if the holiday is not found or invalid.
+     */
+    @Override
+    public Mono<HolidayDTO> updateHoliday(UUID holidayId, HolidayDTO holidayDTO) {
+        return Mono.defer(() -> {
+            logger.info("Updating holiday with ID: {}", holidayId);
+
+            // The index holds every holiday on file, with the employee it belongs to
+            String employeeId = holidayIntervalIndex.findEmployeeId(holidayId)
+                    .orElseThrow(() -> new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                            "Holiday not found"));
+
+            OffsetDateTime start = holidayDTO.getStartOfHoliday();
+            OffsetDateTime end = holidayDTO.getEndOfHoliday();
+            boolean isDateUpdated = !holidayIntervalIndex.hasPeriod(holidayId, start.toEpochSecond(),
+                    end.toEpochSecond());
+            Mono<Optional<HolidayIntervalIndex.Claim>> claimed = isDateUpdated
+                    ? claimHoliday(holidayId, holidayDTO, holidayId).map(Optional::of)
+                    : Mono.just(Optional.empty());
+
+            return claimed.flatMap(claim -> {
+                long changeSequence = holidayChangeSequence.next();
+                return detached(reactiveHolidayRepository.updateHoliday(holidayId, holidayDTO.getHolidayLabel(),
+                                start, end, holidayDTO.getStatus(), changeSequence)
+                        .doOnError(ex -> claim.ifPresent(HolidayIntervalIndex.Claim::release))
+                        .doFinally(signal -> holidayChangeSequence.complete(changeSequence))
+                        .map(updatedHolidays -> {
+                            if (updatedHolidays == 0) {
+                                // Deleted since it was looked up in the index
+                                claim.ifPresent(HolidayIntervalIndex.Claim::release);
+                                holidayIntervalIndex.remove(holidayId);
+                                holidayCoverageIndex.remove(holidayId);
+                                throw new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND,
+                                        "Holiday not found");
+                            }
+                            HolidayDTO updatedHolidayDTO = new HolidayDTO(holidayId, holidayDTO.getHolidayLabel(),
+                                    employeeId, start, end, holidayDTO.getStatus());
+                            Holiday updatedHoliday = HolidayMapper.toEntity(updatedHolidayDTO);
+                            updatedHoliday.setHolidayId(holidayId);
+                            holidayIntervalIndex.put(updatedHoliday);
+                            holidayCoverageIndex.put(updatedHoliday);
+                            recordHolidayChange(HolidayEventType.UPDATED, holidayId, employeeId, updatedHolidayDTO);
+                            logger.info("Successfully updated holiday with ID: {}", holidayId);
+                            return updatedHolidayDTO;
+                        }));
+            });
+        });
+    }
+
+    /**
+     * Retrieves one page of the holidays of an employee, ordered by start date, projected straight into HolidayDTOs.
+     *
+     * @param employeeId The ID of the employee.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page, or an InvalidHolidayException if the cursor or the page size is invalid.
+     */
+    @Override
+    public Mono<HolidayPageDTO> getMyHolidays(String employeeId, String cursor, Integer limit) {
+        return findPage(false, employeeId, cursor, limit);
+    }
+
+    /**
+     * Retrieves one page of the archived holidays, ordered by start date, projected straight into HolidayDTOs.
+     *
+     * @param employeeId The ID of the employee, or null for the archived holidays of all employees.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page, or an InvalidHolidayException if the cursor or the page size is invalid.
+     */
+    @Override
+    public Mono<HolidayPageDTO> getArchivedHolidays(String employeeId, String cursor, Integer limit) {
+        return findPage(true, employeeId, cursor, limit);
+    }
+
+    /**
+     * Streams all holidays straight from the driver; the rows are read only as fast as the client consumes them.
+     *
+     * @return All holidays.
+     */
+    @Override
+    public Flux<HolidayDTO> exportHolidays() {
+        return Flux.defer(() -> {
+            logger.info("Exporting all holidays.");
+            return reactiveHolidayRepository.findAll();
+        });
+    }
+
+    /**
+     * Validates the holiday data against business rules (overlap, lead time, gap between holidays)
+     * and claims its period in the interval index, exactly as `HolidayServiceImpl` does. The in-memory checks
+     * and the claim are a single atomic step; the stored holidays around the requested dates are then re-checked
+     * without blocking, and the claim is released if they reject the holiday or the caller gives up.
+     *
+     * @param claimId The ID to claim the period under.
+     * @param holidayDTO The holiday to be validated.
+     * @param excludedHolidayId The ID of the holiday being updated, or null when creating a new one.
+     * @return The claim on the period, or an InvalidHolidayException if any validation rule is violated.
+     */
+    Mono<HolidayIntervalIndex.Claim> claimHoliday(UUID claimId, HolidayDTO holidayDTO, UUID excludedHolidayId) {
+        return Mono.defer(() -> {
+            logger.info("Validating holiday data.");
+            holidayValidationRules.checkWithinHorizon(holidayDTO);
+            holidayValidationRules.checkMaximumLength(holidayDTO);
+            holidayValidationRules.checkLeadTimeForHoliday(holidayDTO);
+
+            ValidationBounds bounds = holidayValidationRules.validationBounds(holidayDTO);
+            HolidayIntervalIndex.Claim claim = holidayIntervalIndex.claim(claimId, holidayDTO.getEmployeeId(),
+                    holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), existingHolidays -> {
+                        holidayValidationRules.checkForHolidayOverlap(bounds, excludedHolidayId, existingHolidays);
+                        holidayValidationRules.checkForGapBetweenHolidays(bounds, excludedHolidayId, existingHolidays);
+                    });
+
+            return findConflicting(bounds.windowStart(), bounds.windowEnd(), excludedHolidayId)
+                    .map(storedHolidays -> {
+                        holidayValidationRules.checkForHolidayOverlap(bounds, excludedHolidayId, storedHolidays);
+                        holidayValidationRules.checkForGapBetweenHolidays(bounds, excludedHolidayId, storedHolidays);
+                        return claim;
+                    })
+                    .doOnError(ex -> claim.release())
+                    .doOnCancel(claim::release);
+        });
+    }
+
+    /**
+     * Fetches the stored holidays that can break a rule within the given window into an interval index,
+     * recording the number of rows read in the `holidays.validation.rows` distribution summary.
+     *
+     * @param from The start of the validation window, in UTC epoch seconds.
+     * @param to The end of the validation window, in UTC epoch seconds.
+     * @param excludedHolidayId The ID of a holiday to ignore (the one being updated), or null.
+     * @return The stored holidays within the window.
+     */
+    private Mono<HolidayIntervalIndex> findConflicting(long from, long to, UUID excludedHolidayId) {
+        return reactiveHolidayRepository.findConflicting(from, to, excludedHolidayId)
+                .collectList()
+                .map(holidays -> {
+                    DistributionSummary.builder(VALIDATION_ROWS_SUMMARY)
+                            .description("Number of stored holidays read to validate a holiday or a batch")
+                            .baseUnit("rows")
+                            .register(meterRegistry)
+                            .record(holidays.size());
+                    HolidayIntervalIndex storedHolidays = new HolidayIntervalIndex();
+                    storedHolidays.rebuild(holidays);
+                    return storedHolidays;
+                });
+    }
+
+    /**
+     * Reads one page of live or archived holidays, of all employees or of one.
+     *
+     * @param archived Whether to read the archived holidays rather than the live ones.
+     * @param employeeId The ID of the employee, or null for the holidays of all employees.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, or null for the default page size.
+     * @return The requested page of holidays.
+     */
+    private Mono<HolidayPageDTO> findPage(boolean archived, String employeeId, String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            logger.info("Fetching a page of {}holidays for employee: {}", archived ? "archived " : "", employeeId);
+            int pageSize = HolidayPages.resolvePageSize(holidaysProperties.getPagination(), limit);
+            int fetchLimit = pageSize + 1;
+            HolidayCursor after = cursor == null ? null : HolidayCursor.decode(cursor);
+            Flux<HolidayDTO> holidays;
+            if (employeeId == null) {
+                holidays = after == null
+                        ? reactiveHolidayRepository.findFirstPage(archived, fetchLimit)
+                        : reactiveHolidayRepository.findPageAfter(archived, after.startOfHoliday().toEpochSecond(),
+                                after.holidayId(), fetchLimit);
+            } else {
+                holidays = after == null
+                        ? reactiveHolidayRepository.findFirstPageByEmployeeId(archived, employeeId, fetchLimit)
+                        : reactiveHolidayRepository.findPageByEmployeeIdAfter(archived, employeeId,
+                                after.startOfHoliday().toEpochSecond(), after.holidayId(), fetchLimit);
+            }
+            return holidays.collectList()
+                    .map(fetched -> HolidayPages.toPage(fetched, pageSize))
+                    .doOnNext(page -> logger.info("Fetched {} holidays.", page.getHolidays().size()));
+        });
+    }
+
+    /**
+     * Runs a write to completion regardless of its caller: a statement already sent may still commit after the
+     * caller cancels, so the claim on the period and the change sequence number must follow the outcome of the
+     * statement, not the subscription. A caller that stays subscribed gets that outcome.
+     *
+     * @param write The write, together with the bookkeeping run on its outcome.
+     * @param <T> The type of the result of the write.
+     * @return The outcome of the write.
+     */
+    private static <T> Mono<T> detached(Mono<T> write) {
+        return Mono.fromFuture(write.toFuture(), true);
+    }
+
+    /**
+     * Records a committed write to a holiday: bumps the versions behind the ETags and pushes the change
+     * to the subscribers of the event stream.
+     *
+     * @param type The kind of write.
+     * @param holidayId The ID of the holiday written.
+     * @param employeeId The ID of the employee of the holiday, or null if unknown.
+     * @param holiday The holiday as saved, or null if it was deleted.
+     */
+    private void recordHolidayChange(HolidayEventType type, UUID holidayId, String employeeId, HolidayDTO holiday) {
+        holidayVersions.bump(employeeId);
+        holidayEventStream.publish(new HolidayEventDTO(type, holidayId, employeeId, holiday));
+    }
+}
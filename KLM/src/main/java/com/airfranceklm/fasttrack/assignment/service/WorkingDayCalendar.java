@@ -0,0 +1,202 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Calendar of working days: every day from Monday to Friday, except the configured public holidays.
+ * The calendar covers the years from `holidays.calendar.first-year` to `holidays.calendar.last-year`, all computed
+ * once at startup into a bitset of the working days of each year, the prefix counts of working days before each
+ * day of the year and the cumulative count of working days before each year. Counting the working days between
+ * any two dates of the calendar therefore takes constant time, and a date outside it is rejected rather than
+ * computed on demand.
+ */
+@Component
+public class WorkingDayCalendar {
+
+    private final int firstYear;
+
+    private final int lastYear;
+
+    private final WorkingYear[] years;
+
+    /**
+     * The number of working days from the first day of the calendar to the first day of each year.
+     */
+    private final int[] workingDaysBeforeYear;
+
+    /**
+     * Creates the calendar with the public holidays and the years configured in `holidays.calendar.*`.
+     *
+     * @param holidaysProperties The application settings.
+     */
+    public WorkingDayCalendar(HolidaysProperties holidaysProperties) {
+        HolidaysProperties.Calendar calendar = holidaysProperties.getCalendar();
+        if (calendar.getLastYear() < calendar.getFirstYear()) {
+            throw new IllegalArgumentException("holidays.calendar.last-year must not be before its first-year");
+        }
+        Set<LocalDate> publicHolidays = Set.copyOf(calendar.getPublicHolidays());
+        this.firstYear = calendar.getFirstYear();
+        this.lastYear = calendar.getLastYear();
+        this.years = new WorkingYear[lastYear - firstYear + 1];
+        this.workingDaysBeforeYear = new int[years.length + 1];
+        for (int index = 0; index < years.length; index++) {
+            years[index] = computeYear(firstYear + index, publicHolidays);
+            workingDaysBeforeYear[index + 1] = workingDaysBeforeYear[index] + years[index].total();
+        }
+    }
+
+    /**
+     * Returns the last day of the calendar, beyond which no holiday can be planned.
+     *
+     * @return The last day of the last year of the calendar.
+     */
+    public LocalDate lastDay() {
+        return LocalDate.of(lastYear, 12, 31);
+    }
+
+    /**
+     * Ensures that a date lies within the calendar.
+     *
+     * @param date The date to check.
+     * @throws InvalidHolidayException If the date is before the first or after the last year of the calendar.
+     */
+    public void checkCovers(LocalDate date) {
+        if (date.getYear() < firstYear || date.getYear() > lastYear) {
+            throw new InvalidHolidayException(HolidayRejectionReason.BEYOND_HORIZON,
+                    "Dates must be between " + LocalDate.of(firstYear, 1, 1) + " and " + lastDay());
+        }
+    }
+
+    /**
+     * Checks whether the given date is a working day.
+     *
+     * @param date The date to check.
+     * @return true if the date is neither a weekend day nor a public holiday, false otherwise.
+     * @throws InvalidHolidayException If the date lies outside the calendar.
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date).workingDays().get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Counts the working days from the earlier of the two dates (inclusive) to the later one (exclusive).
+     * The order of the arguments does not matter.
+     *
+     * @param first One of the two dates.
+     * @param second The other date.
+     * @return The number of working days between the two dates.
+     * @throws InvalidHolidayException If either date lies outside the calendar.
+     */
+    public int workingDaysBetween(LocalDate first, LocalDate second) {
+        return Math.abs(workingDaysBefore(second) - workingDaysBefore(first));
+    }
+
+    /**
+     * Returns the working day that comes the given number of working days before a date.
+     *
+     * @param date The date to count back from (not counted itself).
+     * @param workingDays The number of working days to count back, at least 1.
+     * @return The last working day counted.
+     * @throws InvalidHolidayException If the count runs out of the calendar.
+     */
+    public LocalDate minusWorkingDays(LocalDate date, int workingDays) {
+        LocalDate day = date;
+        for (int counted = 0; counted < workingDays; counted++) {
+            day = previousWorkingDay(day.minusDays(1));
+        }
+        return day;
+    }
+
+    /**
+     * Returns the working day that comes the given number of working days from a date on.
+     *
+     * @param date The date to count from (counted itself if it is a working day).
+     * @param workingDays The number of working days to count, at least 1.
+     * @return The last working day counted.
+     * @throws InvalidHolidayException If the count runs out of the calendar.
+     */
+    public LocalDate plusWorkingDays(LocalDate date, int workingDays) {
+        LocalDate day = nextWorkingDay(date);
+        for (int counted = 1; counted < workingDays; counted++) {
+            day = nextWorkingDay(day.plusDays(1));
+        }
+        return day;
+    }
+
+    /**
+     * Returns the number of working days from the first day of the calendar to the given date (exclusive).
+     */
+    private int workingDaysBefore(LocalDate date) {
+        int workingDaysBeforeInYear = year(date).workingDaysBefore(date);
+        return workingDaysBeforeYear[date.getYear() - firstYear] + workingDaysBeforeInYear;
+    }
+
+    /**
+     * Returns the given date if it is a working day, otherwise the closest working day before it.
+     */
+    private LocalDate previousWorkingDay(LocalDate date) {
+        int dayOfYear = year(date).workingDays().previousSetBit(date.getDayOfYear() - 1);
+        if (dayOfYear < 0) {
+            return previousWorkingDay(LocalDate.of(date.getYear() - 1, 12, 31));
+        }
+        return LocalDate.ofYearDay(date.getYear(), dayOfYear + 1);
+    }
+
+    /**
+     * Returns the given date if it is a working day, otherwise the closest working day after it.
+     */
+    private LocalDate nextWorkingDay(LocalDate date) {
+        WorkingYear year = year(date);
+        int dayOfYear = year.workingDays().nextSetBit(date.getDayOfYear() - 1);
+        if (dayOfYear < 0 || dayOfYear >= year.length()) {
+            return nextWorkingDay(LocalDate.of(date.getYear() + 1, 1, 1));
+        }
+        return LocalDate.ofYearDay(date.getYear(), dayOfYear + 1);
+    }
+
+    private WorkingYear year(LocalDate date) {
+        checkCovers(date);
+        return years[date.getYear() - firstYear];
+    }
+
+    private static WorkingYear computeYear(int year, Set<LocalDate> publicHolidays) {
+        int length = LocalDate.of(year, 1, 1).lengthOfYear();
+        BitSet workingDays = new BitSet(length);
+        int[] workingDaysBefore = new int[length + 1];
+        for (int dayOfYear = 0; dayOfYear < length; dayOfYear++) {
+            LocalDate date = LocalDate.ofYearDay(year, dayOfYear + 1);
+            boolean workingDay = date.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !publicHolidays.contains(date);
+            workingDays.set(dayOfYear, workingDay);
+            workingDaysBefore[dayOfYear + 1] = workingDaysBefore[dayOfYear] + (workingDay ? 1 : 0);
+        }
+        return new WorkingYear(length, workingDays, workingDaysBefore);
+    }
+
+    /**
+     * The working days of one year, indexed by day of year starting at 0.
+     *
+     * @param length The number of days in the year.
+     * @param workingDays The working days of the year.
+     * @param prefixCounts The number of working days before each day of the year; the last entry is the total.
+     */
+    private record WorkingYear(int length, BitSet workingDays, int[] prefixCounts) {
+
+        int workingDaysBefore(LocalDate date) {
+            return prefixCounts[date.getDayOfYear() - 1];
+        }
+
+        int total() {
+            return prefixCounts[length];
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.airfranceklm.fasttrack.assignment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("lazy")
+class LazyInitializationTests {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void archiveJobIsCreatedAtStartup() {
+		assertTrue(context.getBeanFactory().containsSingleton("holidayArchiveJob"));
+	}
+
+	@Test
+	void holidaysAreServedOnFirstRequest() {
+		assertEquals(HttpStatus.OK, restTemplate.getForEntity("/holidays", String.class).getStatusCode());
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares creating holidays one by one with creating them in a single batch.
+ * Run with `mvn test -P benchmark`.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "holidays.calendar.last-year=2999")
+public class BatchCreateBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchCreateBenchmarkTest.class);
+
+    private static final int WARM_UP_HOLIDAYS = 100;
+    private static final int MEASURED_HOLIDAYS = 1_000;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Test
+    public void compareBatchCreateWithSingleCreates() {
+        // Each run uses its own date range, so no run conflicts with the holidays of another
+        createOneByOne(holidays(2030, WARM_UP_HOLIDAYS));
+        holidayService.createHolidays(holidays(2040, WARM_UP_HOLIDAYS));
+
+        long singleCreatesStart = System.nanoTime();
+        createOneByOne(holidays(2100, MEASURED_HOLIDAYS));
+        long singleCreatesMillis = (System.nanoTime() - singleCreatesStart) / 1_000_000;
+
+        long batchCreateStart = System.nanoTime();
+        List<HolidayBatchResultDTO> results = holidayService.createHolidays(holidays(2200, MEASURED_HOLIDAYS));
+        long batchCreateMillis = (System.nanoTime() - batchCreateStart) / 1_000_000;
+
+        assertTrue(results.stream().allMatch(result -> result.getError() == null));
+        logger.info("{} single creates: {} ms, one batch create: {} ms",
+                MEASURED_HOLIDAYS, singleCreatesMillis, batchCreateMillis);
+    }
+
+    private void createOneByOne(List<HolidayDTO> holidayDTOs) {
+        holidayDTOs.forEach(holidayService::createHoliday);
+    }
+
+    /**
+     * Builds one-day holidays starting on January 1st of the given year, a week apart,
+     * which satisfies the overlap and gap rules.
+     */
+    private static List<HolidayDTO> holidays(int year, int count) {
+        OffsetDateTime firstStart = OffsetDateTime.of(year, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        List<HolidayDTO> holidayDTOs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OffsetDateTime start = firstStart.plusDays(7L * i);
+            holidayDTOs.add(new HolidayDTO(null, "Holiday " + i, "klm" + (i % 50), start, start.plusDays(1),
+                    HolidayStatus.REQUESTED));
+        }
+        return holidayDTOs;
+    }
+}
@@ -0,0 +1,87 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closed-loop load on GET /holidays/employee/{employeeId} against one application context, reporting throughput
+ * and latency percentiles. Subclasses set up the context they measure with `@SpringBootTest`, and pass the
+ * employee whose holidays are read and the date the seeded holidays start from.
+ * Every context started in the same JVM shares the in-memory database, so the holidays are only seeded once.
+ */
+abstract class EmployeeHolidaysLoadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeHolidaysLoadBenchmark.class);
+
+    private static final int SEEDED_HOLIDAYS = 200;
+    private static final int CONCURRENCY = 1_000;
+    private static final int WARM_UP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+
+    private final String employeeId;
+
+    private final OffsetDateTime firstStart;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    /**
+     * Creates the benchmark.
+     *
+     * @param employeeId The employee whose holidays are seeded and read.
+     * @param firstStart The start of the first seeded holiday; the others follow a week apart.
+     */
+    EmployeeHolidaysLoadBenchmark(String employeeId, OffsetDateTime firstStart) {
+        this.employeeId = employeeId;
+        this.firstStart = firstStart;
+    }
+
+    @Test
+    public void measureEmployeeHolidaysUnderLoad() throws InterruptedException {
+        seedHolidays();
+        // An explicit page size bypasses the servlet cache, so every request reaches the database
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/holidays/employee/" + employeeId + "?limit=50")).GET().build();
+
+        HttpLoadGenerator.run(request, 200, CONCURRENCY, WARM_UP_REQUESTS);
+        HttpLoadGenerator.Result result = HttpLoadGenerator.run(request, 200, CONCURRENCY, MEASURED_REQUESTS);
+
+        logger.info("{} at concurrency {}: {}", getClass().getSimpleName(), CONCURRENCY, result);
+        assertEquals(0, result.failures());
+    }
+
+    private void seedHolidays() {
+        if (!holidayService.getMyHolidays(employeeId, null, 1).getHolidays().isEmpty()) {
+            return;
+        }
+        List<HolidayDTO> holidayDTOs = new ArrayList<>();
+        for (int i = 0; i < SEEDED_HOLIDAYS; i++) {
+            OffsetDateTime start = firstStart.plusDays(7L * i);
+            holidayDTOs.add(new HolidayDTO(null, "Holiday " + i, employeeId, start, start.plusDays(1),
+                    HolidayStatus.REQUESTED));
+        }
+        // A rejected holiday would leave the benchmark reading a shorter list than intended
+        for (HolidayBatchResultDTO result : holidayService.createHolidays(holidayDTOs)) {
+            assertNull(result.getError(), "Holiday " + result.getIndex() + " was not seeded");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal closed-loop HTTP load generator used by the load benchmarks.
+ * A fixed number of clients, each on its own virtual thread, send the same request back to back
+ * until the requested number of requests has been sent.
+ */
+final class HttpLoadGenerator {
+
+    private HttpLoadGenerator() {
+    }
+
+    /**
+     * Sends the request the given number of times from the given number of concurrent clients.
+     *
+     * @param request The request to send.
+     * @param expectedStatus The status code of a successful response.
+     * @param concurrency The number of concurrent clients.
+     * @param requests The total number of requests to send.
+     * @return The throughput and latency figures of the run.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    static Result run(HttpRequest request, int expectedStatus, int concurrency, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger nextRequest = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start;
+        long elapsed;
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(httpExecutor)
+                    .build();
+            start = System.nanoTime();
+            for (int client = 0; client < concurrency; client++) {
+                clients.execute(() -> {
+                    int requestIndex;
+                    while ((requestIndex = nextRequest.getAndIncrement()) < requests) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != expectedStatus) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            failures.incrementAndGet();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[requestIndex] = System.nanoTime() - requestStart;
+                    }
+                });
+            }
+            clients.shutdown();
+            if (!clients.awaitTermination(10, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Load run did not complete within 10 minutes");
+            }
+            elapsed = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        return new Result(requests, failures.get(), requests / (elapsed / 1_000_000_000.0),
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * The figures of a load run.
+     *
+     * @param requests The number of requests sent.
+     * @param failures The number of requests that failed or returned an unexpected status.
+     * @param throughputPerSecond The number of requests completed per second.
+     * @param p50Millis The median latency, in milliseconds.
+     * @param p99Millis The 99th percentile latency, in milliseconds.
+     */
+    record Result(int requests, int failures, double throughputPerSecond, double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d failed): %.0f req/s, p50 %.2f ms, p99 %.2f ms",
+                    requests, failures, throughputPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
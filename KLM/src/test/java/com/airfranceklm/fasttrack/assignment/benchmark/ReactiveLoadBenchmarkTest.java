@@ -0,0 +1,43 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Load benchmark of the servlet stack (Tomcat and JPA) against the reactive stack (WebFlux on Netty and R2DBC).
+ * Each stack runs in its own application context and reports throughput and latency percentiles
+ * for the same closed-loop load on GET /holidays/employee/{employeeId}, which reads the database on every request.
+ * Run with `mvn test -P benchmark -Dtest=ReactiveLoadBenchmarkTest`.
+ */
+@Tag("benchmark")
+public class ReactiveLoadBenchmarkTest {
+
+    private static final String EMPLOYEE_ID = "klm000002";
+    private static final OffsetDateTime FIRST_START = OffsetDateTime.of(2600, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.datasource.hikari.maximum-pool-size=50", "holidays.calendar.last-year=2999"})
+    class ServletStack extends EmployeeHolidaysLoadBenchmark {
+
+        ServletStack() {
+            super(EMPLOYEE_ID, FIRST_START);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.main.web-application-type=reactive", "holidays.calendar.last-year=2999"})
+    @ActiveProfiles("reactive")
+    class ReactiveStack extends EmployeeHolidaysLoadBenchmark {
+
+        ReactiveStack() {
+            super(EMPLOYEE_ID, FIRST_START);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.mapper.HolidayMapper;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares reading a page of holidays as managed entities converted by HolidayMapper, as the read endpoints
+ * used to, with reading it through the DTO projection of `HolidayRepository`.
+ * Reports the latency and the bytes allocated per page for both.
+ * Run with `mvn test -P benchmark -Dtest=ReadPathBenchmarkTest`.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "holidays.calendar.last-year=2999")
+public class ReadPathBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadPathBenchmarkTest.class);
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WARM_UP_READS = 500;
+    private static final int MEASURED_READS = 2_000;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void compareEntityReadsWithProjectedReads() {
+        seedHolidays();
+
+        Supplier<List<HolidayDTO>> entityRead = () -> transactionTemplate.execute(status -> entityManager
+                .createQuery("select h from Holiday h order by h.startOfHoliday, h.holidayId", Holiday.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(HolidayMapper::toDTO)
+                .toList());
+        Supplier<List<HolidayDTO>> projectedRead = () -> holidayRepository.findFirstPage(Limit.of(PAGE_SIZE));
+
+        assertEquals(entityRead.get(), projectedRead.get());
+        measure(entityRead, WARM_UP_READS);
+        measure(projectedRead, WARM_UP_READS);
+
+        Measurement entityReads = measure(entityRead, MEASURED_READS);
+        Measurement projectedReads = measure(projectedRead, MEASURED_READS);
+
+        logger.info("Page of {} holidays as entities: {}", PAGE_SIZE, entityReads);
+        logger.info("Page of {} holidays as projected DTOs: {}", PAGE_SIZE, projectedReads);
+    }
+
+    private static Measurement measure(Supplier<List<HolidayDTO>> read, int reads) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            read.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsedNanos / 1_000 / reads, allocatedBytes / reads);
+    }
+
+    private void seedHolidays() {
+        OffsetDateTime firstStart = OffsetDateTime.of(2500, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        List<HolidayDTO> holidayDTOs = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            OffsetDateTime start = firstStart.plusDays(7L * i);
+            holidayDTOs.add(new HolidayDTO(null, "Holiday " + i, "klm" + (i % 50), start, start.plusDays(1),
+                    HolidayStatus.REQUESTED));
+        }
+        holidayService.createHolidays(holidayDTOs);
+    }
+
+    /**
+     * The average cost of one page read.
+     */
+    private record Measurement(long micros, long allocatedBytes) {
+
+        @Override
+        public String toString() {
+            return micros + " µs and " + allocatedBytes + " bytes allocated per page";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.airfranceklm.fasttrack.assignment.benchmark;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Load benchmark of the web tier with platform threads and with virtual threads.
+ * Each mode runs in its own application context and reports throughput and latency percentiles
+ * for the same closed-loop load on GET /holidays/employee/{employeeId}.
+ * Run with `mvn test -P benchmark -Dtest=VirtualThreadsLoadBenchmarkTest`.
+ */
+@Tag("benchmark")
+public class VirtualThreadsLoadBenchmarkTest {
+
+    private static final String EMPLOYEE_ID = "klm000001";
+    private static final OffsetDateTime FIRST_START = OffsetDateTime.of(2030, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends EmployeeHolidaysLoadBenchmark {
+
+        PlatformThreads() {
+            super(EMPLOYEE_ID, FIRST_START);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=50"})
+    class VirtualThreads extends EmployeeHolidaysLoadBenchmark {
+
+        VirtualThreads() {
+            super(EMPLOYEE_ID, FIRST_START);
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package com.airfranceklm.fasttrack.assignment.controller;
 
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
 import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
 import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.service.HolidayAdmissionControl;
+import com.airfranceklm.fasttrack.assignment.service.HolidayEventStream;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIdempotencyStore;
+import com.airfranceklm.fasttrack.assignment.service.HolidayIntervalIndex;
 import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+import com.airfranceklm.fasttrack.assignment.service.HolidayVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -25,6 +51,25 @@ public class HolidaysApiTest {
     @Mock
     private HolidayService holidayService;
 
+    @Mock
+    private HolidayVersions holidayVersions;
+
+    @Mock
+    private HolidayEventStream holidayEventStream;
+
+    @Spy
+    private HolidayIdempotencyStore holidayIdempotencyStore =
+            new HolidayIdempotencyStore(new HolidaysProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private HolidayAdmissionControl holidayAdmissionControl;
+
+    @Mock
+    private HolidayAdmissionControl.Permit permit;
+
+    @Mock
+    private HolidayIntervalIndex holidayIntervalIndex;
+
     @InjectMocks
     private HolidaysApi holidaysApi;
 
@@ -32,9 +77,19 @@ public class HolidaysApiTest {
 
     private UUID holidayId;
 
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse servletResponse;
+
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest("GET", "/holidays");
+        servletResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, servletResponse);
+        when(holidayVersions.allHolidaysTag()).thenReturn("1a2b-7");
         holidayId = UUID.randomUUID();
         holidayDTO = new HolidayDTO(
                 holidayId,
@@ -50,43 +105,243 @@ public class HolidaysApiTest {
     public void testGetHolidays() {
         List<HolidayDTO> holidayDTOList = Arrays.asList(holidayDTO);
 
-        when(holidayService.getAllHolidays()).thenReturn(holidayDTOList);
+        when(holidayService.getAllHolidays(null, null)).thenReturn(new HolidayPageDTO(holidayDTOList, null));
 
-        ResponseEntity<List<HolidayDTO>> response = holidaysApi.getHolidays();
+        ResponseEntity<List<HolidayDTO>> response = holidaysApi.getHolidays(null, null, false, webRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals(holidayDTO, response.getBody().get(0));
+        assertFalse(response.getHeaders().containsKey(HolidaysApi.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void testGetMyHolidays_WithNextPage() {
+        List<HolidayDTO> holidayDTOList = Arrays.asList(holidayDTO);
+
+        when(holidayService.getMyHolidays("klm123456", null, 1)).thenReturn(new HolidayPageDTO(holidayDTOList, "next"));
+
+        ResponseEntity<List<HolidayDTO>> response = holidaysApi.getMyHolidays("klm123456", null, 1, false, webRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("next", response.getHeaders().getFirst(HolidaysApi.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void testGetMyHolidays_Archived() {
+        HolidayDTO archivedHolidayDTO = new HolidayDTO(holidayId, "Christmas Holidays", "klm123456",
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), HolidayStatus.ARCHIVED);
+        when(holidayService.getArchivedHolidays("klm123456", null, null))
+                .thenReturn(new HolidayPageDTO(List.of(archivedHolidayDTO), null));
+
+        ResponseEntity<List<HolidayDTO>> response = holidaysApi.getMyHolidays("klm123456", null, null, true, webRequest);
+
+        assertEquals(List.of(archivedHolidayDTO), response.getBody());
+        verify(holidayService, never()).getMyHolidays(any(), any(), any());
+    }
+
+    @Test
+    public void testGetCoverage() {
+        LocalDate day = LocalDate.parse("2025-12-24");
+        when(holidayService.getCoverage(day, day, HolidayStatus.SCHEDULED))
+                .thenReturn(List.of(new HolidayCoverageDTO(day, 3)));
+
+        ResponseEntity<List<HolidayCoverageDTO>> response = holidaysApi.getCoverage(day, day, HolidayStatus.SCHEDULED);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().get(0).getHolidays());
+    }
+
+    @Test
+    public void testStreamHolidayEvents() {
+        SseEmitter emitter = new SseEmitter();
+        when(holidayEventStream.subscribe("klm123456")).thenReturn(emitter);
+
+        assertSame(emitter, holidaysApi.streamHolidayEvents("klm123456"));
+    }
+
+    @Test
+    public void testExportHolidays() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{}\n".getBytes());
+            return null;
+        }).when(holidayService).exportHolidays(any(OutputStream.class));
+
+        ResponseEntity<StreamingResponseBody> response = holidaysApi.exportHolidays();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{}\n", outputStream.toString());
     }
 
     @Test
     public void testGetHolidayById() {
         when(holidayService.getHolidayById(holidayId)).thenReturn(holidayDTO);
 
-        ResponseEntity<HolidayDTO> response = holidaysApi.getHoliday(holidayId);
+        ResponseEntity<HolidayDTO> response = holidaysApi.getHoliday(holidayId, webRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(holidayDTO, response.getBody());
     }
 
+    @Test
+    public void testGetHolidays_SetsETag() {
+        when(holidayService.getAllHolidays(null, null)).thenReturn(new HolidayPageDTO(List.of(holidayDTO), null));
+
+        holidaysApi.getHolidays(null, null, false, webRequest);
+
+        assertEquals("\"1a2b-7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testGetHolidays_NotModified() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1a2b-7\"");
+
+        ResponseEntity<List<HolidayDTO>> response = holidaysApi.getHolidays(null, null, false, webRequest);
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verifyNoInteractions(holidayService);
+    }
+
+    @Test
+    public void testGetNextSlot() {
+        HolidaySlotDTO slot = new HolidaySlotDTO("klm123456", OffsetDateTime.parse("2025-12-24T00:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-31T00:00:00+00:00"));
+        when(holidayService.findNextSlot("klm123456", 7, LocalDate.parse("2025-12-20"))).thenReturn(slot);
+
+        ResponseEntity<HolidaySlotDTO> response = holidaysApi.getNextSlot("klm123456", 7,
+                LocalDate.parse("2025-12-20"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slot, response.getBody());
+    }
+
     @Test
     public void testCreateHoliday() {
         when(holidayService.createHoliday(holidayDTO)).thenReturn(holidayDTO);
 
-        ResponseEntity<HolidayDTO> response = holidaysApi.createHoliday(holidayDTO);
+        ResponseEntity<HolidayDTO> response = holidaysApi.createHoliday(holidayDTO, null);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(holidayDTO, response.getBody());
     }
 
+    @Test
+    public void testCreateHoliday_IdempotentRetryReplayed() {
+        when(holidayService.createHoliday(holidayDTO)).thenReturn(holidayDTO);
+
+        ResponseEntity<HolidayDTO> first = holidaysApi.createHoliday(holidayDTO, "retry-1");
+        ResponseEntity<HolidayDTO> retry = holidaysApi.createHoliday(holidayDTO, "retry-1");
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertNull(first.getHeaders().getFirst(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER));
+        verify(holidayService, times(1)).createHoliday(holidayDTO);
+    }
+
+    @Test
+    public void testCreateHoliday_IdempotencyKeyReusedForAnotherHoliday() {
+        when(holidayService.createHoliday(any(HolidayDTO.class))).thenReturn(holidayDTO);
+        holidaysApi.createHoliday(holidayDTO, "retry-2");
+        HolidayDTO otherHoliday = new HolidayDTO(null, "Other Holiday", holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), holidayDTO.getStatus());
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidaysApi.createHoliday(otherHoliday, "retry-2"));
+
+        assertEquals(HolidayRejectionReason.IDEMPOTENCY_KEY_REUSED, exception.getReason());
+        verify(holidayService, times(1)).createHoliday(any(HolidayDTO.class));
+    }
+
+    @Test
+    public void testCreateHoliday_FailedAttemptReleasesIdempotencyKey() {
+        when(holidayService.createHoliday(holidayDTO))
+                .thenThrow(new InvalidHolidayException(HolidayRejectionReason.OVERLAP, "Overlap"))
+                .thenReturn(holidayDTO);
+
+        assertThrows(InvalidHolidayException.class, () -> holidaysApi.createHoliday(holidayDTO, "retry-3"));
+        ResponseEntity<HolidayDTO> retry = holidaysApi.createHoliday(holidayDTO, "retry-3");
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER));
+        verify(holidayService, times(2)).createHoliday(holidayDTO);
+    }
+
+    @Test
+    public void testCreateHoliday_ErrorReleasesIdempotencyKey() {
+        when(holidayService.createHoliday(holidayDTO))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(holidayDTO);
+
+        assertThrows(StackOverflowError.class, () -> holidaysApi.createHoliday(holidayDTO, "retry-5"));
+        ResponseEntity<HolidayDTO> retry = holidaysApi.createHoliday(holidayDTO, "retry-5");
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER));
+        verify(holidayService, times(2)).createHoliday(holidayDTO);
+    }
+
+    @Test
+    public void testCreateHoliday_NotAdmitted() {
+        when(holidayAdmissionControl.admit(holidayDTO.getEmployeeId()))
+                .thenThrow(new HolidayAdmissionException("Too many writes", Duration.ofSeconds(1)));
+
+        assertThrows(HolidayAdmissionException.class, () -> holidaysApi.createHoliday(holidayDTO, null));
+
+        verifyNoInteractions(holidayService);
+    }
+
+    @Test
+    public void testCreateHoliday_NotAdmittedReleasesIdempotencyKey() {
+        when(holidayAdmissionControl.admit(holidayDTO.getEmployeeId()))
+                .thenThrow(new HolidayAdmissionException("Too many writes", Duration.ofSeconds(1)))
+                .thenReturn(permit);
+        when(holidayService.createHoliday(holidayDTO)).thenReturn(holidayDTO);
+
+        assertThrows(HolidayAdmissionException.class, () -> holidaysApi.createHoliday(holidayDTO, "retry-4"));
+        ResponseEntity<HolidayDTO> retry = holidaysApi.createHoliday(holidayDTO, "retry-4");
+
+        assertNull(retry.getHeaders().getFirst(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER));
+        verify(holidayService, times(1)).createHoliday(holidayDTO);
+    }
+
+    @Test
+    public void testCreateHolidays() {
+        List<HolidayBatchResultDTO> results = List.of(new HolidayBatchResultDTO(0, holidayDTO, null));
+        when(holidayService.createHolidays(List.of(holidayDTO))).thenReturn(results);
+
+        ResponseEntity<List<HolidayBatchResultDTO>> response = holidaysApi.createHolidays(List.of(holidayDTO));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
     @Test
     public void testDeleteHoliday() {
+        when(holidayIntervalIndex.findEmployeeId(holidayId)).thenReturn(Optional.of("klm123456"));
+        when(holidayAdmissionControl.admit("klm123456")).thenReturn(permit);
         doNothing().when(holidayService).deleteHoliday(holidayId);
 
         ResponseEntity<Void> response = holidaysApi.deleteHoliday(holidayId);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(holidayService, times(1)).deleteHoliday(holidayId);
+        verify(permit).close();
+    }
+
+    @Test
+    public void testDeleteHoliday_RateLimited() {
+        when(holidayIntervalIndex.findEmployeeId(holidayId)).thenReturn(Optional.of("klm123456"));
+        when(holidayAdmissionControl.admit("klm123456"))
+                .thenThrow(new HolidayAdmissionException("Too many holiday writes", Duration.ofSeconds(2)));
+
+        assertThrows(HolidayAdmissionException.class, () -> holidaysApi.deleteHoliday(holidayId));
+        verify(holidayService, never()).deleteHoliday(holidayId);
     }
 
     @Test
@@ -104,7 +359,7 @@ public class HolidaysApiTest {
         when(holidayService.getHolidayById(holidayId)).thenThrow(new InvalidHolidayException("Holiday not found"));
 
         try {
-            holidaysApi.getHoliday(holidayId);
+            holidaysApi.getHoliday(holidayId, webRequest);
         } catch (Exception e) {
             assertTrue(e instanceof InvalidHolidayException);
             assertEquals("Holiday not found", e.getMessage());
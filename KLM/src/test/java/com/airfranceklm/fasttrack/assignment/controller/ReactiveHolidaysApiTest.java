@@ -0,0 +1,281 @@
+package com.airfranceklm.fasttrack.assignment.controller;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reactive stack end to end: WebFlux in front of R2DBC, on the H2 schema created by JPA.
+ * Every test uses its own month far in the future, so the holidays never break a rule for each other.
+ * An employee gets a burst of 3 writes that takes 1000 seconds to refill a single token, so a test making
+ * a fourth write for the same employee is rejected whatever the speed of the requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "holidays.calendar.last-year=2999",
+                "holidays.admission.burst=3", "holidays.admission.rate-per-second=0.001"})
+@ActiveProfiles("reactive")
+public class ReactiveHolidaysApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Test
+    public void testCreateGetUpdateDeleteHoliday() {
+        HolidayDTO holidayDTO = holiday("klm280001", OffsetDateTime.of(2800, 1, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+
+        HolidayDTO created = webTestClient.post().uri("/holidays").bodyValue(holidayDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(HolidayDTO.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        assertNotNull(created.getHolidayId());
+
+        webTestClient.get().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.employeeId").isEqualTo("klm280001")
+                .jsonPath("$.status").isEqualTo("REQUESTED");
+
+        created.setHolidayLabel("Renamed Holiday");
+        created.setStatus(HolidayStatus.SCHEDULED);
+        webTestClient.put().uri("/holidays/{holidayId}", created.getHolidayId()).bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.holidayLabel").isEqualTo("Renamed Holiday");
+
+        webTestClient.delete().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testCreateHoliday_OverlapRejected() {
+        OffsetDateTime start = OffsetDateTime.of(2800, 3, 4, 8, 0, 0, 0, ZoneOffset.UTC);
+        webTestClient.post().uri("/holidays").bodyValue(holiday("klm280002", start))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/holidays").bodyValue(holiday("klm280003", start.plusDays(1)))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Holiday overlaps with an existing holiday.");
+    }
+
+    @Test
+    public void testCreateHoliday_ValidationFailed() {
+        HolidayDTO holidayDTO = holiday("klm280004", OffsetDateTime.of(2800, 5, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+        holidayDTO.setHolidayLabel("");
+
+        webTestClient.post().uri("/holidays").bodyValue(holidayDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed");
+    }
+
+    @Test
+    public void testGetMyHolidays_PagesWithCursor() {
+        OffsetDateTime start = OffsetDateTime.of(2800, 7, 4, 8, 0, 0, 0, ZoneOffset.UTC);
+        webTestClient.post().uri("/holidays").bodyValue(holiday("klm280005", start))
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.post().uri("/holidays").bodyValue(holiday("klm280005", start.plusDays(14)))
+                .exchange()
+                .expectStatus().isCreated();
+
+        String cursor = webTestClient.get().uri("/holidays/employee/klm280005?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HolidaysApi.NEXT_CURSOR_HEADER)
+                .expectBodyList(HolidayDTO.class).hasSize(1)
+                .returnResult().getResponseHeaders().getFirst(HolidaysApi.NEXT_CURSOR_HEADER);
+
+        List<HolidayDTO> secondPage = webTestClient.get()
+                .uri("/holidays/employee/klm280005?limit=1&cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HolidaysApi.NEXT_CURSOR_HEADER)
+                .expectBodyList(HolidayDTO.class).returnResult().getResponseBody();
+        assertNotNull(secondPage);
+        assertEquals(start.plusDays(14).toInstant(), secondPage.get(0).getStartOfHoliday().toInstant());
+    }
+
+    @Test
+    public void testGetMyHolidays_NotModified() {
+        String etag = webTestClient.get().uri("/holidays/employee/klm280006")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(HolidayDTO.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        webTestClient.get().uri("/holidays/employee/klm280006").header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void testExportHolidays_StreamsNdjson() {
+        OffsetDateTime start = OffsetDateTime.of(2800, 9, 4, 8, 0, 0, 0, ZoneOffset.UTC);
+        webTestClient.post().uri("/holidays").bodyValue(holiday("klm280007", start))
+                .exchange()
+                .expectStatus().isCreated();
+
+        List<HolidayDTO> exported = webTestClient.get().uri("/holidays/export").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(HolidayDTO.class).getResponseBody().collectList().block();
+
+        assertNotNull(exported);
+        assertTrue(exported.stream().anyMatch(holiday -> holiday.getEmployeeId().equals("klm280007")));
+    }
+
+    @Test
+    public void testCreateHoliday_IdempotentRetryReplayed() {
+        HolidayDTO holidayDTO = holiday("klm280008", OffsetDateTime.of(2800, 11, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+
+        HolidayDTO created = webTestClient.post().uri("/holidays").header(HolidaysApi.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .bodyValue(holidayDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER)
+                .expectBody(HolidayDTO.class).returnResult().getResponseBody();
+        HolidayDTO replayed = webTestClient.post().uri("/holidays").header(HolidaysApi.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .bodyValue(holidayDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HolidaysApi.IDEMPOTENT_REPLAYED_HEADER, "true")
+                .expectBody(HolidayDTO.class).returnResult().getResponseBody();
+
+        assertNotNull(created);
+        assertNotNull(replayed);
+        assertEquals(created.getHolidayId(), replayed.getHolidayId());
+    }
+
+    @Test
+    public void testUpdateHoliday_RateLimited() {
+        HolidayDTO holidayDTO = holiday("klm280009", OffsetDateTime.of(2800, 12, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+        UUID holidayId = UUID.randomUUID();
+        // Every update takes a token, even when it is then rejected by the service
+        for (int i = 0; i < 3; i++) {
+            webTestClient.put().uri("/holidays/{holidayId}", holidayId).bodyValue(holidayDTO)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        webTestClient.put().uri("/holidays/{holidayId}", holidayId).bodyValue(holidayDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().value(HttpHeaders.RETRY_AFTER, retryAfter -> {
+                    // The next token comes 1000 seconds after the first update, less the time the updates took
+                    long seconds = Long.parseLong(retryAfter);
+                    assertTrue(seconds > 900 && seconds <= 1000, "Retry-After: " + retryAfter);
+                });
+    }
+
+    @Test
+    public void testDeleteHoliday_RateLimited() {
+        HolidayDTO created = webTestClient.post().uri("/holidays")
+                .bodyValue(holiday("klm280012", OffsetDateTime.of(2801, 2, 4, 8, 0, 0, 0, ZoneOffset.UTC)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(HolidayDTO.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        created.setHolidayLabel("Renamed Holiday");
+        webTestClient.put().uri("/holidays/{holidayId}", created.getHolidayId()).bodyValue(created)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.put().uri("/holidays/{holidayId}", created.getHolidayId()).bodyValue(created)
+                .exchange()
+                .expectStatus().isOk();
+
+        // The delete counts against the bucket of the holiday's employee, found in the interval index
+        webTestClient.delete().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+        webTestClient.get().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void testGetNextSlot_SkipsExistingHoliday() {
+        webTestClient.post().uri("/holidays")
+                .bodyValue(holiday("klm280010", OffsetDateTime.of(2799, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC)))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/holidays/employee/klm280011/next-slot?days=3&after=2799-06-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employeeId").isEqualTo("klm280011")
+                .jsonPath("$.startOfHoliday").value(start -> assertTrue(
+                        OffsetDateTime.parse((String) start).isAfter(OffsetDateTime.of(2799, 6, 3, 8, 0, 0, 0,
+                                ZoneOffset.UTC))));
+    }
+
+    @Test
+    public void testGetChanges_TokenExpiredOncePruned() {
+        HolidayDTO created = webTestClient.post().uri("/holidays")
+                .bodyValue(holiday("klm280013", OffsetDateTime.of(2801, 3, 4, 8, 0, 0, 0, ZoneOffset.UTC)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(HolidayDTO.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        webTestClient.delete().uri("/holidays/{holidayId}", created.getHolidayId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertTrue(holidayService.pruneTombstones(OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(1)) > 0);
+
+        webTestClient.get().uri("/holidays/changes?since=0")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GONE)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Sync token expired, sync from scratch");
+        webTestClient.get().uri("/holidays/changes")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void testDeleteHoliday_NotFound() {
+        webTestClient.delete().uri("/holidays/{holidayId}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Holiday not found");
+    }
+
+    private static HolidayDTO holiday(String employeeId, OffsetDateTime start) {
+        return new HolidayDTO(null, "Holiday", employeeId, start, start.plusDays(2), HolidayStatus.REQUESTED);
+    }
+}
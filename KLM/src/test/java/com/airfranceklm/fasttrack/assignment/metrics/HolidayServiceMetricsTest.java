@@ -0,0 +1,74 @@
+package com.airfranceklm.fasttrack.assignment.metrics;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.service.HolidayService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class HolidayServiceMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private HolidayService holidayService;
+    private HolidayService target;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = Mockito.mock(HolidayService.class);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addInterface(HolidayService.class);
+        proxyFactory.addAspect(new HolidayServiceMetrics(meterRegistry));
+        holidayService = proxyFactory.getProxy();
+    }
+
+    @Test
+    public void testTimeServiceCall_Success() {
+        holidayService.getAllHolidays(null, null);
+
+        assertEquals(1, meterRegistry.get(HolidayServiceMetrics.SERVICE_TIMER)
+                .tag("method", "getAllHolidays")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void testTimeServiceCall_RejectedWithReason() {
+        UUID holidayId = UUID.randomUUID();
+        when(target.getHolidayById(holidayId))
+                .thenThrow(new InvalidHolidayException(HolidayRejectionReason.NOT_FOUND, "Holiday not found"));
+
+        assertThrows(InvalidHolidayException.class, () -> holidayService.getHolidayById(holidayId));
+
+        assertEquals(1, meterRegistry.get(HolidayServiceMetrics.SERVICE_TIMER)
+                .tag("method", "getHolidayById")
+                .tag("outcome", "REJECTED")
+                .tag("reason", "NOT_FOUND")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void testTimeServiceCall_Error() {
+        when(target.getAllHolidays(null, null)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> holidayService.getAllHolidays(null, null));
+
+        assertEquals(1, meterRegistry.get(HolidayServiceMetrics.SERVICE_TIMER)
+                .tag("outcome", "ERROR")
+                .timer()
+                .count());
+    }
+}
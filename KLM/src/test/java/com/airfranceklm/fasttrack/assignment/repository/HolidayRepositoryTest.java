@@ -0,0 +1,215 @@
+package com.airfranceklm.fasttrack.assignment.repository;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.airfranceklm.fasttrack.assignment.repository.HolidayRepositoryTest$LastStatement"})
+public class HolidayRepositoryTest {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private static final long WINDOW_START = OffsetDateTime.parse("2030-06-13T08:00:00+00:00").toEpochSecond();
+    private static final long WINDOW_END = OffsetDateTime.parse("2030-06-20T08:00:00+00:00").toEpochSecond();
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private int persistedHolidays;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        // The only holiday close enough to the window to matter
+        holidayRepository.save(holiday("klm000000",
+                OffsetDateTime.parse("2030-06-10T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-06-15T08:00:00+00:00")));
+    }
+
+    @Test
+    public void testFindConflicting_ReturnsOnlyHolidaysInWindow() {
+        persistPastHolidays(100);
+        persistFutureHolidays(100);
+
+        List<Holiday> conflicting = holidayRepository.findConflicting(WINDOW_START, WINDOW_END, null);
+
+        assertEquals(1, conflicting.size());
+        assertEquals("klm000000", conflicting.get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testFindConflicting_ExcludesHolidayBeingUpdated() {
+        Holiday holiday = holidayRepository.findConflicting(WINDOW_START, WINDOW_END, null).get(0);
+
+        assertTrue(holidayRepository.findConflicting(WINDOW_START, WINDOW_END, holiday.getHolidayId()).isEmpty());
+    }
+
+    @Test
+    public void testFindConflicting_RowsScannedDoNotGrowWithTableSize() {
+        persistPastHolidays(100);
+        persistFutureHolidays(100);
+        long rowsScannedWithSmallTable = countRowsScannedByFindConflicting();
+
+        // Holidays on both sides of the window: neither bound of the index range may be left open
+        persistPastHolidays(5_000);
+        persistFutureHolidays(5_000);
+        long rowsScannedWithLargeTable = countRowsScannedByFindConflicting();
+
+        // The one holiday starting around the window, plus the index entry that ends the range
+        assertTrue(rowsScannedWithSmallTable <= 2, "Rows scanned: " + rowsScannedWithSmallTable);
+        assertEquals(rowsScannedWithSmallTable, rowsScannedWithLargeTable);
+    }
+
+    @Test
+    public void testFindFirstPage_ProjectsWithoutLoadingEntities() {
+        persistPastHolidays(10);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<HolidayDTO> page = holidayRepository.findFirstPage(Limit.of(5));
+
+        assertEquals(5, page.size());
+        assertEquals("klm1", page.get(0).getEmployeeId());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testFindDTOById_ReturnsHoliday() {
+        Holiday holiday = holidayRepository.findConflicting(WINDOW_START, WINDOW_END, null).get(0);
+
+        HolidayDTO holidayDTO = holidayRepository.findDTOById(holiday.getHolidayId()).orElseThrow();
+
+        assertEquals(holiday.getHolidayId(), holidayDTO.getHolidayId());
+        assertEquals(holiday.getStartOfHoliday().toInstant(), holidayDTO.getStartOfHoliday().toInstant());
+        assertEquals(HolidayStatus.REQUESTED, holidayDTO.getStatus());
+    }
+
+    @Test
+    public void testFindConflicting_ComparesInstantsAcrossOffsets() {
+        // Ends on 2030-06-13T09:00Z, just inside the window, although its local end time is before the window start
+        holidayRepository.save(holiday("klm111111",
+                OffsetDateTime.parse("2030-06-12T00:00:00-05:00"),
+                OffsetDateTime.parse("2030-06-13T04:00:00-05:00")));
+
+        List<Holiday> conflicting = holidayRepository.findConflicting(WINDOW_START, WINDOW_END, null);
+
+        assertEquals(2, conflicting.size());
+        assertEquals(OffsetDateTime.parse("2030-06-13T04:00:00-05:00").toEpochSecond(),
+                conflicting.stream().filter(holiday -> holiday.getEmployeeId().equals("klm111111"))
+                        .findFirst().orElseThrow().getEndEpochSecond());
+    }
+
+    @Test
+    public void testFindEndedBefore_ReturnsPastHolidaysEarliestEndFirst() {
+        persistPastHolidays(10);
+
+        List<Holiday> ended = holidayRepository.findEndedBefore(WINDOW_START, Limit.of(3));
+
+        assertEquals(List.of("klm1", "klm2", "klm3"), ended.stream().map(Holiday::getEmployeeId).toList());
+        assertEquals(10, holidayRepository.findEndedBefore(WINDOW_START, Limit.of(100)).size());
+    }
+
+    /**
+     * Runs the statement `findConflicting` sends to the database under H2's `EXPLAIN ANALYZE`, and returns the
+     * number of rows it scanned, whether or not they matched.
+     */
+    private long countRowsScannedByFindConflicting() {
+        entityManager.flush();
+        entityManager.clear();
+
+        holidayRepository.findConflicting(WINDOW_START, WINDOW_END, null);
+        String sql = LastStatement.sql;
+
+        // Inline the parameters in their order in the statement: the window start and end, then the excluded ID
+        Object[] parameters = {WINDOW_START, WINDOW_END, WINDOW_START, "null", "null"};
+        StringBuilder analyzedSql = new StringBuilder("explain analyze ");
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                analyzedSql.append(parameters[parameter++]);
+            } else {
+                analyzedSql.append(c);
+            }
+        }
+        assertEquals(parameters.length, parameter, sql);
+        String plan = (String) entityManager.getEntityManager().createNativeQuery(analyzedSql.toString())
+                .getSingleResult();
+
+        long rowsScanned = 0;
+        Matcher scanCount = SCAN_COUNT.matcher(plan);
+        while (scanCount.find()) {
+            rowsScanned += Long.parseLong(scanCount.group(1));
+        }
+        return rowsScanned;
+    }
+
+    private void persistPastHolidays(int count) {
+        persistHolidays(OffsetDateTime.parse("2020-01-01T08:00:00+00:00"), count);
+    }
+
+    private void persistFutureHolidays(int count) {
+        persistHolidays(OffsetDateTime.parse("2031-01-01T08:00:00+00:00"), count);
+    }
+
+    private void persistHolidays(OffsetDateTime start, int count) {
+        List<Holiday> holidays = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OffsetDateTime holidayStart = start.plusHours(2L * persistedHolidays++);
+            holidays.add(holiday("klm" + persistedHolidays, holidayStart, holidayStart.plusHours(1)));
+        }
+        holidayRepository.saveAll(holidays);
+    }
+
+    private static Holiday holiday(String employeeId, OffsetDateTime start, OffsetDateTime end) {
+        return Holiday.builder()
+                .holidayLabel("Holiday")
+                .employeeId(employeeId)
+                .startOfHoliday(start)
+                .endOfHoliday(end)
+                .status(HolidayStatus.REQUESTED)
+                .build();
+    }
+
+    /**
+     * Records the last SQL statement Hibernate sends, so that its plan can be analysed.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
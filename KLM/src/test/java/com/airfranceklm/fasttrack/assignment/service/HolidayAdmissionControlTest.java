@@ -0,0 +1,154 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayAdmissionControlTest {
+
+    private HolidaysProperties holidaysProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private HolidayAdmissionControl holidayAdmissionControl;
+
+    @BeforeEach
+    public void setup() {
+        holidaysProperties = new HolidaysProperties();
+        holidaysProperties.getAdmission().setBurst(3);
+        holidaysProperties.getAdmission().setRatePerSecond(2);
+        holidaysProperties.getAdmission().setMaxConcurrentWrites(2);
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(-1_000_000_000L);
+        holidayAdmissionControl = new HolidayAdmissionControl(holidaysProperties, meterRegistry, now::get);
+    }
+
+    @Test
+    public void testAdmit_RejectsBeyondBurstUntilRefilled() {
+        for (int i = 0; i < 3; i++) {
+            holidayAdmissionControl.admit("klm123456").close();
+        }
+
+        HolidayAdmissionException exception = assertThrows(HolidayAdmissionException.class,
+                () -> holidayAdmissionControl.admit("klm123456"));
+        assertEquals(Duration.ofMillis(500), exception.getRetryAfter());
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        holidayAdmissionControl.admit("klm123456").close();
+        assertThrows(HolidayAdmissionException.class, () -> holidayAdmissionControl.admit("klm123456"));
+        assertEquals(2.0, meterRegistry.get("holidays.admission.rejected").tag("reason", "rate_limited")
+                .counter().count());
+    }
+
+    @Test
+    public void testAdmit_BucketsArePerEmployee() {
+        for (int i = 0; i < 3; i++) {
+            holidayAdmissionControl.admit("klm123456").close();
+        }
+
+        assertThrows(HolidayAdmissionException.class, () -> holidayAdmissionControl.admit("klm123456"));
+        holidayAdmissionControl.admit("klm654321").close();
+    }
+
+    @Test
+    public void testAdmit_SeveralEmployeesTakeAllTokensOrNone() {
+        for (int i = 0; i < 3; i++) {
+            holidayAdmissionControl.admit("klm654321").close();
+        }
+
+        assertThrows(HolidayAdmissionException.class,
+                () -> holidayAdmissionControl.admit(List.of("klm123456", "klm654321")));
+
+        // The rejected write gave its token back to the first employee
+        for (int i = 0; i < 3; i++) {
+            holidayAdmissionControl.admit("klm123456").close();
+        }
+    }
+
+    @Test
+    public void testAdmit_RepeatedEmployeeTakesOneToken() {
+        holidayAdmissionControl.admit(List.of("klm123456", "klm123456", "klm123456")).close();
+
+        holidayAdmissionControl.admit("klm123456").close();
+        holidayAdmissionControl.admit("klm123456").close();
+    }
+
+    @Test
+    public void testAdmit_RejectsBeyondConcurrencyLimit() {
+        HolidayAdmissionControl.Permit first = holidayAdmissionControl.admit("klm123456");
+        HolidayAdmissionControl.Permit second = holidayAdmissionControl.admit(List.of());
+        assertEquals(2, holidayAdmissionControl.activeWrites());
+
+        HolidayAdmissionException exception = assertThrows(HolidayAdmissionException.class,
+                () -> holidayAdmissionControl.admit("klm123456"));
+        assertEquals(holidaysProperties.getAdmission().getBusyRetryAfter(), exception.getRetryAfter());
+
+        first.close();
+        first.close();
+        assertEquals(1, holidayAdmissionControl.activeWrites());
+        // The write rejected for concurrency did not cost the employee a token
+        holidayAdmissionControl.admit("klm123456").close();
+        holidayAdmissionControl.admit("klm123456").close();
+        second.close();
+        assertEquals(0, holidayAdmissionControl.activeWrites());
+        assertEquals(1.0, meterRegistry.get("holidays.admission.rejected").tag("reason", "concurrency_limited")
+                .counter().count());
+        assertEquals(0.0, meterRegistry.get("holidays.admission.writes.active").gauge().value());
+    }
+
+    @Test
+    public void testAdmit_Disabled() {
+        holidaysProperties.getAdmission().setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            holidayAdmissionControl.admit("klm123456");
+        }
+
+        assertEquals(0, holidayAdmissionControl.activeWrites());
+    }
+
+    @Test
+    public void testAdmit_FractionalRate() {
+        holidaysProperties.getAdmission().setBurst(1);
+        holidaysProperties.getAdmission().setRatePerSecond(0.5);
+        holidayAdmissionControl = new HolidayAdmissionControl(holidaysProperties, meterRegistry, now::get);
+
+        holidayAdmissionControl.admit("klm123456").close();
+
+        HolidayAdmissionException exception = assertThrows(HolidayAdmissionException.class,
+                () -> holidayAdmissionControl.admit("klm123456"));
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+    }
+
+    @Test
+    public void testProperties_RejectRatesWithoutATokenInterval() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(PropertiesConfiguration.class);
+
+        contextRunner.withPropertyValues("holidays.admission.rate-per-second=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        contextRunner.withPropertyValues("holidays.admission.rate-per-second=2000000000")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        contextRunner.withPropertyValues("holidays.admission.burst=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        contextRunner.withPropertyValues("holidays.admission.rate-per-second=0.5")
+                .run(context -> assertEquals(0.5,
+                        context.getBean(HolidaysProperties.class).getAdmission().getRatePerSecond()));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(HolidaysProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
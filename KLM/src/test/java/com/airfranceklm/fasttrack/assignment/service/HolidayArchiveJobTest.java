@@ -0,0 +1,61 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.mockito.Mockito.when;
+
+public class HolidayArchiveJobTest {
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Spy
+    private HolidaysProperties holidaysProperties = new HolidaysProperties();
+
+    @InjectMocks
+    private HolidayArchiveJob holidayArchiveJob;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        holidaysProperties.getArchive().setChunkSize(2);
+    }
+
+    @Test
+    public void testArchivePastHolidays_RunsChunksUntilShortChunk() {
+        when(holidayService.archiveHolidays(Mockito.any(OffsetDateTime.class), Mockito.eq(2))).thenReturn(2, 2, 1);
+
+        holidayArchiveJob.archivePastHolidays();
+
+        Mockito.verify(holidayService, Mockito.times(3)).archiveHolidays(Mockito.any(OffsetDateTime.class),
+                Mockito.eq(2));
+    }
+
+    @Test
+    public void testArchivePastHolidays_Disabled() {
+        holidaysProperties.getArchive().setEnabled(false);
+
+        holidayArchiveJob.archivePastHolidays();
+
+        Mockito.verifyNoInteractions(holidayService);
+    }
+
+    @Test
+    public void testArchivePastHolidays_NegativeHorizon() {
+        holidaysProperties.getArchive().setHorizon(Duration.ofDays(-1));
+
+        holidayArchiveJob.archivePastHolidays();
+
+        Mockito.verifyNoInteractions(holidayService);
+    }
+}
@@ -0,0 +1,107 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCoverageIndexTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2025-12-30");
+    private static final LocalDate TO = LocalDate.parse("2026-01-02");
+
+    private HolidayCoverageIndex holidayCoverageIndex;
+    private Holiday christmasHolidays;
+    private Holiday newYearHolidays;
+
+    @BeforeEach
+    public void setup() {
+        holidayCoverageIndex = new HolidayCoverageIndex();
+        christmasHolidays = Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("Christmas Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2025-12-24T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2025-12-31T08:00:00+00:00"))
+                .status(HolidayStatus.SCHEDULED)
+                .build();
+        newYearHolidays = Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("New Year Holidays")
+                .employeeId("klm654321")
+                .startOfHoliday(OffsetDateTime.parse("2025-12-31T12:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2026-01-02T00:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+        holidayCoverageIndex.rebuild(List.of(christmasHolidays, newYearHolidays));
+    }
+
+    @Test
+    public void testCount_AllStatuses() {
+        // The New Year holidays end at midnight, so they do not cover 2 January
+        assertArrayEquals(new int[]{1, 2, 1, 0}, holidayCoverageIndex.count(FROM, TO, null));
+    }
+
+    @Test
+    public void testCount_FilteredByStatus() {
+        assertArrayEquals(new int[]{1, 1, 0, 0}, holidayCoverageIndex.count(FROM, TO, HolidayStatus.SCHEDULED));
+    }
+
+    @Test
+    public void testPut_ReplacesPreviousVersion() {
+        christmasHolidays.setEndOfHoliday(OffsetDateTime.parse("2025-12-29T18:00:00+00:00"));
+        christmasHolidays.setStatus(HolidayStatus.REQUESTED);
+
+        holidayCoverageIndex.put(christmasHolidays);
+
+        assertArrayEquals(new int[]{0, 1, 1, 0}, holidayCoverageIndex.count(FROM, TO, null));
+        assertArrayEquals(new int[]{0, 0, 0, 0}, holidayCoverageIndex.count(FROM, TO, HolidayStatus.SCHEDULED));
+    }
+
+    @Test
+    public void testCount_HolidaySpanningSeveralYears() {
+        christmasHolidays.setEndOfHoliday(OffsetDateTime.parse("2030-01-01T08:00:00+00:00"));
+        holidayCoverageIndex.put(christmasHolidays);
+
+        assertArrayEquals(new int[]{1, 1}, holidayCoverageIndex.count(LocalDate.parse("2028-02-29"),
+                LocalDate.parse("2028-03-01"), null));
+        assertArrayEquals(new int[]{1, 0}, holidayCoverageIndex.count(LocalDate.parse("2030-01-01"),
+                LocalDate.parse("2030-01-02"), HolidayStatus.SCHEDULED));
+    }
+
+    @Test
+    public void testRemove() {
+        holidayCoverageIndex.remove(newYearHolidays.getHolidayId());
+
+        assertArrayEquals(new int[]{1, 1, 0, 0}, holidayCoverageIndex.count(FROM, TO, null));
+    }
+
+    @Test
+    public void testArchive_KeepsCountingUnderArchivedStatus() {
+        holidayCoverageIndex.archive(christmasHolidays.getHolidayId());
+
+        assertArrayEquals(new int[]{1, 2, 1, 0}, holidayCoverageIndex.count(FROM, TO, null));
+        assertArrayEquals(new int[]{0, 0, 0, 0}, holidayCoverageIndex.count(FROM, TO, HolidayStatus.SCHEDULED));
+        assertArrayEquals(new int[]{1, 1, 0, 0}, holidayCoverageIndex.count(FROM, TO, HolidayStatus.ARCHIVED));
+    }
+
+    @Test
+    public void testAddArchived() {
+        holidayCoverageIndex.addArchived(List.of(new HolidayDTO(UUID.randomUUID(), "Archived Holidays", "klm111111",
+                OffsetDateTime.parse("2025-12-29T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-30T18:00:00+00:00"),
+                HolidayStatus.ARCHIVED)));
+
+        assertArrayEquals(new int[]{2, 2, 1, 0}, holidayCoverageIndex.count(FROM, TO, null));
+        assertArrayEquals(new int[]{1, 0, 0, 0}, holidayCoverageIndex.count(FROM, TO, HolidayStatus.ARCHIVED));
+    }
+}
@@ -0,0 +1,68 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HolidayEventStreamTest {
+
+    @Mock
+    private ExecutorService executor;
+
+    private HolidayEventStream holidayEventStream;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        HolidaysProperties holidaysProperties = new HolidaysProperties();
+        holidaysProperties.getStream().setBufferSize(2);
+        // The executor never runs the deliveries, so the events pile up as for a stalled client
+        holidayEventStream = new HolidayEventStream(holidaysProperties, executor);
+    }
+
+    @Test
+    public void testPublish_SchedulesOneDeliveryPerSubscriber() {
+        holidayEventStream.subscribe(null);
+
+        holidayEventStream.publish(event("klm123456"));
+        holidayEventStream.publish(event("klm654321"));
+
+        verify(executor, times(1)).execute(any(Runnable.class));
+        assertEquals(1, holidayEventStream.subscriberCount());
+    }
+
+    @Test
+    public void testPublish_SkipsSubscribersOfOtherEmployees() {
+        holidayEventStream.subscribe("klm123456");
+
+        holidayEventStream.publish(event("klm654321"));
+
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    public void testPublish_DisconnectsSubscriberFallingBehind() {
+        holidayEventStream.subscribe("klm123456");
+        holidayEventStream.subscribe("klm654321");
+
+        for (int i = 0; i < 3; i++) {
+            holidayEventStream.publish(event("klm123456"));
+        }
+
+        assertEquals(1, holidayEventStream.subscriberCount());
+    }
+
+    private static HolidayEventDTO event(String employeeId) {
+        return new HolidayEventDTO(HolidayEventType.DELETED, UUID.randomUUID(), employeeId, null);
+    }
+}
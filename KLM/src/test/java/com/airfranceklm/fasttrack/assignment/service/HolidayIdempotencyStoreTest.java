@@ -0,0 +1,144 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.HolidayAdmissionException;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayIdempotencyStoreTest {
+
+    private HolidayIdempotencyStore holidayIdempotencyStore;
+    private HolidayDTO holidayDTO;
+
+    @BeforeEach
+    public void setup() {
+        holidayIdempotencyStore = new HolidayIdempotencyStore(new HolidaysProperties(), new SimpleMeterRegistry());
+        holidayDTO = new HolidayDTO(null, "Christmas Holidays", "klm123456",
+                OffsetDateTime.parse("2025-12-24T08:00:00+00:00"), OffsetDateTime.parse("2025-12-31T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+    }
+
+    @Test
+    public void testClaim_RetryReplaysCompletedCreation() {
+        HolidayDTO createdHoliday = createdHoliday();
+        HolidayIdempotencyStore.Claim first = holidayIdempotencyStore.claim("key-1", holidayDTO);
+        first.complete(createdHoliday);
+
+        HolidayIdempotencyStore.Claim retry = holidayIdempotencyStore.claim("key-1", holidayDTO);
+
+        assertFalse(first.isReplay());
+        assertTrue(retry.isReplay());
+        assertEquals(createdHoliday, retry.awaitResponse());
+    }
+
+    @Test
+    public void testClaim_RetryWaitsForRunningCreation() throws Exception {
+        HolidayIdempotencyStore.Claim first = holidayIdempotencyStore.claim("key-2", holidayDTO);
+        HolidayIdempotencyStore.Claim retry = holidayIdempotencyStore.claim("key-2", holidayDTO);
+        CompletableFuture<HolidayDTO> replayed = CompletableFuture.supplyAsync(retry::awaitResponse);
+        assertFalse(replayed.isDone());
+
+        HolidayDTO createdHoliday = createdHoliday();
+        first.complete(createdHoliday);
+
+        assertEquals(createdHoliday, replayed.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testClaim_RetryStopsWaitingAfterTimeout() {
+        HolidaysProperties holidaysProperties = new HolidaysProperties();
+        holidaysProperties.getIdempotency().setAwaitTimeout(Duration.ofMillis(50));
+        holidayIdempotencyStore = new HolidayIdempotencyStore(holidaysProperties, new SimpleMeterRegistry());
+        HolidayIdempotencyStore.Claim first = holidayIdempotencyStore.claim("key-7", holidayDTO);
+        HolidayIdempotencyStore.Claim retry = holidayIdempotencyStore.claim("key-7", holidayDTO);
+
+        HolidayAdmissionException exception = assertThrows(HolidayAdmissionException.class, retry::awaitResponse);
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> retry.response().get(5, TimeUnit.SECONDS));
+
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        assertInstanceOf(HolidayAdmissionException.class, failure.getCause());
+        // The first request is not affected and later retries get its outcome
+        HolidayDTO createdHoliday = createdHoliday();
+        first.complete(createdHoliday);
+        assertEquals(createdHoliday, holidayIdempotencyStore.claim("key-7", holidayDTO).awaitResponse());
+    }
+
+    @Test
+    public void testClaim_FailureReleasesKey() {
+        HolidayIdempotencyStore.Claim first = holidayIdempotencyStore.claim("key-3", holidayDTO);
+        HolidayIdempotencyStore.Claim waiting = holidayIdempotencyStore.claim("key-3", holidayDTO);
+        InvalidHolidayException failure = new InvalidHolidayException(HolidayRejectionReason.OVERLAP, "Overlap");
+
+        first.fail(failure);
+
+        assertSame(failure, assertThrows(InvalidHolidayException.class, waiting::awaitResponse));
+        assertFalse(holidayIdempotencyStore.claim("key-3", holidayDTO).isReplay());
+    }
+
+    @Test
+    public void testClaim_CancellingReplayDoesNotAffectOtherRequests() {
+        HolidayIdempotencyStore.Claim first = holidayIdempotencyStore.claim("key-4", holidayDTO);
+        holidayIdempotencyStore.claim("key-4", holidayDTO).response().cancel(true);
+
+        HolidayDTO createdHoliday = createdHoliday();
+        first.complete(createdHoliday);
+
+        assertEquals(createdHoliday, holidayIdempotencyStore.claim("key-4", holidayDTO).awaitResponse());
+    }
+
+    @Test
+    public void testClaim_KeyReusedForAnotherHoliday() {
+        holidayIdempotencyStore.claim("key-5", holidayDTO);
+        HolidayDTO otherHoliday = new HolidayDTO(null, "Other Holidays", holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), holidayDTO.getStatus());
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayIdempotencyStore.claim("key-5", otherHoliday));
+
+        assertEquals(HolidayRejectionReason.IDEMPOTENCY_KEY_REUSED, exception.getReason());
+    }
+
+    @Test
+    public void testClaim_ChangingRequestAfterClaimDoesNotAffectReplay() {
+        holidayIdempotencyStore.claim("key-6", holidayDTO);
+        HolidayDTO retriedHoliday = new HolidayDTO(null, holidayDTO.getHolidayLabel(), holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), holidayDTO.getStatus());
+
+        holidayDTO.setHolidayLabel("Changed Label");
+
+        assertTrue(holidayIdempotencyStore.claim("key-6", retriedHoliday).isReplay());
+    }
+
+    @Test
+    public void testClaim_InvalidKey() {
+        InvalidHolidayException blank = assertThrows(InvalidHolidayException.class,
+                () -> holidayIdempotencyStore.claim(" ", holidayDTO));
+        InvalidHolidayException tooLong = assertThrows(InvalidHolidayException.class,
+                () -> holidayIdempotencyStore.claim("k".repeat(HolidayIdempotencyStore.MAX_KEY_LENGTH + 1), holidayDTO));
+
+        assertEquals(HolidayRejectionReason.INVALID_IDEMPOTENCY_KEY, blank.getReason());
+        assertEquals(HolidayRejectionReason.INVALID_IDEMPOTENCY_KEY, tooLong.getReason());
+        assertEquals(0, holidayIdempotencyStore.size());
+    }
+
+    private HolidayDTO createdHoliday() {
+        return new HolidayDTO(UUID.randomUUID(), holidayDTO.getHolidayLabel(), holidayDTO.getEmployeeId(),
+                holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(), holidayDTO.getStatus());
+    }
+}
@@ -0,0 +1,163 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayIntervalIndexTest {
+
+    private HolidayIntervalIndex holidayIntervalIndex;
+    private Holiday holiday;
+
+    @BeforeEach
+    public void setup() {
+        holidayIntervalIndex = new HolidayIntervalIndex();
+        holiday = Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("Christmas Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2025-12-24T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2025-12-31T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+        holidayIntervalIndex.rebuild(List.of(holiday));
+    }
+
+    @Test
+    public void testOverlaps_PeriodInsideExistingHoliday() {
+        assertTrue(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                null));
+    }
+
+    @Test
+    public void testOverlaps_PeriodAdjacentToExistingHoliday() {
+        assertFalse(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-31T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-01-05T08:00:00+00:00"),
+                null));
+    }
+
+    @Test
+    public void testOverlaps_ComparesInstantsAcrossOffsets() {
+        // 2025-12-31T09:00+02:00 is 07:00 UTC, one hour before the existing holiday ends
+        assertTrue(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-31T09:00:00+02:00"),
+                OffsetDateTime.parse("2026-01-05T08:00:00+00:00"),
+                null));
+    }
+
+    @Test
+    public void testOverlaps_IgnoresExcludedHoliday() {
+        assertFalse(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                holiday.getHolidayId()));
+    }
+
+    @Test
+    public void testEndsBetween() {
+        assertTrue(holidayIntervalIndex.endsBetween(
+                OffsetDateTime.parse("2025-12-30T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-01-02T08:00:00+00:00"),
+                null));
+        assertFalse(holidayIntervalIndex.endsBetween(
+                OffsetDateTime.parse("2025-12-31T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-01-06T08:00:00+00:00"),
+                null));
+    }
+
+    @Test
+    public void testLatestEndOverlapping() {
+        holidayIntervalIndex.put(UUID.randomUUID(), "klm654321", OffsetDateTime.parse("2025-12-20T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-01-02T08:00:00+00:00"));
+
+        assertEquals(OffsetDateTime.parse("2026-01-02T08:00:00+00:00").toEpochSecond(),
+                holidayIntervalIndex.latestEndOverlapping(
+                        OffsetDateTime.parse("2025-12-26T08:00:00+00:00").toEpochSecond(),
+                        OffsetDateTime.parse("2025-12-27T08:00:00+00:00").toEpochSecond()).getAsLong());
+        assertTrue(holidayIntervalIndex.latestEndOverlapping(
+                OffsetDateTime.parse("2026-01-02T08:00:00+00:00").toEpochSecond(),
+                OffsetDateTime.parse("2026-01-05T08:00:00+00:00").toEpochSecond()).isEmpty());
+    }
+
+    @Test
+    public void testLatestEndBetween() {
+        holidayIntervalIndex.put(UUID.randomUUID(), "klm654321", OffsetDateTime.parse("2025-12-20T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-30T08:00:00+00:00"));
+
+        assertEquals(OffsetDateTime.parse("2025-12-31T08:00:00+00:00").toEpochSecond(),
+                holidayIntervalIndex.latestEndBetween(
+                        OffsetDateTime.parse("2025-12-29T00:00:00+00:00").toEpochSecond(),
+                        OffsetDateTime.parse("2026-01-01T00:00:00+00:00").toEpochSecond()).getAsLong());
+        assertTrue(holidayIntervalIndex.latestEndBetween(
+                OffsetDateTime.parse("2025-12-31T08:00:00+00:00").toEpochSecond(),
+                OffsetDateTime.parse("2026-01-05T00:00:00+00:00").toEpochSecond()).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        holidayIntervalIndex.remove(holiday.getHolidayId());
+
+        assertEquals(0, holidayIntervalIndex.size());
+        assertFalse(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                null));
+    }
+
+    @Test
+    public void testClaim_RejectedPeriodIsNotReserved() {
+        assertThrows(IllegalStateException.class, () -> holidayIntervalIndex.claim(UUID.randomUUID(), "klm654321",
+                OffsetDateTime.parse("2026-02-02T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-02-04T08:00:00+00:00"),
+                existingHolidays -> {
+                    throw new IllegalStateException("Rejected");
+                }));
+
+        assertEquals(1, holidayIntervalIndex.size());
+    }
+
+    @Test
+    public void testClaim_ConfirmKeepsPeriodUnderSavedId() {
+        UUID savedId = UUID.randomUUID();
+        HolidayIntervalIndex.Claim claim = holidayIntervalIndex.claim(UUID.randomUUID(), "klm654321",
+                OffsetDateTime.parse("2026-02-02T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-02-04T08:00:00+00:00"),
+                existingHolidays -> { });
+
+        claim.confirm(savedId);
+
+        assertEquals(2, holidayIntervalIndex.size());
+        assertEquals("klm654321", holidayIntervalIndex.findEmployeeId(savedId).orElseThrow());
+    }
+
+    @Test
+    public void testClaim_ReleaseRestoresPreviousPeriod() {
+        HolidayIntervalIndex.Claim claim = holidayIntervalIndex.claim(holiday.getHolidayId(), "klm123456",
+                OffsetDateTime.parse("2026-02-02T08:00:00+00:00"),
+                OffsetDateTime.parse("2026-02-04T08:00:00+00:00"),
+                existingHolidays -> { });
+        assertFalse(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                null));
+
+        claim.release();
+
+        assertEquals(1, holidayIntervalIndex.size());
+        assertTrue(holidayIntervalIndex.overlaps(
+                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                null));
+    }
+}
@@ -0,0 +1,124 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test of concurrent holiday creation: validation and insertion must be atomic,
+ * so conflicting requests racing each other can never all be accepted.
+ */
+@SpringBootTest(properties = "holidays.calendar.last-year=2999")
+public class HolidayServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCreateHoliday_ConcurrentOverlappingRequestsAcceptOnlyOne() throws Exception {
+        OffsetDateTime start = OffsetDateTime.of(2300, 3, 5, 8, 0, 0, 0, ZoneOffset.UTC);
+        List<HolidayDTO> holidayDTOs = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            holidayDTOs.add(holiday("klm" + i, start, start.plusDays(2)));
+        }
+
+        List<Object> outcomes = createConcurrently(holidayDTOs);
+
+        long accepted = outcomes.stream().filter(HolidayDTO.class::isInstance).count();
+        assertEquals(1, accepted);
+        outcomes.stream()
+                .filter(InvalidHolidayException.class::isInstance)
+                .map(InvalidHolidayException.class::cast)
+                .forEach(ex -> assertEquals(HolidayRejectionReason.OVERLAP, ex.getReason()));
+        assertEquals(1, holidayRepository.findConflicting(start.minusDays(1).toEpochSecond(),
+                start.plusDays(3).toEpochSecond(), null).size());
+    }
+
+    @Test
+    public void testCreateHoliday_ConcurrentNonConflictingRequestsAreAllAccepted() throws Exception {
+        // One-day holidays a week apart satisfy every rule whatever order they are created in
+        OffsetDateTime firstStart = OffsetDateTime.of(2400, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        List<HolidayDTO> holidayDTOs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            OffsetDateTime start = firstStart.plusDays(7L * i);
+            holidayDTOs.add(holiday("klm" + (i % THREADS), start, start.plusDays(1)));
+        }
+        Collections.shuffle(holidayDTOs);
+
+        List<Object> outcomes = createConcurrently(holidayDTOs);
+
+        assertTrue(outcomes.stream().allMatch(HolidayDTO.class::isInstance), outcomes::toString);
+        assertEquals(200, holidayRepository.findConflicting(firstStart.minusDays(1).toEpochSecond(),
+                firstStart.plusDays(7L * 200).toEpochSecond(), null).size());
+    }
+
+    /**
+     * Creates the holidays from all threads at once and returns, for each of them,
+     * either the created holiday or the exception it was rejected with.
+     */
+    private List<Object> createConcurrently(List<HolidayDTO> holidayDTOs) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (HolidayDTO holidayDTO : holidayDTOs) {
+            Callable<Object> create = () -> {
+                startSignal.await();
+                try {
+                    return holidayService.createHoliday(holidayDTO);
+                } catch (InvalidHolidayException ex) {
+                    return ex;
+                }
+            };
+            futures.add(executor.submit(create));
+        }
+        startSignal.countDown();
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private static HolidayDTO holiday(String employeeId, OffsetDateTime start, OffsetDateTime end) {
+        return new HolidayDTO(null, "Holiday", employeeId, start, end, HolidayStatus.REQUESTED);
+    }
+}
@@ -1,18 +1,48 @@
 package com.airfranceklm.fasttrack.assignment.service;
 
+import com.airfranceklm.fasttrack.assignment.config.CacheConfig;
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayBatchResultDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayChangesDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayCoverageDTO;
 import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidaySlotDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
 import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
 import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
 import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidaySyncHorizon;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import com.airfranceklm.fasttrack.assignment.repository.ArchivedHolidayRepository;
 import com.airfranceklm.fasttrack.assignment.repository.HolidayRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidaySyncHorizonRepository;
+import com.airfranceklm.fasttrack.assignment.repository.HolidayTombstoneRepository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +56,49 @@ public class HolidayServiceImplTest {
     @Mock
     private HolidayRepository holidayRepository;
 
+    @Spy
+    private HolidayIntervalIndex holidayIntervalIndex = new HolidayIntervalIndex();
+
+    @Spy
+    private HolidayCoverageIndex holidayCoverageIndex = new HolidayCoverageIndex();
+
+    @Spy
+    private HolidaysProperties holidaysProperties = new HolidaysProperties();
+
+    @Spy
+    private HolidayValidationRules holidayValidationRules =
+            new HolidayValidationRules(new WorkingDayCalendar(holidaysProperties));
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private HolidayVersions holidayVersions;
+
+    @Mock
+    private HolidayTombstoneRepository holidayTombstoneRepository;
+
+    @Mock
+    private HolidaySyncHorizonRepository holidaySyncHorizonRepository;
+
+    @Mock
+    private HolidayChangeSequence holidayChangeSequence;
+
+    @Mock
+    private HolidayEventStream holidayEventStream;
+
+    @Mock
+    private ArchivedHolidayRepository archivedHolidayRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private HolidayServiceImpl holidayService;
 
@@ -42,19 +115,19 @@ public class HolidayServiceImplTest {
                 holidayId,
                 "Christmas Holidays",
                 "klm123456",
-                OffsetDateTime.parse("2025-12-24T08:00:00+00:00"),
-                OffsetDateTime.parse("2025-12-31T08:00:00+00:00"),
+                OffsetDateTime.parse("2031-12-24T08:00:00+00:00"),
+                OffsetDateTime.parse("2031-12-31T08:00:00+00:00"),
                 HolidayStatus.REQUESTED
         );
 
-        holiday = new Holiday(
-                holidayId,
-                "Christmas Holidays",
-                "klm123456",
-                OffsetDateTime.parse("2025-12-24T08:00:00+00:00"),
-                OffsetDateTime.parse("2025-12-31T08:00:00+00:00"),
-                HolidayStatus.REQUESTED
-        );
+        holiday = Holiday.builder()
+                .holidayId(holidayId)
+                .holidayLabel("Christmas Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2031-12-24T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2031-12-31T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
     }
 
     @Test
@@ -70,33 +143,157 @@ public class HolidayServiceImplTest {
     @Test
     public void testCreateHoliday_OverlapException() {
         // Simulating an existing holiday with the same employeeId
-        when(holidayRepository.findAll()).thenReturn(List.of(holiday));
+        holidayIntervalIndex.put(holiday);
 
         // Creating a holiday with an overlapping date
         HolidayDTO newHolidayDTO = new HolidayDTO(
                 UUID.randomUUID(),
                 "New Year's Holidays",
                 "klm123456", // same employee ID
-                OffsetDateTime.parse("2025-12-25T08:00:00+00:00"),
-                OffsetDateTime.parse("2025-12-28T08:00:00+00:00"),
+                OffsetDateTime.parse("2031-12-25T08:00:00+00:00"),
+                OffsetDateTime.parse("2031-12-28T08:00:00+00:00"),
                 HolidayStatus.REQUESTED
         );
 
         InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, () -> holidayService.createHoliday(newHolidayDTO));
         assertEquals("Holiday overlaps with an existing holiday.", exception.getMessage());
+        assertEquals(HolidayRejectionReason.OVERLAP, exception.getReason());
     }
 
     @Test
-    public void testUpdateHoliday_Success() {
-        when(holidayRepository.findById(holidayId)).thenReturn(Optional.of(holiday));
+    public void testCreateHoliday_BeyondHorizon() {
+        HolidayDTO distantHolidayDTO = new HolidayDTO(null, "Distant Holidays", "klm123456",
+                OffsetDateTime.parse("2100-12-30T08:00:00+00:00"),
+                OffsetDateTime.parse("2101-01-02T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.createHoliday(distantHolidayDTO));
+        assertEquals(HolidayRejectionReason.BEYOND_HORIZON, exception.getReason());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testCreateHoliday_TooLong() {
+        HolidayDTO longHolidayDTO = new HolidayDTO(null, "Sabbatical", "klm123456",
+                OffsetDateTime.parse("2030-01-07T08:00:00+00:00"),
+                OffsetDateTime.parse("2031-01-09T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.createHoliday(longHolidayDTO));
+        assertEquals(HolidayRejectionReason.TOO_LONG, exception.getReason());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testCreateHoliday_StartInPast() {
+        HolidayDTO pastHolidayDTO = new HolidayDTO(null, "Past Holidays", "klm123456",
+                OffsetDateTime.parse("2020-12-24T08:00:00+00:00"),
+                OffsetDateTime.parse("2020-12-31T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.createHoliday(pastHolidayDTO));
+        assertEquals(HolidayRejectionReason.LEAD_TIME, exception.getReason());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testCreateHoliday_RecordsValidationRows() {
+        when(holidayRepository.findConflicting(Mockito.anyLong(), Mockito.anyLong(), Mockito.isNull()))
+                .thenReturn(List.of(holiday));
+        HolidayDTO newHolidayDTO = new HolidayDTO(
+                null,
+                "Spring Holidays",
+                "klm654321",
+                OffsetDateTime.parse("2030-04-01T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-04-05T08:00:00+00:00"),
+                HolidayStatus.REQUESTED
+        );
         when(holidayRepository.save(Mockito.any(Holiday.class))).thenReturn(holiday);
 
+        holidayService.createHoliday(newHolidayDTO);
+
+        DistributionSummary validationRows = meterRegistry.get("holidays.validation.rows").summary();
+        assertEquals(1, validationRows.count());
+        assertEquals(1.0, validationRows.totalAmount());
+    }
+
+    @Test
+    public void testCreateHolidays_ValidatesAgainstEachOther() {
+        when(holidayRepository.saveAllAndFlush(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Holiday> holidays = invocation.getArgument(0);
+            holidays.forEach(savedHoliday -> savedHoliday.setHolidayId(UUID.randomUUID()));
+            return holidays;
+        });
+        HolidayDTO summerHolidays = new HolidayDTO(null, "Summer Holidays", "klm123456",
+                OffsetDateTime.parse("2030-07-01T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-07-15T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+        HolidayDTO overlappingHolidays = new HolidayDTO(null, "Overlapping Holidays", "klm654321",
+                OffsetDateTime.parse("2030-07-10T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-07-20T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+        HolidayDTO unlabelledHolidays = new HolidayDTO(null, "", "klm123456",
+                OffsetDateTime.parse("2030-09-01T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-09-05T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+
+        List<HolidayBatchResultDTO> results = holidayService.createHolidays(
+                List.of(summerHolidays, overlappingHolidays, unlabelledHolidays));
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getHoliday().getHolidayId());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getHoliday());
+        assertEquals("Holiday overlaps with an existing holiday.", results.get(1).getError());
+        assertNull(results.get(2).getHoliday());
+        assertEquals("holidayLabel: Holiday label cannot be empty", results.get(2).getError());
+        Mockito.verify(holidayRepository, Mockito.times(1)).findConflicting(Mockito.anyLong(), Mockito.anyLong(), Mockito.isNull());
+    }
+
+    @Test
+    public void testUpdateHoliday_Success() {
+        holidayIntervalIndex.put(holiday);
+        when(holidayChangeSequence.next()).thenReturn(42L);
+        when(holidayRepository.updateHoliday(holidayId, "Updated Holiday Label", holiday.getStartOfHoliday(),
+                holiday.getEndOfHoliday(), holiday.getStartOfHoliday().toEpochSecond(),
+                holiday.getEndOfHoliday().toEpochSecond(), HolidayStatus.REQUESTED, 42L)).thenReturn(1);
+
         holidayDTO.setHolidayLabel("Updated Holiday Label");
 
         HolidayDTO result = holidayService.updateHoliday(holidayId, holidayDTO);
 
         assertNotNull(result);
         assertEquals("Updated Holiday Label", result.getHolidayLabel());
+        assertEquals("klm123456", result.getEmployeeId());
+        // The dates did not change, so the holiday is neither loaded nor validated again
+        Mockito.verify(holidayRepository, Mockito.never()).findById(holidayId);
+        Mockito.verify(holidayRepository, Mockito.never()).findConflicting(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any());
+    }
+
+    @Test
+    public void testUpdateHoliday_NotFound() {
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.updateHoliday(holidayId, holidayDTO));
+
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testUpdateHoliday_DeletedConcurrently() {
+        holidayIntervalIndex.put(holiday);
+        when(holidayRepository.updateHoliday(Mockito.eq(holidayId), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.anyLong(), Mockito.anyLong(), Mockito.any(), Mockito.anyLong())).thenReturn(0);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.updateHoliday(holidayId, holidayDTO));
+
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+        assertEquals(0, holidayIntervalIndex.size());
     }
 
 //    @Test
@@ -136,20 +333,395 @@ public class HolidayServiceImplTest {
 
 
 
+    @Test
+    public void testGetAllHolidays_LastPage() {
+        when(holidayRepository.findFirstPage(Limit.of(101))).thenReturn(List.of(holidayDTO));
+
+        HolidayPageDTO result = holidayService.getAllHolidays(null, null);
+
+        assertEquals(1, result.getHolidays().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testGetMyHolidays_NextCursorPointsAfterLastHolidayOfPage() {
+        HolidayDTO nextHoliday = HolidayDTO.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("New Year's Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2032-01-10T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2032-01-12T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+        when(holidayRepository.findFirstPageByEmployeeId("klm123456", Limit.of(2)))
+                .thenReturn(List.of(holidayDTO, nextHoliday));
+        when(holidayRepository.findPageByEmployeeIdAfter("klm123456", holiday.getStartOfHoliday().toEpochSecond(),
+                holidayId, Limit.of(2)))
+                .thenReturn(List.of(nextHoliday));
+
+        HolidayPageDTO firstPage = holidayService.getMyHolidays("klm123456", null, 1);
+        HolidayPageDTO secondPage = holidayService.getMyHolidays("klm123456", firstPage.getNextCursor(), 1);
+
+        assertEquals(List.of(holidayId), firstPage.getHolidays().stream().map(HolidayDTO::getHolidayId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(nextHoliday.getHolidayId()),
+                secondPage.getHolidays().stream().map(HolidayDTO::getHolidayId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void testGetAllHolidays_InvalidCursor() {
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.getAllHolidays("not a cursor", null));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
     @Test
     public void testDeleteHoliday_Success() {
-        when(holidayRepository.existsById(holidayId)).thenReturn(true);
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+
+        holidayService.deleteHoliday(holidayId);
+
+        Mockito.verify(holidayRepository).deleteHolidayById(holidayId);
+        Mockito.verify(holidayRepository, Mockito.never()).existsById(holidayId);
+    }
+
+    @Test
+    public void testDeleteHoliday_EvictsCachedHolidays() {
+        Cache holidayCache = Mockito.mock(Cache.class);
+        Cache employeeHolidaysCache = Mockito.mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.HOLIDAY_BY_ID)).thenReturn(holidayCache);
+        when(cacheManager.getCache(CacheConfig.EMPLOYEE_HOLIDAYS)).thenReturn(employeeHolidaysCache);
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+        holidayIntervalIndex.put(holiday);
 
         holidayService.deleteHoliday(holidayId);
 
-        Mockito.verify(holidayRepository).deleteById(holidayId);
+        Mockito.verify(holidayCache).evict(holidayId);
+        Mockito.verify(employeeHolidaysCache).evict("klm123456");
+        Mockito.verify(employeeHolidaysCache, Mockito.never()).clear();
+        Mockito.verify(holidayVersions).bump("klm123456");
     }
 
     @Test
     public void testDeleteHoliday_NotFound() {
-        when(holidayRepository.existsById(holidayId)).thenReturn(false);
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(0);
 
         InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, () -> holidayService.deleteHoliday(holidayId));
         assertEquals("Holiday not found", exception.getMessage());
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+    }
+
+    @Test
+    public void testGetCoverage_CountsHolidaysPerDay() {
+        holidayCoverageIndex.put(holiday);
+
+        List<HolidayCoverageDTO> coverage = holidayService.getCoverage(
+                LocalDate.parse("2031-12-30"), LocalDate.parse("2032-01-01"), null);
+
+        assertEquals(List.of(1, 1, 0), coverage.stream().map(HolidayCoverageDTO::getHolidays).toList());
+        assertEquals(LocalDate.parse("2032-01-01"), coverage.get(2).getDate());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testGetCoverage_RangeTooLong() {
+        // 367 days, one more than the default maximum
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, () -> holidayService.getCoverage(
+                LocalDate.parse("2032-01-01"), LocalDate.parse("2033-01-02"), null));
+        assertEquals(HolidayRejectionReason.INVALID_DATE_RANGE, exception.getReason());
+    }
+
+    @Test
+    public void testGetCoverage_RangeOfMaxDays() {
+        int maxDays = holidaysProperties.getCoverage().getMaxDays();
+        LocalDate from = LocalDate.parse("2032-01-01");
+
+        List<HolidayCoverageDTO> coverage = holidayService.getCoverage(from, from.plusDays(maxDays - 1), null);
+
+        assertEquals(maxDays, coverage.size());
+    }
+
+    @Test
+    public void testDeleteHoliday_RecordsTombstone() {
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+        when(holidayChangeSequence.next()).thenReturn(42L);
+        holidayIntervalIndex.put(holiday);
+
+        holidayService.deleteHoliday(holidayId);
+
+        ArgumentCaptor<HolidayTombstone> tombstone = ArgumentCaptor.forClass(HolidayTombstone.class);
+        Mockito.verify(entityManager).persist(tombstone.capture());
+        assertEquals(holidayId, tombstone.getValue().getHolidayId());
+        assertEquals("klm123456", tombstone.getValue().getEmployeeId());
+        assertEquals(42L, tombstone.getValue().getChangeSequence());
+        assertTrue(tombstone.getValue().getDeletedEpochSecond() > 0);
+    }
+
+    @Test
+    public void testDeleteHoliday_UpdatesIndexesOnceCommitted() {
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+        holidayIntervalIndex.put(holiday);
+        holidayCoverageIndex.put(holiday);
+        LocalDate christmas = LocalDate.parse("2031-12-25");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            holidayService.deleteHoliday(holidayId);
+
+            // Until the transaction commits, the holiday is still on file for every other request
+            assertTrue(holidayIntervalIndex.findEmployeeId(holidayId).isPresent());
+            assertEquals(1, holidayCoverageIndex.count(christmas, christmas, null)[0]);
+            Mockito.verifyNoInteractions(holidayVersions, holidayEventStream);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, holidayIntervalIndex.size());
+        assertEquals(0, holidayCoverageIndex.count(christmas, christmas, null)[0]);
+        Mockito.verify(holidayVersions).bump("klm123456");
+    }
+
+    @Test
+    public void testDeleteHoliday_KeepsIndexesOnRollback() {
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+        holidayIntervalIndex.put(holiday);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            holidayService.deleteHoliday(holidayId);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(holidayIntervalIndex.findEmployeeId(holidayId).isPresent());
+        Mockito.verifyNoInteractions(holidayEventStream);
+    }
+
+    @Test
+    public void testDeleteHoliday_PublishesEvent() {
+        when(holidayRepository.deleteHolidayById(holidayId)).thenReturn(1);
+        holidayIntervalIndex.put(holiday);
+
+        holidayService.deleteHoliday(holidayId);
+
+        ArgumentCaptor<HolidayEventDTO> event = ArgumentCaptor.forClass(HolidayEventDTO.class);
+        Mockito.verify(holidayEventStream).publish(event.capture());
+        assertEquals(HolidayEventType.DELETED, event.getValue().getType());
+        assertEquals(holidayId, event.getValue().getHolidayId());
+        assertEquals("klm123456", event.getValue().getEmployeeId());
+        assertNull(event.getValue().getHoliday());
+    }
+
+    @Test
+    public void testGetChanges_MergesWritesAndDeletionsInSequenceOrder() {
+        holiday.setChangeSequence(5L);
+        UUID deletedHolidayId = UUID.randomUUID();
+        when(holidayChangeSequence.stable()).thenReturn(9L);
+        when(holidayRepository.findChanges(3L, 9L, Limit.of(3))).thenReturn(List.of(holiday));
+        when(holidayTombstoneRepository.findChanges(3L, 9L, Limit.of(3)))
+                .thenReturn(List.of(new HolidayTombstone(deletedHolidayId, "klm654321", 4L, 0L),
+                        new HolidayTombstone(UUID.randomUUID(), "klm654321", 7L, 0L)));
+
+        HolidayChangesDTO changes = holidayService.getChanges("3", 2);
+
+        assertEquals(List.of(holidayId), changes.getHolidays().stream().map(HolidayDTO::getHolidayId).toList());
+        assertEquals(List.of(deletedHolidayId), changes.getDeletedHolidayIds());
+        assertEquals("5", changes.getSyncToken());
+        assertTrue(changes.isHasMore());
+    }
+
+    @Test
+    public void testGetChanges_TokenAheadOfServer() {
+        when(holidayChangeSequence.stable()).thenReturn(9L);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.getChanges("10", null));
+        assertEquals(HolidayRejectionReason.INVALID_SYNC_TOKEN, exception.getReason());
+    }
+
+    @Test
+    public void testGetChanges_TokenBeforePruningHorizon() {
+        when(holidayChangeSequence.stable()).thenReturn(9L);
+        when(holidayChangeSequence.prunedUpTo()).thenReturn(5L);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.getChanges("4", null));
+        assertEquals(HolidayRejectionReason.SYNC_TOKEN_EXPIRED, exception.getReason());
+        // A token at the horizon, or issued once its tombstones were pruned, missed none of them
+        assertEquals("9", holidayService.getChanges("5", null).getSyncToken());
+        assertEquals("9", holidayService.getChanges("3-5", null).getSyncToken());
+    }
+
+    @Test
+    public void testGetChanges_FirstSyncPagesBelowPruningHorizon() {
+        holiday.setChangeSequence(2L);
+        when(holidayChangeSequence.stable()).thenReturn(9L);
+        when(holidayChangeSequence.prunedUpTo()).thenReturn(5L);
+        when(holidayRepository.findChanges(0L, 9L, Limit.of(2))).thenReturn(List.of(holiday, holiday));
+
+        HolidayChangesDTO changes = holidayService.getChanges(null, 1);
+
+        // The next page is read below the horizon, which the token carries so that it is not taken as expired
+        assertTrue(changes.isHasMore());
+        assertEquals("2-5", changes.getSyncToken());
+        when(holidayRepository.findChanges(2L, 9L, Limit.of(2))).thenReturn(List.of());
+        assertEquals("9", holidayService.getChanges(changes.getSyncToken(), 1).getSyncToken());
+    }
+
+    @Test
+    public void testGetChanges_HorizonAheadOfServer() {
+        when(holidayChangeSequence.stable()).thenReturn(9L);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.getChanges("3-5", null));
+        assertEquals(HolidayRejectionReason.INVALID_SYNC_TOKEN, exception.getReason());
+    }
+
+    @Test
+    public void testPruneTombstones_DeletesUpToLatestExpiredDeletion() {
+        OffsetDateTime deletedBefore = OffsetDateTime.parse("2031-01-01T00:00:00+00:00");
+        when(holidayTombstoneRepository.findMaxChangeSequenceDeletedBefore(deletedBefore.toEpochSecond()))
+                .thenReturn(12L);
+        when(holidayTombstoneRepository.deleteUpTo(12L)).thenReturn(3);
+
+        assertEquals(3, holidayService.pruneTombstones(deletedBefore));
+
+        Mockito.verify(holidayChangeSequence).prune(12L);
+        Mockito.verify(holidaySyncHorizonRepository).save(new HolidaySyncHorizon(HolidaySyncHorizon.ID, 12L));
+    }
+
+    @Test
+    public void testPruneTombstones_NothingExpired() {
+        OffsetDateTime deletedBefore = OffsetDateTime.parse("2031-01-01T00:00:00+00:00");
+        when(holidayTombstoneRepository.findMaxChangeSequenceDeletedBefore(deletedBefore.toEpochSecond()))
+                .thenReturn(0L);
+
+        assertEquals(0, holidayService.pruneTombstones(deletedBefore));
+
+        Mockito.verify(holidayChangeSequence, Mockito.never()).prune(Mockito.anyLong());
+        Mockito.verify(holidayTombstoneRepository, Mockito.never()).deleteUpTo(Mockito.anyLong());
+    }
+
+    @Test
+    public void testArchiveHolidays_MovesChunkToArchive() {
+        OffsetDateTime endedBefore = OffsetDateTime.parse("2032-01-31T00:00:00+00:00");
+        holidayIntervalIndex.put(holiday);
+        holidayCoverageIndex.put(holiday);
+        when(holidayRepository.findEndedBefore(endedBefore.toEpochSecond(), Limit.of(10))).thenReturn(List.of(holiday));
+        when(holidayChangeSequence.next()).thenReturn(42L);
+
+        int archived = holidayService.archiveHolidays(endedBefore, 10);
+
+        assertEquals(1, archived);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(entityManager, Mockito.times(2)).persist(persisted.capture());
+        ArchivedHoliday archivedHoliday = (ArchivedHoliday) persisted.getAllValues().get(0);
+        assertEquals(holidayId, archivedHoliday.getHolidayId());
+        assertEquals(HolidayStatus.ARCHIVED, archivedHoliday.getStatus());
+        assertEquals(new HolidayTombstone(holidayId, "klm123456", 42L, archivedHoliday.getArchivedAt().toEpochSecond()),
+                persisted.getAllValues().get(1));
+        Mockito.verify(holidayRepository).deleteAllByIdInBatch(List.of(holidayId));
+        assertEquals(0, holidayIntervalIndex.size());
+        // The archived holiday is still counted, under the ARCHIVED status
+        LocalDate christmas = LocalDate.parse("2031-12-25");
+        assertEquals(1, holidayCoverageIndex.count(christmas, christmas, null)[0]);
+        assertEquals(1, holidayCoverageIndex.count(christmas, christmas, HolidayStatus.ARCHIVED)[0]);
+        assertEquals(0, holidayCoverageIndex.count(christmas, christmas, HolidayStatus.REQUESTED)[0]);
+        Mockito.verify(holidayVersions).bump("klm123456");
+    }
+
+    @Test
+    public void testArchiveHolidays_NothingToArchive() {
+        OffsetDateTime endedBefore = OffsetDateTime.parse("2032-01-31T00:00:00+00:00");
+        when(holidayRepository.findEndedBefore(endedBefore.toEpochSecond(), Limit.of(10))).thenReturn(List.of());
+
+        assertEquals(0, holidayService.archiveHolidays(endedBefore, 10));
+        Mockito.verify(holidayRepository, Mockito.never()).deleteAllByIdInBatch(Mockito.any());
+    }
+
+    @Test
+    public void testGetArchivedHolidays_ReadsArchiveOfEmployee() {
+        HolidayDTO archivedHolidayDTO = new HolidayDTO(holidayId, "Christmas Holidays", "klm123456",
+                holiday.getStartOfHoliday(), holiday.getEndOfHoliday(), HolidayStatus.ARCHIVED);
+        when(archivedHolidayRepository.findFirstPageByEmployeeId("klm123456", Limit.of(101)))
+                .thenReturn(List.of(archivedHolidayDTO));
+
+        HolidayPageDTO page = holidayService.getArchivedHolidays("klm123456", null, null);
+
+        assertEquals(List.of(archivedHolidayDTO), page.getHolidays());
+        assertNull(page.getNextCursor());
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testFindNextSlot_FreeDayReturnedAsIs() {
+        HolidaySlotDTO slot = holidayService.findNextSlot("klm123456", 5, LocalDate.parse("2090-03-01"));
+
+        assertEquals("klm123456", slot.getEmployeeId());
+        assertEquals(OffsetDateTime.parse("2090-03-01T00:00:00Z"), slot.getStartOfHoliday());
+        assertEquals(OffsetDateTime.parse("2090-03-06T00:00:00Z"), slot.getEndOfHoliday());
+    }
+
+    @Test
+    public void testFindNextSlot_SkipsOverlapAndGapOfOtherHolidays() {
+        holidayIntervalIndex.put(UUID.randomUUID(), "klm654321", OffsetDateTime.parse("2090-03-01T08:00:00Z"),
+                OffsetDateTime.parse("2090-03-10T08:00:00Z"));
+        holidayIntervalIndex.put(UUID.randomUUID(), "klm654321", OffsetDateTime.parse("2090-03-20T08:00:00Z"),
+                OffsetDateTime.parse("2090-03-22T08:00:00Z"));
+
+        HolidaySlotDTO slot = holidayService.findNextSlot("klm123456", 7, LocalDate.parse("2090-03-02"));
+
+        // The slot meets every rule, and starting one day earlier would break one of them
+        assertDoesNotThrow(() -> validate(slot.getStartOfHoliday(), slot.getEndOfHoliday()));
+        assertThrows(InvalidHolidayException.class,
+                () -> validate(slot.getStartOfHoliday().minusDays(1), slot.getEndOfHoliday().minusDays(1)));
+        Mockito.verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testFindNextSlot_AfterBeyondHorizon() {
+        holidayIntervalIndex.put(UUID.randomUUID(), "klm654321", OffsetDateTime.parse("2090-03-01T08:00:00Z"),
+                OffsetDateTime.parse("2090-03-10T08:00:00Z"));
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.findNextSlot("klm123456", 5, LocalDate.parse("+40000-01-01")));
+        assertEquals(HolidayRejectionReason.BEYOND_HORIZON, exception.getReason());
+    }
+
+    @Test
+    public void testFindNextSlot_RespectsLeadTime() {
+        HolidaySlotDTO slot = holidayService.findNextSlot("klm123456", 1, null);
+
+        assertDoesNotThrow(() -> holidayValidationRules.checkLeadTimeForHoliday(slotDTO(slot.getStartOfHoliday(),
+                slot.getEndOfHoliday())));
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayValidationRules.checkLeadTimeForHoliday(slotDTO(slot.getStartOfHoliday().minusDays(1),
+                        slot.getEndOfHoliday().minusDays(1))));
+        assertEquals(HolidayRejectionReason.LEAD_TIME, exception.getReason());
+    }
+
+    @Test
+    public void testFindNextSlot_InvalidLength() {
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> holidayService.findNextSlot("klm123456", 0, null));
+
+        assertEquals(HolidayRejectionReason.INVALID_DATE_RANGE, exception.getReason());
+    }
+
+    private void validate(OffsetDateTime start, OffsetDateTime end) {
+        HolidayDTO candidate = slotDTO(start, end);
+        HolidayValidationRules.ValidationBounds bounds = holidayValidationRules.validationBounds(candidate);
+        holidayValidationRules.checkLeadTimeForHoliday(candidate);
+        holidayValidationRules.checkForHolidayOverlap(bounds, null, holidayIntervalIndex);
+        holidayValidationRules.checkForGapBetweenHolidays(bounds, null, holidayIntervalIndex);
+    }
+
+    private static HolidayDTO slotDTO(OffsetDateTime start, OffsetDateTime end) {
+        return new HolidayDTO(null, "Slot", "klm123456", start, end, HolidayStatus.REQUESTED);
     }
 }
@@ -0,0 +1,104 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Locks in the number of SQL statements each write operation costs, counted by the Hibernate statistics.
+ * Every test uses its own month far in the future, so the holidays never break a rule for each other.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "holidays.calendar.last-year=2999"})
+public class HolidayServiceStatementCountTest {
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testCreateHoliday_ValidationWindowAndInsert() {
+        HolidayDTO holidayDTO = holiday(OffsetDateTime.of(2700, 1, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+
+        assertEquals(2, countStatements(() -> holidayService.createHoliday(holidayDTO)));
+    }
+
+    @Test
+    public void testUpdateHoliday_SameDatesIsOneUpdate() {
+        HolidayDTO holidayDTO = holidayService.createHoliday(
+                holiday(OffsetDateTime.of(2700, 3, 4, 8, 0, 0, 0, ZoneOffset.UTC)));
+        holidayDTO.setHolidayLabel("Renamed Holiday");
+
+        assertEquals(1, countStatements(() -> holidayService.updateHoliday(holidayDTO.getHolidayId(), holidayDTO)));
+    }
+
+    @Test
+    public void testUpdateHoliday_NewDatesIsValidationWindowAndUpdate() {
+        HolidayDTO holidayDTO = holidayService.createHoliday(
+                holiday(OffsetDateTime.of(2700, 5, 4, 8, 0, 0, 0, ZoneOffset.UTC)));
+        holidayDTO.setStartOfHoliday(holidayDTO.getStartOfHoliday().plusDays(7));
+        holidayDTO.setEndOfHoliday(holidayDTO.getEndOfHoliday().plusDays(7));
+
+        assertEquals(2, countStatements(() -> holidayService.updateHoliday(holidayDTO.getHolidayId(), holidayDTO)));
+    }
+
+    @Test
+    public void testUpdateHoliday_UnknownHolidayIsNoStatement() {
+        HolidayDTO holidayDTO = holiday(OffsetDateTime.of(2700, 7, 4, 8, 0, 0, 0, ZoneOffset.UTC));
+
+        assertEquals(0, countStatements(() -> assertNotFound(
+                () -> holidayService.updateHoliday(UUID.randomUUID(), holidayDTO))));
+    }
+
+    @Test
+    public void testDeleteHoliday_DeleteAndTombstone() {
+        HolidayDTO holidayDTO = holidayService.createHoliday(
+                holiday(OffsetDateTime.of(2700, 9, 4, 8, 0, 0, 0, ZoneOffset.UTC)));
+
+        assertEquals(2, countStatements(() -> holidayService.deleteHoliday(holidayDTO.getHolidayId())));
+    }
+
+    @Test
+    public void testDeleteHoliday_UnknownHolidayIsOneDelete() {
+        assertEquals(1, countStatements(() -> assertNotFound(() -> holidayService.deleteHoliday(UUID.randomUUID()))));
+    }
+
+    private long countStatements(Runnable operation) {
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static void assertNotFound(Runnable operation) {
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, operation::run);
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+    }
+
+    private static HolidayDTO holiday(OffsetDateTime start) {
+        return new HolidayDTO(null, "Holiday", "klm" + start.getMonthValue(), start, start.plusDays(2),
+                HolidayStatus.REQUESTED);
+    }
+}
@@ -0,0 +1,122 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.mapper.HolidayMapper;
+import com.airfranceklm.fasttrack.assignment.resources.ArchivedHoliday;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidaySnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testWriteAndRead_RoundTripsHolidaysTombstonesAndArchivedHolidays() throws IOException {
+        Path file = directory.resolve("holidays.snapshot");
+        Holiday holiday = holiday("klm123456", "Christmas Holidays", OffsetDateTime.parse("2030-12-24T08:00:00+01:00"));
+        Holiday holidayWithoutStatus = holiday("klm123456", null, OffsetDateTime.parse("2031-01-10T08:00:00-05:00"));
+        holidayWithoutStatus.setStatus(null);
+        holidayWithoutStatus.setChangeSequence(null);
+        HolidayTombstone tombstone = new HolidayTombstone(UUID.randomUUID(), "klm654321", 7L, 1_900_000_000L);
+        ArchivedHoliday archivedHoliday = HolidayMapper.toArchivedHoliday(
+                holiday("klm123456", "Summer Holidays", OffsetDateTime.parse("2029-07-01T08:00:00+02:00")),
+                OffsetDateTime.parse("2029-08-03T00:00:00Z"));
+
+        try (HolidaySnapshotFile.Writer writer = HolidaySnapshotFile.writer(file)) {
+            writer.writeHoliday(holiday);
+            writer.writeHoliday(holidayWithoutStatus);
+            writer.writeTombstone(tombstone);
+            writer.writeArchivedHoliday(archivedHoliday);
+            writer.finish(5L);
+        }
+        List<Holiday> holidays = new ArrayList<>();
+        List<HolidayTombstone> tombstones = new ArrayList<>();
+        List<ArchivedHoliday> archivedHolidays = new ArrayList<>();
+        long prunedUpTo = HolidaySnapshotFile.read(file, holidays::add, tombstones::add, archivedHolidays::add);
+
+        assertEquals(List.of(holiday, holidayWithoutStatus), holidays);
+        assertEquals(List.of(tombstone), tombstones);
+        assertEquals(List.of(archivedHoliday), archivedHolidays);
+        assertEquals(5L, prunedUpTo);
+        // The employee ID is stored once and shared by every holiday pointing to it
+        assertSame(holidays.get(0).getEmployeeId(), holidays.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testClose_WithoutFinishKeepsPreviousSnapshot() throws IOException {
+        Path file = directory.resolve("holidays.snapshot");
+        try (HolidaySnapshotFile.Writer writer = HolidaySnapshotFile.writer(file)) {
+            writer.writeHoliday(holiday("klm123456", "Summer Holidays", OffsetDateTime.parse("2030-07-01T08:00:00Z")));
+            writer.finish(0);
+        }
+
+        try (HolidaySnapshotFile.Writer writer = HolidaySnapshotFile.writer(file)) {
+            writer.writeHoliday(holiday("klm654321", "Winter Holidays", OffsetDateTime.parse("2030-02-01T08:00:00Z")));
+        }
+        List<Holiday> holidays = new ArrayList<>();
+        HolidaySnapshotFile.read(file, holidays::add, tombstone -> fail("No tombstone was written"),
+                archivedHoliday -> fail("No archived holiday was written"));
+
+        assertEquals(1, holidays.size());
+        assertEquals("klm123456", holidays.get(0).getEmployeeId());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testRead_RejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(directory.resolve("holidays.snapshot"), "not a snapshot, just some text");
+
+        assertThrows(IOException.class, () -> HolidaySnapshotFile.read(file, holiday -> { }, tombstone -> { },
+                archivedHoliday -> { }));
+    }
+
+    @Test
+    public void testRead_RejectsCorruptRecords() throws IOException {
+        Path file = directory.resolve("holidays.snapshot");
+        try (HolidaySnapshotFile.Writer writer = HolidaySnapshotFile.writer(file)) {
+            writer.writeHoliday(holiday("klm123456", "Summer Holidays", OffsetDateTime.parse("2030-07-01T08:00:00Z")));
+            writer.finish(0);
+        }
+        byte[] snapshot = Files.readAllBytes(file);
+
+        // Employee index of the holiday, then its status, then the number of employee IDs in the dictionary
+        for (int offset : new int[]{8 + 40, 8 + 48, 8 + HolidaySnapshotFile.HOLIDAY_RECORD_SIZE}) {
+            byte[] corrupt = snapshot.clone();
+            corrupt[offset] = 0x7F;
+            Path corruptFile = Files.write(directory.resolve("corrupt-" + offset + ".snapshot"), corrupt);
+
+            assertThrows(IOException.class, () -> HolidaySnapshotFile.read(corruptFile, holiday -> { },
+                    tombstone -> { }, archivedHoliday -> { }));
+        }
+    }
+
+    private static Holiday holiday(String employeeId, String label, OffsetDateTime start) {
+        OffsetDateTime end = start.plusDays(2);
+        return Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel(label)
+                .employeeId(employeeId)
+                .startOfHoliday(start)
+                .endOfHoliday(end)
+                .startEpochSecond(start.toEpochSecond())
+                .endEpochSecond(end.toEpochSecond())
+                .status(HolidayStatus.SCHEDULED)
+                .changeSequence(3L)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayTombstonePruneJobTest {
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Spy
+    private HolidaysProperties holidaysProperties = new HolidaysProperties();
+
+    @InjectMocks
+    private HolidayTombstonePruneJob holidayTombstonePruneJob;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        holidaysProperties.getSync().setTombstoneRetention(Duration.ofDays(7));
+    }
+
+    @Test
+    public void testPruneTombstones_PrunesBeyondRetention() {
+        OffsetDateTime before = OffsetDateTime.now().minusDays(7);
+
+        holidayTombstonePruneJob.pruneTombstones();
+
+        ArgumentCaptor<OffsetDateTime> deletedBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        Mockito.verify(holidayService).pruneTombstones(deletedBefore.capture());
+        assertFalse(deletedBefore.getValue().isBefore(before));
+        assertFalse(deletedBefore.getValue().isAfter(OffsetDateTime.now().minusDays(7)));
+    }
+
+    @Test
+    public void testPruneTombstones_NegativeRetention() {
+        holidaysProperties.getSync().setTombstoneRetention(Duration.ofDays(-1));
+
+        holidayTombstonePruneJob.pruneTombstones();
+
+        Mockito.verifyNoInteractions(holidayService);
+    }
+}
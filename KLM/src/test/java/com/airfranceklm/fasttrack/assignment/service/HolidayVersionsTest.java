@@ -0,0 +1,58 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayVersionsTest {
+
+    private HolidayVersions holidayVersions;
+    private Holiday holiday;
+
+    @BeforeEach
+    public void setup() {
+        HolidayIntervalIndex holidayIntervalIndex = new HolidayIntervalIndex();
+        holiday = Holiday.builder()
+                .holidayId(UUID.randomUUID())
+                .holidayLabel("Christmas Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2025-12-24T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2025-12-31T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+        holidayIntervalIndex.rebuild(List.of(holiday));
+        holidayVersions = new HolidayVersions(holidayIntervalIndex);
+    }
+
+    @Test
+    public void testBump_ChangesOnlyTagsOfTheEmployee() {
+        String allHolidaysTag = holidayVersions.allHolidaysTag();
+        String employeeTag = holidayVersions.employeeHolidaysTag("klm123456");
+        String otherEmployeeTag = holidayVersions.employeeHolidaysTag("klm654321");
+        String holidayTag = holidayVersions.holidayTag(holiday.getHolidayId());
+
+        holidayVersions.bump("klm123456");
+
+        assertNotEquals(allHolidaysTag, holidayVersions.allHolidaysTag());
+        assertNotEquals(employeeTag, holidayVersions.employeeHolidaysTag("klm123456"));
+        assertNotEquals(holidayTag, holidayVersions.holidayTag(holiday.getHolidayId()));
+        assertEquals(otherEmployeeTag, holidayVersions.employeeHolidaysTag("klm654321"));
+    }
+
+    @Test
+    public void testBump_UnknownEmployeeChangesEveryEmployeeTag() {
+        String otherEmployeeTag = holidayVersions.employeeHolidaysTag("klm654321");
+
+        holidayVersions.bump(null);
+
+        assertNotEquals(otherEmployeeTag, holidayVersions.employeeHolidaysTag("klm654321"));
+    }
+}
@@ -0,0 +1,312 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayEventDTO;
+import com.airfranceklm.fasttrack.assignment.dto.HolidayPageDTO;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayEventType;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayStatus;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+import com.airfranceklm.fasttrack.assignment.repository.ReactiveHolidayRepository;
+import com.airfranceklm.fasttrack.assignment.resources.Holiday;
+import com.airfranceklm.fasttrack.assignment.resources.HolidayTombstone;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class ReactiveHolidayServiceImplTest {
+
+    @Mock
+    private ReactiveHolidayRepository reactiveHolidayRepository;
+
+    @Spy
+    private HolidayIntervalIndex holidayIntervalIndex = new HolidayIntervalIndex();
+
+    @Spy
+    private HolidayCoverageIndex holidayCoverageIndex = new HolidayCoverageIndex();
+
+    @Spy
+    private HolidaysProperties holidaysProperties = new HolidaysProperties();
+
+    @Spy
+    private HolidayValidationRules holidayValidationRules =
+            new HolidayValidationRules(new WorkingDayCalendar(holidaysProperties));
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private HolidayVersions holidayVersions;
+
+    @Mock
+    private HolidayChangeSequence holidayChangeSequence;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private HolidayEventStream holidayEventStream;
+
+    @InjectMocks
+    private ReactiveHolidayServiceImpl reactiveHolidayService;
+
+    private HolidayDTO holidayDTO;
+
+    private Holiday holiday;
+
+    private UUID holidayId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(Mockito.any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(holidayChangeSequence.next()).thenReturn(7L);
+        when(reactiveHolidayRepository.findConflicting(Mockito.anyLong(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(Flux.empty());
+
+        holidayId = UUID.randomUUID();
+        holidayDTO = new HolidayDTO(
+                null,
+                "Spring Holidays",
+                "klm123456",
+                OffsetDateTime.parse("2030-04-01T08:00:00+00:00"),
+                OffsetDateTime.parse("2030-04-05T08:00:00+00:00"),
+                HolidayStatus.REQUESTED
+        );
+        holiday = Holiday.builder()
+                .holidayId(holidayId)
+                .holidayLabel("Spring Holidays")
+                .employeeId("klm123456")
+                .startOfHoliday(OffsetDateTime.parse("2030-04-01T08:00:00+00:00"))
+                .endOfHoliday(OffsetDateTime.parse("2030-04-05T08:00:00+00:00"))
+                .status(HolidayStatus.REQUESTED)
+                .build();
+    }
+
+    @Test
+    public void testCreateHoliday_Success() {
+        when(reactiveHolidayRepository.insert(Mockito.any(Holiday.class))).thenReturn(Mono.empty());
+
+        HolidayDTO result = reactiveHolidayService.createHoliday(holidayDTO).block();
+
+        assertNotNull(result);
+        assertNotNull(result.getHolidayId());
+        assertEquals("klm123456", holidayIntervalIndex.findEmployeeId(result.getHolidayId()).orElseThrow());
+        ArgumentCaptor<Holiday> inserted = ArgumentCaptor.forClass(Holiday.class);
+        Mockito.verify(reactiveHolidayRepository).insert(inserted.capture());
+        assertEquals(result.getHolidayId(), inserted.getValue().getHolidayId());
+        assertEquals(7L, inserted.getValue().getChangeSequence());
+        Mockito.verify(holidayChangeSequence).complete(7L);
+        Mockito.verify(holidayVersions).bump("klm123456");
+    }
+
+    @Test
+    public void testCreateHoliday_OverlapException() {
+        holidayIntervalIndex.put(holiday);
+        holidayDTO.setStartOfHoliday(OffsetDateTime.parse("2030-04-03T08:00:00+00:00"));
+        holidayDTO.setEndOfHoliday(OffsetDateTime.parse("2030-04-10T08:00:00+00:00"));
+
+        Mono<HolidayDTO> result = reactiveHolidayService.createHoliday(holidayDTO);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.OVERLAP, exception.getReason());
+        Mockito.verify(reactiveHolidayRepository, Mockito.never()).insert(Mockito.any(Holiday.class));
+        assertEquals(1, holidayIntervalIndex.size());
+    }
+
+    @Test
+    public void testCreateHoliday_StoredHolidayRejectsAndReleasesClaim() {
+        when(reactiveHolidayRepository.findConflicting(Mockito.anyLong(), Mockito.anyLong(), Mockito.isNull()))
+                .thenReturn(Flux.just(holiday));
+
+        Mono<HolidayDTO> result = reactiveHolidayService.createHoliday(holidayDTO);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.OVERLAP, exception.getReason());
+        assertEquals(0, holidayIntervalIndex.size());
+        assertEquals(1, meterRegistry.get("holidays.validation.rows").summary().count());
+    }
+
+    @Test
+    public void testCreateHoliday_InsertFailureReleasesClaim() {
+        when(reactiveHolidayRepository.insert(Mockito.any(Holiday.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Connection lost")));
+
+        Mono<HolidayDTO> result = reactiveHolidayService.createHoliday(holidayDTO);
+
+        assertThrows(IllegalStateException.class, result::block);
+        assertEquals(0, holidayIntervalIndex.size());
+        Mockito.verify(holidayChangeSequence).complete(7L);
+        Mockito.verifyNoInteractions(holidayEventStream);
+    }
+
+    @Test
+    public void testCreateHoliday_CancelledCallerDoesNotAbandonInsert() {
+        Sinks.Empty<Void> insert = Sinks.empty();
+        when(reactiveHolidayRepository.insert(Mockito.any(Holiday.class))).thenReturn(insert.asMono());
+
+        Disposable caller = reactiveHolidayService.createHoliday(holidayDTO).subscribe();
+        caller.dispose();
+        Mockito.verify(holidayChangeSequence, Mockito.never()).complete(7L);
+
+        insert.tryEmitEmpty();
+
+        assertEquals(1, holidayIntervalIndex.size());
+        Mockito.verify(holidayChangeSequence).complete(7L);
+        Mockito.verify(holidayVersions).bump("klm123456");
+    }
+
+    @Test
+    public void testUpdateHoliday_CancelledCallerReleasesClaimOnFailure() {
+        holidayIntervalIndex.put(holiday);
+        holidayDTO.setStartOfHoliday(OffsetDateTime.parse("2030-05-01T08:00:00+00:00"));
+        holidayDTO.setEndOfHoliday(OffsetDateTime.parse("2030-05-05T08:00:00+00:00"));
+        Sinks.One<Long> update = Sinks.one();
+        when(reactiveHolidayRepository.updateHoliday(Mockito.eq(holidayId), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyLong())).thenReturn(update.asMono());
+
+        Disposable caller = reactiveHolidayService.updateHoliday(holidayId, holidayDTO).subscribe();
+        caller.dispose();
+        update.tryEmitError(new IllegalStateException("Connection lost"));
+
+        // The new period is free again and the holiday keeps its old one
+        assertTrue(holidayIntervalIndex.hasPeriod(holidayId, holiday.getStartOfHoliday().toEpochSecond(),
+                holiday.getEndOfHoliday().toEpochSecond()));
+        assertFalse(holidayIntervalIndex.overlaps(holidayDTO.getStartOfHoliday(), holidayDTO.getEndOfHoliday(),
+                null));
+        Mockito.verify(holidayChangeSequence).complete(7L);
+    }
+
+    @Test
+    public void testDeleteHoliday_Success() {
+        holidayIntervalIndex.put(holiday);
+        when(reactiveHolidayRepository.deleteHolidayById(holidayId)).thenReturn(Mono.just(1L));
+        when(reactiveHolidayRepository.insertTombstone(Mockito.any(HolidayTombstone.class))).thenReturn(Mono.empty());
+
+        reactiveHolidayService.deleteHoliday(holidayId).block();
+
+        ArgumentCaptor<HolidayTombstone> tombstone = ArgumentCaptor.forClass(HolidayTombstone.class);
+        Mockito.verify(reactiveHolidayRepository).insertTombstone(tombstone.capture());
+        assertEquals(holidayId, tombstone.getValue().getHolidayId());
+        assertEquals("klm123456", tombstone.getValue().getEmployeeId());
+        assertEquals(7L, tombstone.getValue().getChangeSequence());
+        assertTrue(tombstone.getValue().getDeletedEpochSecond() > 0);
+        assertEquals(0, holidayIntervalIndex.size());
+        ArgumentCaptor<HolidayEventDTO> event = ArgumentCaptor.forClass(HolidayEventDTO.class);
+        Mockito.verify(holidayEventStream).publish(event.capture());
+        assertEquals(HolidayEventType.DELETED, event.getValue().getType());
+        Mockito.verify(holidayChangeSequence).complete(7L);
+    }
+
+    @Test
+    public void testDeleteHoliday_NotFound() {
+        when(reactiveHolidayRepository.deleteHolidayById(holidayId)).thenReturn(Mono.just(0L));
+
+        Mono<Void> result = reactiveHolidayService.deleteHoliday(holidayId);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+        Mockito.verify(reactiveHolidayRepository, Mockito.never()).insertTombstone(Mockito.any());
+        Mockito.verifyNoInteractions(holidayEventStream);
+    }
+
+    @Test
+    public void testUpdateHoliday_SameDatesSkipsValidation() {
+        holidayIntervalIndex.put(holiday);
+        holidayDTO.setHolidayLabel("Renamed Holidays");
+        when(reactiveHolidayRepository.updateHoliday(Mockito.eq(holidayId), Mockito.eq("Renamed Holidays"),
+                Mockito.any(), Mockito.any(), Mockito.eq(HolidayStatus.REQUESTED), Mockito.eq(7L)))
+                .thenReturn(Mono.just(1L));
+
+        HolidayDTO result = reactiveHolidayService.updateHoliday(holidayId, holidayDTO).block();
+
+        assertNotNull(result);
+        assertEquals(holidayId, result.getHolidayId());
+        assertEquals("Renamed Holidays", result.getHolidayLabel());
+        Mockito.verify(reactiveHolidayRepository, Mockito.never())
+                .findConflicting(Mockito.anyLong(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    public void testUpdateHoliday_NotFound() {
+        Mono<HolidayDTO> result = reactiveHolidayService.updateHoliday(holidayId, holidayDTO);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+        Mockito.verifyNoInteractions(reactiveHolidayRepository);
+    }
+
+    @Test
+    public void testUpdateHoliday_DeletedConcurrently() {
+        holidayIntervalIndex.put(holiday);
+        holidayDTO.setStartOfHoliday(OffsetDateTime.parse("2030-05-01T08:00:00+00:00"));
+        holidayDTO.setEndOfHoliday(OffsetDateTime.parse("2030-05-05T08:00:00+00:00"));
+        when(reactiveHolidayRepository.updateHoliday(Mockito.eq(holidayId), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyLong())).thenReturn(Mono.just(0L));
+
+        Mono<HolidayDTO> result = reactiveHolidayService.updateHoliday(holidayId, holidayDTO);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+        assertEquals(0, holidayIntervalIndex.size());
+    }
+
+    @Test
+    public void testGetMyHolidays_ReturnsPageWithCursor() {
+        HolidayDTO first = new HolidayDTO(UUID.randomUUID(), "First", "klm123456",
+                OffsetDateTime.parse("2030-04-01T08:00:00+00:00"), OffsetDateTime.parse("2030-04-02T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+        HolidayDTO second = new HolidayDTO(UUID.randomUUID(), "Second", "klm123456",
+                OffsetDateTime.parse("2030-05-01T08:00:00+00:00"), OffsetDateTime.parse("2030-05-02T08:00:00+00:00"),
+                HolidayStatus.REQUESTED);
+        when(reactiveHolidayRepository.findFirstPageByEmployeeId(false, "klm123456", 2))
+                .thenReturn(Flux.just(first, second));
+
+        HolidayPageDTO page = reactiveHolidayService.getMyHolidays("klm123456", null, 1).block();
+
+        assertNotNull(page);
+        assertEquals(List.of(first), page.getHolidays());
+        assertEquals(HolidayCursor.after(first).encode(), page.getNextCursor());
+    }
+
+    @Test
+    public void testGetAllHolidays_InvalidPageSize() {
+        Mono<HolidayPageDTO> result = reactiveHolidayService.getAllHolidays(null, 0);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.INVALID_PAGE_SIZE, exception.getReason());
+    }
+
+    @Test
+    public void testGetHolidayById_NotFound() {
+        when(reactiveHolidayRepository.findDTOById(holidayId)).thenReturn(Mono.empty());
+
+        Mono<HolidayDTO> result = reactiveHolidayService.getHolidayById(holidayId);
+
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class, result::block);
+        assertEquals(HolidayRejectionReason.NOT_FOUND, exception.getReason());
+    }
+}
@@ -0,0 +1,96 @@
+package com.airfranceklm.fasttrack.assignment.service;
+
+import com.airfranceklm.fasttrack.assignment.config.HolidaysProperties;
+import com.airfranceklm.fasttrack.assignment.enums.HolidayRejectionReason;
+import com.airfranceklm.fasttrack.assignment.exception.InvalidHolidayException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkingDayCalendarTest {
+
+    private WorkingDayCalendar workingDayCalendar;
+
+    @BeforeEach
+    public void setup() {
+        HolidaysProperties holidaysProperties = new HolidaysProperties();
+        holidaysProperties.getCalendar().setPublicHolidays(List.of(
+                LocalDate.parse("2025-12-25"),
+                LocalDate.parse("2025-12-26"),
+                LocalDate.parse("2026-01-01")
+        ));
+        workingDayCalendar = new WorkingDayCalendar(holidaysProperties);
+    }
+
+    @Test
+    public void testIsWorkingDay() {
+        assertTrue(workingDayCalendar.isWorkingDay(LocalDate.parse("2025-12-24")));
+        assertFalse(workingDayCalendar.isWorkingDay(LocalDate.parse("2025-12-25")));
+        assertFalse(workingDayCalendar.isWorkingDay(LocalDate.parse("2025-12-27")));
+    }
+
+    @Test
+    public void testWorkingDaysBetween_SkipsWeekendsAndPublicHolidays() {
+        // Monday 22 to Monday 29 December 2025: Christmas and Boxing Day are public holidays
+        assertEquals(3, workingDayCalendar.workingDaysBetween(
+                LocalDate.parse("2025-12-22"), LocalDate.parse("2025-12-29")));
+    }
+
+    @Test
+    public void testWorkingDaysBetween_AcrossYearsInAnyOrder() {
+        LocalDate from = LocalDate.parse("2025-12-29");
+        LocalDate to = LocalDate.parse("2027-01-04");
+
+        // 29 to 31 December 2025, the 261 weekdays of 2026 minus New Year's Day, and Friday 1 January 2027
+        assertEquals(3 + 261 - 1 + 1, workingDayCalendar.workingDaysBetween(from, to));
+        assertEquals(workingDayCalendar.workingDaysBetween(from, to), workingDayCalendar.workingDaysBetween(to, from));
+        assertEquals(0, workingDayCalendar.workingDaysBetween(from, from));
+    }
+
+    @Test
+    public void testWorkingDaysBetween_WholeCalendar() {
+        LocalDate from = LocalDate.parse("2000-01-01");
+        LocalDate to = LocalDate.parse("2100-12-31");
+
+        int expected = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                expected++;
+            }
+        }
+        // Christmas, Boxing Day and New Year's Day fall on weekdays
+        assertEquals(expected - 3, workingDayCalendar.workingDaysBetween(from, to));
+    }
+
+    @Test
+    public void testWorkingDaysBetween_BeyondHorizon() {
+        InvalidHolidayException exception = assertThrows(InvalidHolidayException.class,
+                () -> workingDayCalendar.workingDaysBetween(LocalDate.parse("2025-12-22"),
+                        LocalDate.parse("2101-01-03")));
+
+        assertEquals(HolidayRejectionReason.BEYOND_HORIZON, exception.getReason());
+        assertEquals(LocalDate.parse("2100-12-31"), workingDayCalendar.lastDay());
+        assertThrows(InvalidHolidayException.class,
+                () -> workingDayCalendar.isWorkingDay(LocalDate.parse("1999-12-31")));
+    }
+
+    @Test
+    public void testMinusWorkingDays() {
+        // Three working days before Friday 2 January 2026: 31, 30 and 29 December
+        assertEquals(LocalDate.parse("2025-12-29"),
+                workingDayCalendar.minusWorkingDays(LocalDate.parse("2026-01-02"), 3));
+    }
+
+    @Test
+    public void testPlusWorkingDays() {
+        // Three working days from Wednesday 24 December 2025 on: 24, 29 and 30 December
+        assertEquals(LocalDate.parse("2025-12-30"),
+                workingDayCalendar.plusWorkingDays(LocalDate.parse("2025-12-24"), 3));
+    }
+}
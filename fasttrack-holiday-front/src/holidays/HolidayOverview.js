@@ -14,10 +14,18 @@ export default function HolidayOverview({ employeeId }) {
 
   const loadHolidays = async () => {
     try {
-      const result = await axios.get(
-        `http://localhost:8080/holidays/employee/${employeeId}`
-      );
-      setHolidays(result.data); // Set fetched holidays
+      // The holidays are paginated: follow the X-Next-Cursor header until the last page
+      const allHolidays = [];
+      let cursor = null;
+      do {
+        const result = await axios.get(
+          `http://localhost:8080/holidays/employee/${employeeId}`,
+          { params: cursor ? { cursor } : {} }
+        );
+        allHolidays.push(...result.data);
+        cursor = result.headers["x-next-cursor"];
+      } while (cursor);
+      setHolidays(allHolidays); // Set fetched holidays
     } catch (error) {
       console.error("Error fetching holidays:", error);
     }